@@ -0,0 +1,503 @@
+package Professional_Cost_Calculator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, segmented binary journal of priced line items
+ *
+ * Features:
+ * - One record per priced line item: inputs, rates, outputs, pricing mode
+ *   and timestamp, with a sequence number and checksum (see AuditJournalFormat)
+ * - Group commit: appends only copy the record into a memory buffer; a
+ *   background thread writes the buffer and forces it to disk, so one fsync
+ *   covers every record appended while the previous one was running
+ * - Callers that need durability wait with {@link #awaitDurable(long)} or
+ *   {@link #sync()}; many waiting threads share the same fsync
+ * - Rolls to a new segment file once the current one reaches the size limit
+ * - On open, a torn record left by a crash is cut off and numbering resumes
+ *   after the last intact record
+ *
+ * Attach a journal to the engine with
+ * {@link CostCalculationEngine#setAuditJournal(AuditJournal)}; see there
+ * for which calculations are recorded.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class AuditJournal implements Closeable {
+    public static final long DEFAULT_SEGMENT_BYTES = 64L << 20; // 64 MiB
+    private static final int BUFFER_BYTES = 1 << 20; // Records gathered per write and fsync
+    private static final long MIN_SEGMENT_BYTES =
+        AuditJournalFormat.HEADER_SIZE + BUFFER_BYTES;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Thread writer;
+    private final CRC32C crc = new CRC32C();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasData = lock.newCondition();  // Writer waits for records
+    private final Condition hasRoom = lock.newCondition();  // Appenders wait for a free buffer
+    private final Condition flushed = lock.newCondition();  // Durability waiters
+
+    // Guarded by lock
+    private ByteBuffer filling = newBuffer();
+    private ByteBuffer draining = newBuffer();
+    private long nextSequence;
+    private long fillingFirstSequence;
+    private boolean writerWaiting;
+    private boolean closed;
+    private IOException failure;
+    private volatile long durableSequence;
+
+    // Owned by the writer thread
+    private FileChannel segment;
+    private long segmentSize;
+    private volatile long syncCount;
+
+    private AuditJournal(Path directory, long segmentBytes, FileChannel segment, long segmentSize,
+                         long nextSequence) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.segment = segment;
+        this.segmentSize = segmentSize;
+        this.nextSequence = nextSequence;
+        this.fillingFirstSequence = nextSequence;
+        this.durableSequence = nextSequence - 1;
+        this.writer = new Thread(this::writeLoop, "audit-journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens (or creates) a journal with the default segment size
+     *
+     * @param directory Directory holding the segment files
+     * @return Open journal
+     * @throws IOException if the directory or last segment cannot be used
+     */
+    public static AuditJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens (or creates) a journal
+     *
+     * @param directory Directory holding the segment files
+     * @param segmentBytes Size after which a new segment is started
+     * @return Open journal
+     * @throws IOException if the directory or last segment cannot be used
+     * @throws IllegalArgumentException if segmentBytes is smaller than the write buffer (1 MiB)
+     */
+    public static AuditJournal open(Path directory, long segmentBytes) throws IOException {
+        if (segmentBytes < MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Segment size must be at least " + MIN_SEGMENT_BYTES + " bytes");
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = AuditJournalReader.listSegments(directory);
+        // A crash while rolling can leave a segment without a complete header
+        while (!segments.isEmpty() && Files.size(segments.get(segments.size() - 1)) < AuditJournalFormat.HEADER_SIZE) {
+            Files.delete(segments.remove(segments.size() - 1));
+        }
+        FileChannel channel = null;
+        long size = 0;
+        long nextSequence = 1;
+        if (!segments.isEmpty()) {
+            Path last = segments.get(segments.size() - 1);
+            long validLength;
+            try (AuditJournalReader reader = AuditJournalReader.open(last)) {
+                nextSequence = reader.getFirstSequence();
+                while (reader.next()) {
+                    nextSequence = reader.getSequence() + 1;
+                }
+                validLength = reader.getValidLength();
+            }
+            channel = FileChannel.open(last, StandardOpenOption.WRITE);
+            if (channel.size() > validLength) {
+                channel.truncate(validLength); // Drop a torn tail
+                channel.force(true);
+            }
+            channel.position(validLength);
+            size = validLength;
+        }
+        AuditJournal journal = new AuditJournal(directory, segmentBytes, channel, size, nextSequence);
+        journal.writer.start();
+        return journal;
+    }
+
+    private static ByteBuffer newBuffer() {
+        return ByteBuffer.allocateDirect(BUFFER_BYTES).order(AuditJournalFormat.BYTE_ORDER);
+    }
+
+    /**
+     * Appends a quote
+     *
+     * @param mode How the quote was produced
+     * @param quote Priced quote
+     * @return Sequence number of the record
+     * @throws IllegalStateException if the journal is closed
+     * @throws UncheckedIOException if an earlier write failed
+     */
+    public long append(PricingMode mode, CostQuote quote) {
+        return append(mode, quote.getItemName(), quote.getCostPerItem(), quote.getQuantity(),
+                      quote.getDeliveryCost(), quote.getTaxRate(), quote.getDiscountRate(),
+                      quote.getSubtotal(), quote.getDiscountAmount(), quote.getTaxAmount(), quote.getTotalCost());
+    }
+
+    /**
+     * Appends one priced line item
+     *
+     * @return Sequence number of the record
+     * @throws IllegalStateException if the journal is closed
+     * @throws UncheckedIOException if an earlier write failed
+     */
+    public long append(PricingMode mode, String itemName, double costPerItem, int quantity, double deliveryCost,
+                       double taxRate, double discountRate, double subtotal, double discountAmount,
+                       double taxAmount, double totalCost) {
+        byte[] name = encodeName(itemName);
+        long timestamp = System.currentTimeMillis();
+        lock.lock();
+        try {
+            ensureRoom(AuditJournalFormat.FIXED_RECORD_SIZE + name.length);
+            long sequence = nextSequence++;
+            put(sequence, timestamp, mode, name, costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                subtotal, discountAmount, taxAmount, totalCost);
+            wakeWriter();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends priced rows of a batch, without item names
+     *
+     * @param status Per-row validation codes, or null if every row was priced;
+     *               rows with a non-zero code are skipped
+     * @return Sequence number of the last record appended, or of the last
+     *         record before the call if none were
+     * @throws IllegalStateException if the journal is closed
+     * @throws UncheckedIOException if an earlier write failed
+     */
+    public long appendRows(PricingMode mode, double[] costPerItem, int[] quantity, double[] deliveryCost,
+                           double[] taxRate, double[] discountRate, double[] subtotal, double[] discountAmount,
+                           double[] taxAmount, double[] totalCost, byte[] status, int from, int to) {
+        byte[] noName = new byte[0];
+        long timestamp = System.currentTimeMillis();
+        lock.lock();
+        try {
+            for (int i = from; i < to; i++) {
+                if (status != null && status[i] != ValidationError.VALID) {
+                    continue;
+                }
+                ensureRoom(AuditJournalFormat.FIXED_RECORD_SIZE);
+                put(nextSequence++, timestamp, mode, noName, costPerItem[i], quantity[i], deliveryCost[i],
+                    taxRate[i], discountRate[i], subtotal[i], discountAmount[i], taxAmount[i], totalCost[i]);
+            }
+            wakeWriter();
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends every priced record of a line-item region, without item names
+     *
+     * @param records Records in the {@link LineItemRecordFormat} layout, from position 0 to the limit
+     * @return Sequence number of the last record appended, or of the last
+     *         record before the call if none were
+     * @throws IllegalStateException if the journal is closed
+     * @throws UncheckedIOException if an earlier write failed
+     */
+    long appendRecords(PricingMode mode, ByteBuffer records) {
+        byte[] noName = new byte[0];
+        long timestamp = System.currentTimeMillis();
+        int limit = records.limit();
+        lock.lock();
+        try {
+            for (int at = 0; at < limit; at += LineItemRecordFormat.RECORD_SIZE) {
+                ensureRoom(AuditJournalFormat.FIXED_RECORD_SIZE);
+                put(nextSequence++, timestamp, mode, noName,
+                    records.getDouble(at + LineItemRecordFormat.COST_PER_ITEM),
+                    records.getInt(at + LineItemRecordFormat.QUANTITY),
+                    records.getDouble(at + LineItemRecordFormat.DELIVERY_COST),
+                    records.getDouble(at + LineItemRecordFormat.TAX_RATE),
+                    records.getDouble(at + LineItemRecordFormat.DISCOUNT_RATE),
+                    records.getDouble(at + LineItemRecordFormat.SUBTOTAL),
+                    records.getDouble(at + LineItemRecordFormat.DISCOUNT_AMOUNT),
+                    records.getDouble(at + LineItemRecordFormat.TAX_AMOUNT),
+                    records.getDouble(at + LineItemRecordFormat.TOTAL_COST));
+            }
+            wakeWriter();
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Names longer than the format allows are cut at a character boundary
+    private static byte[] encodeName(String itemName) {
+        byte[] name = itemName.getBytes(StandardCharsets.UTF_8);
+        int end = itemName.length();
+        while (name.length > AuditJournalFormat.MAX_NAME_BYTES) {
+            end -= Math.max(1, (name.length - AuditJournalFormat.MAX_NAME_BYTES) / 3);
+            if (end > 0 && Character.isLowSurrogate(itemName.charAt(end))) {
+                end--;
+            }
+            name = itemName.substring(0, end).getBytes(StandardCharsets.UTF_8);
+        }
+        return name;
+    }
+
+    // Waits while the writer drains a full buffer; called holding the lock
+    private void ensureRoom(int recordSize) {
+        checkUsable();
+        while (filling.remaining() < recordSize) {
+            wakeWriter();
+            hasRoom.awaitUninterruptibly();
+            checkUsable();
+        }
+    }
+
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Audit journal write failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Audit journal is closed");
+        }
+    }
+
+    private void put(long sequence, long timestamp, PricingMode mode, byte[] name, double costPerItem,
+                     int quantity, double deliveryCost, double taxRate, double discountRate, double subtotal,
+                     double discountAmount, double taxAmount, double totalCost) {
+        ByteBuffer out = filling;
+        int start = out.position();
+        int body = start + AuditJournalFormat.BODY;
+        out.putInt(start + AuditJournalFormat.LENGTH, AuditJournalFormat.FIXED_RECORD_SIZE - AuditJournalFormat.BODY
+                                                      + name.length);
+        out.putLong(start + AuditJournalFormat.SEQUENCE, sequence);
+        out.putLong(start + AuditJournalFormat.TIMESTAMP, timestamp);
+        out.put(start + AuditJournalFormat.MODE, (byte) mode.getCode());
+        out.put(start + AuditJournalFormat.MODE + 1, (byte) 0);
+        out.putShort(start + AuditJournalFormat.NAME_LENGTH, (short) name.length);
+        out.putInt(start + AuditJournalFormat.QUANTITY, quantity);
+        out.putDouble(start + AuditJournalFormat.COST_PER_ITEM, costPerItem);
+        out.putDouble(start + AuditJournalFormat.DELIVERY_COST, deliveryCost);
+        out.putDouble(start + AuditJournalFormat.TAX_RATE, taxRate);
+        out.putDouble(start + AuditJournalFormat.DISCOUNT_RATE, discountRate);
+        out.putDouble(start + AuditJournalFormat.SUBTOTAL, subtotal);
+        out.putDouble(start + AuditJournalFormat.DISCOUNT_AMOUNT, discountAmount);
+        out.putDouble(start + AuditJournalFormat.TAX_AMOUNT, taxAmount);
+        out.putDouble(start + AuditJournalFormat.TOTAL_COST, totalCost);
+        out.put(start + AuditJournalFormat.NAME, name);
+        int end = start + AuditJournalFormat.FIXED_RECORD_SIZE + name.length;
+        crc.reset();
+        crc.update(out.slice(body, end - body));
+        out.putInt(start + AuditJournalFormat.CHECKSUM, (int) crc.getValue());
+        out.position(end);
+    }
+
+    private void wakeWriter() {
+        if (writerWaiting) {
+            writerWaiting = false;
+            hasData.signal();
+        }
+    }
+
+    /**
+     * Waits until a record is on disk
+     *
+     * @param sequence Sequence number returned by an append
+     * @throws IOException if the journal failed before the record was written
+     * @throws InterruptedIOException if interrupted while waiting
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new IOException("Audit journal write failed", failure);
+                }
+                if (sequence >= nextSequence || (closed && !writer.isAlive())) {
+                    return; // Never appended, or nothing left to write
+                }
+                flushed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the audit journal");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every record appended so far is on disk
+     *
+     * @throws IOException if the journal failed
+     */
+    public void sync() throws IOException {
+        long last;
+        lock.lock();
+        try {
+            last = nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(last);
+    }
+
+    private void writeLoop() {
+        while (true) {
+            long first;
+            long last;
+            lock.lock();
+            try {
+                while (filling.position() == 0 && !closed) {
+                    writerWaiting = true;
+                    hasData.awaitUninterruptibly(); // Only close() stops the writer
+                    writerWaiting = false;
+                }
+                if (filling.position() == 0) {
+                    flushed.signalAll();
+                    return; // Closed and drained
+                }
+                ByteBuffer full = filling;
+                filling = draining;
+                draining = full;
+                filling.clear();
+                first = fillingFirstSequence;
+                last = nextSequence - 1;
+                fillingFirstSequence = nextSequence;
+                hasRoom.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            IOException error = null;
+            try {
+                write(draining, first);
+            } catch (IOException e) {
+                error = e;
+            }
+            lock.lock();
+            try {
+                if (error == null) {
+                    durableSequence = last;
+                } else {
+                    failure = error;
+                    hasRoom.signalAll();
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    // Writes one batch of whole records and forces it to disk
+    private void write(ByteBuffer batch, long firstSequence) throws IOException {
+        batch.flip();
+        if (segment == null || (segmentSize > AuditJournalFormat.HEADER_SIZE
+                                && segmentSize + batch.remaining() > segmentBytes)) {
+            roll(firstSequence);
+        }
+        while (batch.hasRemaining()) {
+            segmentSize += segment.write(batch);
+        }
+        segment.force(false);
+        syncCount++;
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        Path file = directory.resolve(AuditJournalFormat.segmentName(firstSequence));
+        segment = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(AuditJournalFormat.HEADER_SIZE).order(AuditJournalFormat.BYTE_ORDER);
+        header.putInt(AuditJournalFormat.HEADER_MAGIC, AuditJournalFormat.MAGIC);
+        header.putShort(AuditJournalFormat.HEADER_VERSION, AuditJournalFormat.VERSION);
+        header.putLong(AuditJournalFormat.HEADER_FIRST_SEQUENCE, firstSequence);
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        segmentSize = AuditJournalFormat.HEADER_SIZE;
+        // Make the new file itself durable
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the file data is still forced
+        }
+    }
+
+    /**
+     * Writes out everything appended so far and closes the segment
+     *
+     * @throws IOException if the final write failed
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            hasData.signal();
+            hasRoom.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted closing the audit journal");
+        }
+        if (segment != null) {
+            segment.close();
+        }
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new IOException("Audit journal write failed", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getDirectory() { return directory; }
+
+    /**
+     * @return Sequence number of the last record known to be on disk
+     */
+    public long getDurableSequence() { return durableSequence; }
+
+    /**
+     * @return Number of fsyncs so far; compare with records appended to see the group-commit ratio
+     */
+    public long getSyncCount() {
+        return syncCount;
+    }
+}
@@ -0,0 +1,93 @@
+package Professional_Cost_Calculator;
+
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+/**
+ * Binary layout of audit journal segments
+ *
+ * Segment layout (little-endian):
+ * <pre>
+ * Header (16 bytes)
+ *   0  int   magic ("PCAJ")
+ *   4  short format version
+ *   6  short reserved
+ *   8  long  sequence number of the first record
+ * Record (96 bytes + item name)
+ *   0  int    body length in bytes
+ *   4  int    CRC32C of the body
+ *   Body
+ *   8  long   sequence number
+ *   16 long   timestamp (milliseconds since the epoch)
+ *   24 byte   PricingMode code (see PricingMode#getCode)
+ *   25 byte   reserved
+ *   26 short  item name length in UTF-8 bytes
+ *   28 int    quantity
+ *   32 double costPerItem
+ *   40 double deliveryCost
+ *   48 double taxRate
+ *   56 double discountRate
+ *   64 double subtotal
+ *   72 double discountAmount
+ *   80 double taxAmount
+ *   88 double totalCost
+ *   96 bytes  item name (UTF-8)
+ * </pre>
+ *
+ * A record whose length or checksum does not match, or whose name length
+ * disagrees with its body length, is a torn write from a crash; it and
+ * anything after it are ignored. An intact record with an unknown mode
+ * code was written by a newer version and is reported as an error.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+final class AuditJournalFormat {
+    static final int MAGIC = 0x4A414350; // "PCAJ" in little-endian byte order
+    static final short VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 16;
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 4;
+    static final int HEADER_FIRST_SEQUENCE = 8;
+
+    // Offsets within a record
+    static final int LENGTH = 0;
+    static final int CHECKSUM = 4;
+    static final int BODY = 8;
+    static final int SEQUENCE = 8;
+    static final int TIMESTAMP = 16;
+    static final int MODE = 24;
+    static final int NAME_LENGTH = 26;
+    static final int QUANTITY = 28;
+    static final int COST_PER_ITEM = 32;
+    static final int DELIVERY_COST = 40;
+    static final int TAX_RATE = 48;
+    static final int DISCOUNT_RATE = 56;
+    static final int SUBTOTAL = 64;
+    static final int DISCOUNT_AMOUNT = 72;
+    static final int TAX_AMOUNT = 80;
+    static final int TOTAL_COST = 88;
+    static final int NAME = 96;
+
+    static final int FIXED_RECORD_SIZE = NAME;
+    static final int MAX_NAME_BYTES = 4_096;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private AuditJournalFormat() {
+    }
+
+    /**
+     * @return File name of the segment whose first record has the given sequence number
+     */
+    static String segmentName(long firstSequence) {
+        return String.format("%020d%s", firstSequence, SEGMENT_SUFFIX);
+    }
+
+    static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.length() == 20 + SEGMENT_SUFFIX.length() && name.endsWith(SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,200 @@
+package Professional_Cost_Calculator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Sequential reader for one audit journal segment
+ *
+ * Features:
+ * - Memory-maps the segment and decodes records in place
+ * - Verifies each record's checksum and lengths; reading stops cleanly at
+ *   a torn or corrupt record, which {@link #isTruncated()} then reports
+ * - Reuses its field state between records; read the getters before next()
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class AuditJournalReader implements Closeable {
+    private final Path segment;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final long firstSequence;
+    private final CRC32C crc = new CRC32C();
+    private final byte[] nameBytes = new byte[AuditJournalFormat.MAX_NAME_BYTES];
+
+    private int position;
+    private int validLength;
+    private boolean truncated;
+
+    // Current record
+    private long sequence;
+    private long timestamp;
+    private PricingMode mode;
+    private String itemName;
+    private double costPerItem;
+    private int quantity;
+    private double deliveryCost;
+    private double taxRate;
+    private double discountRate;
+    private double subtotal;
+    private double discountAmount;
+    private double taxAmount;
+    private double totalCost;
+
+    private AuditJournalReader(Path segment, FileChannel channel, ByteBuffer buffer) throws IOException {
+        this.segment = segment;
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.limit() < AuditJournalFormat.HEADER_SIZE
+            || buffer.getInt(AuditJournalFormat.HEADER_MAGIC) != AuditJournalFormat.MAGIC) {
+            throw new IOException("Not an audit journal segment: " + segment);
+        }
+        short version = buffer.getShort(AuditJournalFormat.HEADER_VERSION);
+        if (version != AuditJournalFormat.VERSION) {
+            throw new IOException("Unsupported audit journal version " + version + " in " + segment);
+        }
+        this.firstSequence = buffer.getLong(AuditJournalFormat.HEADER_FIRST_SEQUENCE);
+        this.position = AuditJournalFormat.HEADER_SIZE;
+        this.validLength = position;
+    }
+
+    /**
+     * Opens a segment for reading
+     *
+     * @param segment Segment file
+     * @return Reader positioned before the first record
+     * @throws IOException if the file cannot be read or is not a journal segment
+     */
+    public static AuditJournalReader open(Path segment) throws IOException {
+        FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Segment too large: " + segment);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                                       .order(AuditJournalFormat.BYTE_ORDER);
+            return new AuditJournalReader(segment, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lists the segments of a journal directory, oldest first
+     *
+     * @param directory Journal directory
+     * @return Segment files in sequence order
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(AuditJournalFormat::isSegment).sorted().forEach(segments::add);
+        }
+        return segments;
+    }
+
+    /**
+     * Advances to the next record
+     *
+     * @return false at the end of the segment or at a torn record
+     * @throws IOException if an intact record has a pricing mode this version does not know
+     */
+    public boolean next() throws IOException {
+        int remaining = buffer.limit() - position;
+        if (remaining == 0) {
+            return false;
+        }
+        if (remaining < AuditJournalFormat.FIXED_RECORD_SIZE) {
+            truncated = true;
+            return false;
+        }
+        int bodyLength = buffer.getInt(position + AuditJournalFormat.LENGTH);
+        int nameLength = bodyLength - (AuditJournalFormat.FIXED_RECORD_SIZE - AuditJournalFormat.BODY);
+        if (nameLength < 0 || nameLength > AuditJournalFormat.MAX_NAME_BYTES
+            || AuditJournalFormat.BODY + bodyLength > remaining) {
+            truncated = true;
+            return false;
+        }
+        crc.reset();
+        crc.update(buffer.slice(position + AuditJournalFormat.BODY, bodyLength));
+        if ((int) crc.getValue() != buffer.getInt(position + AuditJournalFormat.CHECKSUM)
+            || Short.toUnsignedInt(buffer.getShort(position + AuditJournalFormat.NAME_LENGTH)) != nameLength) {
+            truncated = true;
+            return false;
+        }
+        int modeCode = buffer.get(position + AuditJournalFormat.MODE);
+        PricingMode recordMode = PricingMode.fromCode(modeCode);
+        if (recordMode == null) {
+            throw new IOException("Unknown pricing mode code " + modeCode + " in record #"
+                                  + buffer.getLong(position + AuditJournalFormat.SEQUENCE) + " of " + segment);
+        }
+        decode(position, recordMode, nameLength);
+        position += AuditJournalFormat.BODY + bodyLength;
+        validLength = position;
+        return true;
+    }
+
+    private void decode(int at, PricingMode recordMode, int nameLength) {
+        sequence = buffer.getLong(at + AuditJournalFormat.SEQUENCE);
+        timestamp = buffer.getLong(at + AuditJournalFormat.TIMESTAMP);
+        mode = recordMode;
+        quantity = buffer.getInt(at + AuditJournalFormat.QUANTITY);
+        costPerItem = buffer.getDouble(at + AuditJournalFormat.COST_PER_ITEM);
+        deliveryCost = buffer.getDouble(at + AuditJournalFormat.DELIVERY_COST);
+        taxRate = buffer.getDouble(at + AuditJournalFormat.TAX_RATE);
+        discountRate = buffer.getDouble(at + AuditJournalFormat.DISCOUNT_RATE);
+        subtotal = buffer.getDouble(at + AuditJournalFormat.SUBTOTAL);
+        discountAmount = buffer.getDouble(at + AuditJournalFormat.DISCOUNT_AMOUNT);
+        taxAmount = buffer.getDouble(at + AuditJournalFormat.TAX_AMOUNT);
+        totalCost = buffer.getDouble(at + AuditJournalFormat.TOTAL_COST);
+        buffer.get(at + AuditJournalFormat.NAME, nameBytes, 0, nameLength);
+        itemName = new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return true if reading stopped at a torn or corrupt record rather than the end of the file
+     */
+    public boolean isTruncated() { return truncated; }
+
+    /**
+     * @return Bytes of the segment up to the end of the last good record read
+     */
+    public long getValidLength() { return validLength; }
+
+    public Path getSegment() { return segment; }
+    public long getFirstSequence() { return firstSequence; }
+
+    // Current record
+    public long getSequence() { return sequence; }
+    public long getTimestamp() { return timestamp; }
+    public PricingMode getMode() { return mode; }
+    public String getItemName() { return itemName; }
+    public double getCostPerItem() { return costPerItem; }
+    public int getQuantity() { return quantity; }
+    public double getDeliveryCost() { return deliveryCost; }
+    public double getTaxRate() { return taxRate; }
+    public double getDiscountRate() { return discountRate; }
+    public double getSubtotal() { return subtotal; }
+    public double getDiscountAmount() { return discountAmount; }
+    public double getTaxAmount() { return taxAmount; }
+    public double getTotalCost() { return totalCost; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
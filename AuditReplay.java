@@ -0,0 +1,162 @@
+package Professional_Cost_Calculator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Re-prices audit journal records with the current engine and reports differences
+ *
+ * Features:
+ * - Replays one segment or every segment of a journal directory
+ * - Re-validates each record against the current rate configuration and
+ *   re-prices it; outputs are compared bit for bit
+ * - Prints each difference (up to a limit) as it is found, then a summary
+ * - Replaying does not append to any journal or count in the metrics
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class AuditReplay {
+    private static final int DEFAULT_MAX_REPORTED = 20;
+
+    private final PrintStream out;
+    private final int maxReported;
+
+    private long records;
+    private long matched;
+    private long differed;
+    private long nowInvalid;
+    private int truncatedSegments;
+
+    /**
+     * @param out Stream that receives the differences and summary
+     */
+    public AuditReplay(PrintStream out) {
+        this(out, DEFAULT_MAX_REPORTED);
+    }
+
+    /**
+     * @param out Stream that receives the differences and summary
+     * @param maxReported Number of individual differences printed before only counting them
+     */
+    public AuditReplay(PrintStream out, int maxReported) {
+        this.out = out;
+        this.maxReported = maxReported;
+    }
+
+    /**
+     * Replays a segment file, or every segment in a journal directory
+     *
+     * @param path Segment file or journal directory
+     * @throws IOException if a segment cannot be read
+     */
+    public void replay(Path path) throws IOException {
+        List<Path> segments = Files.isDirectory(path) ? AuditJournalReader.listSegments(path) : List.of(path);
+        for (Path segment : segments) {
+            replaySegment(segment);
+        }
+    }
+
+    private void replaySegment(Path segment) throws IOException {
+        try (AuditJournalReader reader = AuditJournalReader.open(segment)) {
+            while (reader.next()) {
+                records++;
+                check(reader);
+            }
+            if (reader.isTruncated()) {
+                truncatedSegments++;
+                out.printf("⚠️  %s: unreadable data after byte %d ignored%n", segment, reader.getValidLength());
+            }
+        }
+    }
+
+    private void check(AuditJournalReader record) {
+        int error = CostCalculationEngine.validationError(RateConfiguration.current(), record.getCostPerItem(),
+                                                          record.getQuantity(), record.getDeliveryCost(),
+                                                          record.getTaxRate(), record.getDiscountRate());
+        if (error != ValidationError.VALID) {
+            nowInvalid++;
+            report(record, "now rejected: " + ValidationError.fromCode(error).getMessage());
+            return;
+        }
+        CostQuote quote = CostCalculationEngine.price(record.getItemName(), record.getCostPerItem(),
+                                                      record.getQuantity(), record.getDeliveryCost(),
+                                                      record.getTaxRate(), record.getDiscountRate());
+        String difference = firstDifference(record, quote);
+        if (difference == null) {
+            matched++;
+        } else {
+            differed++;
+            report(record, difference);
+        }
+    }
+
+    private static String firstDifference(AuditJournalReader record, CostQuote quote) {
+        if (!sameBits(record.getSubtotal(), quote.getSubtotal())) {
+            return describe("subtotal", record.getSubtotal(), quote.getSubtotal());
+        }
+        if (!sameBits(record.getDiscountAmount(), quote.getDiscountAmount())) {
+            return describe("discountAmount", record.getDiscountAmount(), quote.getDiscountAmount());
+        }
+        if (!sameBits(record.getTaxAmount(), quote.getTaxAmount())) {
+            return describe("taxAmount", record.getTaxAmount(), quote.getTaxAmount());
+        }
+        if (!sameBits(record.getTotalCost(), quote.getTotalCost())) {
+            return describe("totalCost", record.getTotalCost(), quote.getTotalCost());
+        }
+        return null;
+    }
+
+    private static boolean sameBits(double journaled, double current) {
+        return Double.doubleToLongBits(journaled) == Double.doubleToLongBits(current);
+    }
+
+    private static String describe(String field, double journaled, double current) {
+        return field + " was " + journaled + ", now " + current;
+    }
+
+    private void report(AuditJournalReader record, String problem) {
+        long reported = nowInvalid + differed;
+        if (reported <= maxReported) {
+            out.printf("❌ #%d %s %s (%s): %s%n", record.getSequence(),
+                       Instant.ofEpochMilli(record.getTimestamp()), record.getMode(),
+                       record.getItemName().isEmpty() ? "-" : record.getItemName(), problem);
+        } else if (reported == maxReported + 1) {
+            out.println("   ... further differences are counted but not listed");
+        }
+    }
+
+    /**
+     * Prints the totals of everything replayed so far
+     */
+    public void printSummary() {
+        out.println("=".repeat(50));
+        out.println("               AUDIT REPLAY SUMMARY");
+        out.println("=".repeat(50));
+        out.printf("Records Replayed    : %d%n", records);
+        out.printf("Identical           : %d%n", matched);
+        out.printf("Different Totals    : %d%n", differed);
+        out.printf("Now Rejected        : %d%n", nowInvalid);
+        if (truncatedSegments > 0) {
+            out.printf("Torn Segments       : %d%n", truncatedSegments);
+        }
+        out.println("=".repeat(50));
+    }
+
+    // Results so far
+    public long getRecordCount() { return records; }
+    public long getMatchedCount() { return matched; }
+    public long getDifferenceCount() { return differed; }
+    public long getNowInvalidCount() { return nowInvalid; }
+
+    /**
+     * @return true if every record replayed to the same result
+     */
+    public boolean isClean() {
+        return differed == 0 && nowInvalid == 0;
+    }
+}
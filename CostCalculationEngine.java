@@ -1,7 +1,9 @@
 package Professional_Cost_Calculator;
 
-import java.text.NumberFormat;
+import java.nio.ByteBuffer;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * ItemCost class for comprehensive cost calculation with professional features
@@ -9,9 +11,11 @@ import java.util.Locale;
  * Features:
  * - Professional cost calculation with tax and discount support
  * - Input validation and error handling
- * - Currency formatting for different locales
+ * - Thread-safe currency formatting for different locales
  * - Multiple calculation methods for flexibility
+ * - Category, region, quantity-break and tiered rules via {@link PricingRules}
  * - Detailed cost breakdown and reporting
+ * - Call counts, latencies and rejections published through {@link PricingMetrics}
  * 
  * @author Muhammad Yamman Hammad
  * @version 2.0
@@ -28,15 +32,13 @@ public class CostCalculationEngine {
     private double subtotal;
     private double taxAmount;
     private double discountAmount;
+    private PricingRules pricingRules;
     
-    // Constants for validation and defaults
-    private static final double DEFAULT_TAX_RATE = 0.08; // 8% default tax
-    private static final double MIN_COST = 0.01;
-    private static final int MIN_QUANTITY = 1;
-    private static final double MAX_DISCOUNT_RATE = 0.5; // Maximum 50% discount
+    // Journal that records every engine calculation, or null
+    private static volatile AuditJournal auditJournal;
     
-    // Currency formatter for professional display
-    private static final NumberFormat CURRENCY_FORMAT = NumberFormat.getCurrencyInstance(new Locale("en", "PK"));
+    // Validation limits and the default tax rate come from RateConfiguration.current()
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 16_384; // Rows per fork/join slice
     
     /**
      * Default constructor with initialization
@@ -46,12 +48,13 @@ public class CostCalculationEngine {
         this.costPerItem = 0.0;
         this.quantity = 0;
         this.deliveryCost = 0.0;
-        this.taxRate = DEFAULT_TAX_RATE;
+        this.taxRate = RateConfiguration.current().getDefaultTaxRate();
         this.discountRate = 0.0;
         this.totalCost = 0.0;
         this.subtotal = 0.0;
         this.taxAmount = 0.0;
         this.discountAmount = 0.0;
+        this.pricingRules = null; // Follow the current rate configuration
     }
     
     /**
@@ -78,10 +81,11 @@ public class CostCalculationEngine {
      * @throws IllegalArgumentException if any parameter is invalid
      */
     public void setItemDetails(String itemName, double costPerItem, int quantity, double deliveryCost) {
+        RateConfiguration config = RateConfiguration.current();
         validateAndSetItemName(itemName);
-        validateAndSetCostPerItem(costPerItem);
-        validateAndSetQuantity(quantity);
-        validateAndSetDeliveryCost(deliveryCost);
+        validateAndSetCostPerItem(costPerItem, config);
+        validateAndSetQuantity(quantity, config);
+        validateAndSetDeliveryCost(deliveryCost, config);
     }
     
     /**
@@ -92,10 +96,13 @@ public class CostCalculationEngine {
      * @throws IllegalArgumentException if parameters are invalid
      */
     public void calculateCost(double costPerItem, int quantity) {
-        validateAndSetCostPerItem(costPerItem);
-        validateAndSetQuantity(quantity);
+        long start = PricingMetrics.startTimer();
+        RateConfiguration config = RateConfiguration.current();
+        validateAndSetCostPerItem(costPerItem, config);
+        validateAndSetQuantity(quantity, config);
         this.deliveryCost = 0.0;
-        performCalculation();
+        performCalculation(PricingMode.BASIC);
+        PricingMetrics.recordCalculation(PricingMode.BASIC, 1, start);
     }
     
     /**
@@ -107,10 +114,13 @@ public class CostCalculationEngine {
      * @throws IllegalArgumentException if parameters are invalid
      */
     public void calculateCost(double costPerItem, int quantity, double deliveryCost) {
-        validateAndSetCostPerItem(costPerItem);
-        validateAndSetQuantity(quantity);
-        validateAndSetDeliveryCost(deliveryCost);
-        performCalculation();
+        long start = PricingMetrics.startTimer();
+        RateConfiguration config = RateConfiguration.current();
+        validateAndSetCostPerItem(costPerItem, config);
+        validateAndSetQuantity(quantity, config);
+        validateAndSetDeliveryCost(deliveryCost, config);
+        performCalculation(PricingMode.BASIC);
+        PricingMetrics.recordCalculation(PricingMode.BASIC, 1, start);
     }
     
     /**
@@ -125,71 +135,512 @@ public class CostCalculationEngine {
      */
     public void calculateAdvancedCost(double costPerItem, int quantity, double deliveryCost, 
                                     double taxRate, double discountRate) {
-        validateAndSetCostPerItem(costPerItem);
-        validateAndSetQuantity(quantity);
-        validateAndSetDeliveryCost(deliveryCost);
-        validateAndSetTaxRate(taxRate);
-        validateAndSetDiscountRate(discountRate);
-        performCalculation();
+        long start = PricingMetrics.startTimer();
+        RateConfiguration config = RateConfiguration.current();
+        validateAndSetCostPerItem(costPerItem, config);
+        validateAndSetQuantity(quantity, config);
+        validateAndSetDeliveryCost(deliveryCost, config);
+        validateAndSetTaxRate(taxRate, config);
+        validateAndSetDiscountRate(discountRate, config);
+        performCalculation(PricingMode.ADVANCED);
+        PricingMetrics.recordCalculation(PricingMode.ADVANCED, 1, start);
+    }
+    
+    /**
+     * Cost calculation with tax and discount taken from the pricing rules
+     * 
+     * The tax rate is looked up by category and region, and the discount by
+     * quantity and subtotal, in the rules set with {@link #setPricingRules}
+     * or, if none were set, in the current {@link RateConfiguration}.
+     * The rates found are validated against the current limits like any
+     * other input.
+     * 
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param category Item category, or null
+     * @param region Region code, or null
+     * @throws IllegalArgumentException if parameters or the rates found are invalid
+     */
+    public void calculateCostWithRules(double costPerItem, int quantity, double deliveryCost,
+                                       String category, String region) {
+        long start = PricingMetrics.startTimer();
+        RateConfiguration config = RateConfiguration.current();
+        validateAndSetCostPerItem(costPerItem, config);
+        validateAndSetQuantity(quantity, config);
+        validateAndSetDeliveryCost(deliveryCost, config);
+        PricingRules rules = this.pricingRules != null ? this.pricingRules : config.getPricingRules();
+        // Rules set on this engine may predate a reload that tightened the limits
+        validateAndSetTaxRate(rules.taxRateFor(category, region), config);
+        validateAndSetDiscountRate(rules.discountRateFor(quantity, subtotalOf(costPerItem, quantity, deliveryCost)),
+                                   config);
+        performCalculation(PricingMode.RULES);
+        PricingMetrics.recordCalculation(PricingMode.RULES, 1, start);
     }
     
     /**
      * Performs the actual cost calculation with all factors
+     * 
+     * @param mode Calculation mode recorded in the audit journal
+     */
+    private void performCalculation(PricingMode mode) {
+        // Same steps as price(), written straight to the fields so that no quote is allocated
+        this.subtotal = subtotalOf(this.costPerItem, this.quantity, this.deliveryCost);
+        this.discountAmount = discountOf(this.subtotal, this.discountRate);
+        double afterDiscount = this.subtotal - this.discountAmount;
+        this.taxAmount = taxOf(afterDiscount, this.taxRate);
+        this.totalCost = afterDiscount + this.taxAmount;
+        AuditJournal journal = auditJournal;
+        if (journal != null) {
+            journal.append(mode, itemName, costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                           subtotal, discountAmount, taxAmount, totalCost);
+        }
+    }
+    
+    private static void journal(PricingMode mode, CostQuote quote) {
+        AuditJournal journal = auditJournal;
+        if (journal != null) {
+            journal.append(mode, quote);
+        }
+    }
+    
+    /**
+     * Stateless cost calculation returning an immutable quote
+     * 
+     * Does not read or modify any engine state, so a single engine (or no
+     * engine at all) can serve any number of threads without locking.
+     * 
+     * @param itemName Name of the item (blank names become "Item")
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal, e.g., 0.08 for 8%)
+     * @param discountRate Discount rate (as decimal, e.g., 0.1 for 10%)
+     * @return Immutable quote with inputs and computed amounts
+     * @throws IllegalArgumentException if parameters are invalid
      */
-    private void performCalculation() {
+    public static CostQuote quote(String itemName, double costPerItem, int quantity, double deliveryCost,
+                                  double taxRate, double discountRate) {
+        long start = PricingMetrics.startTimer();
+        validateLineItem(RateConfiguration.current(), costPerItem, quantity, deliveryCost, taxRate, discountRate);
+        CostQuote quote = price(normalizeItemName(itemName), costPerItem, quantity, deliveryCost,
+                                taxRate, discountRate);
+        journal(PricingMode.QUOTE, quote);
+        PricingMetrics.recordCalculation(PricingMode.QUOTE, 1, start);
+        return quote;
+    }
+    
+    /**
+     * Stateless cost calculation for an unnamed item
+     * 
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal, e.g., 0.08 for 8%)
+     * @param discountRate Discount rate (as decimal, e.g., 0.1 for 10%)
+     * @return Immutable quote with inputs and computed amounts
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public static CostQuote quote(double costPerItem, int quantity, double deliveryCost,
+                                  double taxRate, double discountRate) {
+        long start = PricingMetrics.startTimer();
+        validateLineItem(RateConfiguration.current(), costPerItem, quantity, deliveryCost, taxRate, discountRate);
+        CostQuote quote = price("", costPerItem, quantity, deliveryCost, taxRate, discountRate);
+        journal(PricingMode.QUOTE, quote);
+        PricingMetrics.recordCalculation(PricingMode.QUOTE, 1, start);
+        return quote;
+    }
+    
+    /**
+     * Captures the current state of this engine as an immutable quote
+     * 
+     * @return Quote holding the current inputs and last computed amounts
+     */
+    public CostQuote toQuote() {
+        return new CostQuote(itemName, costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                             subtotal, discountAmount, taxAmount, totalCost);
+    }
+    
+    // Prices already-validated inputs
+    static CostQuote price(String itemName, double costPerItem, int quantity, double deliveryCost,
+                                   double taxRate, double discountRate) {
         // Calculate subtotal (items + delivery)
-        this.subtotal = (this.costPerItem * this.quantity) + this.deliveryCost;
+        double subtotal = subtotalOf(costPerItem, quantity, deliveryCost);
         
         // Apply discount if any
-        this.discountAmount = this.subtotal * this.discountRate;
-        double afterDiscount = this.subtotal - this.discountAmount;
+        double discountAmount = discountOf(subtotal, discountRate);
+        double afterDiscount = subtotal - discountAmount;
         
         // Calculate tax on discounted amount
-        this.taxAmount = afterDiscount * this.taxRate;
+        double taxAmount = taxOf(afterDiscount, taxRate);
         
         // Calculate final total
-        this.totalCost = afterDiscount + this.taxAmount;
+        double totalCost = afterDiscount + taxAmount;
+        
+        return new CostQuote(itemName, costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                             subtotal, discountAmount, taxAmount, totalCost);
     }
     
     /**
-     * Generates a detailed cost breakdown report
+     * Prices a batch of line items held in parallel primitive arrays.
      * 
-     * @return Formatted string with complete cost analysis
+     * Runs the same math as the single-item calculation for every row in
+     * {@code [offset, offset + length)} and writes the results into the
+     * caller-supplied output arrays. No objects are allocated per row.
+     * 
+     * @param costPerItem Cost per individual item, per row
+     * @param quantity Number of items, per row
+     * @param deliveryCost Delivery charges, per row
+     * @param taxRate Tax rate (as decimal), per row
+     * @param discountRate Discount rate (as decimal), per row
+     * @param subtotal Output: items + delivery, per row
+     * @param discountAmount Output: discount amount, per row
+     * @param taxAmount Output: tax amount, per row
+     * @param totalCost Output: final total, per row
+     * @param offset Index of the first row to price
+     * @param length Number of rows to price
+     * @throws IllegalArgumentException if any row in the range is invalid
+     * @throws IndexOutOfBoundsException if the range exceeds any array
      */
-    public String generateDetailedReport() {
-        StringBuilder report = new StringBuilder();
-        report.append("\n").append("=".repeat(50)).append("\n");
-        report.append("               DETAILED COST BREAKDOWN\n");
-        report.append("=".repeat(50)).append("\n");
+    public static void calculateBatch(double[] costPerItem, int[] quantity, double[] deliveryCost,
+                                      double[] taxRate, double[] discountRate,
+                                      double[] subtotal, double[] discountAmount,
+                                      double[] taxAmount, double[] totalCost,
+                                      int offset, int length) {
+        calculateBatch(RateConfiguration.current(), costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                       subtotal, discountAmount, taxAmount, totalCost, offset, length);
+    }
+    
+    private static void calculateBatch(RateConfiguration config, double[] costPerItem, int[] quantity,
+                                       double[] deliveryCost, double[] taxRate, double[] discountRate,
+                                       double[] subtotal, double[] discountAmount,
+                                       double[] taxAmount, double[] totalCost,
+                                       int offset, int length) {
+        long start = PricingMetrics.startTimer();
+        int end = offset + length;
+        checkBatchRange(costPerItem.length, offset, end);
+        checkBatchRange(quantity.length, offset, end);
+        checkBatchRange(deliveryCost.length, offset, end);
+        checkBatchRange(taxRate.length, offset, end);
+        checkBatchRange(discountRate.length, offset, end);
+        checkBatchRange(subtotal.length, offset, end);
+        checkBatchRange(discountAmount.length, offset, end);
+        checkBatchRange(taxAmount.length, offset, end);
+        checkBatchRange(totalCost.length, offset, end);
         
-        if (!itemName.isEmpty()) {
-            report.append(String.format("Item Name           : %s%n", itemName));
-        }
-        report.append(String.format("Cost Per Item       : %s%n", CURRENCY_FORMAT.format(costPerItem)));
-        report.append(String.format("Quantity            : %d items%n", quantity));
-        report.append(String.format("Items Subtotal      : %s%n", CURRENCY_FORMAT.format(costPerItem * quantity)));
+        // Validate the whole range first so a bad row leaves the outputs untouched
+        validateRows(config, costPerItem, quantity, deliveryCost, taxRate, discountRate, offset, end);
+        priceRows(costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                  subtotal, discountAmount, taxAmount, totalCost, offset, end);
+        journalRows(PricingMode.BATCH, costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                    subtotal, discountAmount, taxAmount, totalCost, null, offset, end);
+        PricingMetrics.recordCalculation(PricingMode.BATCH, length, start);
+    }
+    
+    /**
+     * Prices every row of a {@link LineItemBatch} in place
+     * 
+     * @param batch Batch whose inputs are priced and whose outputs are filled
+     * @throws IllegalArgumentException if any row is invalid
+     */
+    public static void calculateBatch(LineItemBatch batch) {
+        calculateBatch(RateConfiguration.current(), batch.getCostPerItem(), batch.getQuantity(),
+                       batch.getDeliveryCost(), batch.getTaxRate(), batch.getDiscountRate(),
+                       batch.getSubtotal(), batch.getDiscountAmount(),
+                       batch.getTaxAmount(), batch.getTotalCost(),
+                       0, batch.size());
+    }
+    
+    /**
+     * Prices a batch whose rows were all validated by the caller
+     * 
+     * Rows go straight to the pricing kernel without being checked again;
+     * they are journaled and recorded like any other batch.
+     */
+    static void calculateValidatedBatch(LineItemBatch batch) {
+        long start = PricingMetrics.startTimer();
+        priceRows(batch.getCostPerItem(), batch.getQuantity(), batch.getDeliveryCost(),
+                  batch.getTaxRate(), batch.getDiscountRate(),
+                  batch.getSubtotal(), batch.getDiscountAmount(),
+                  batch.getTaxAmount(), batch.getTotalCost(), 0, batch.size());
+        journalRows(PricingMode.BATCH, batch.getCostPerItem(), batch.getQuantity(), batch.getDeliveryCost(),
+                    batch.getTaxRate(), batch.getDiscountRate(), batch.getSubtotal(), batch.getDiscountAmount(),
+                    batch.getTaxAmount(), batch.getTotalCost(), null, 0, batch.size());
+        PricingMetrics.recordCalculation(PricingMode.BATCH, batch.size(), start);
+    }
+    
+    /**
+     * Prices the valid rows of a batch and records a status code for every row
+     * 
+     * Unlike {@link #calculateBatch(double[], int[], double[], double[], double[], double[], double[],
+     * double[], double[], int, int) calculateBatch}, invalid rows do not stop the batch or throw:
+     * each row's {@code status} entry is set to {@link ValidationError#VALID} or to the code of
+     * its first failed check, and the outputs of invalid rows are set to NaN.
+     * 
+     * @param costPerItem Cost per individual item, per row
+     * @param quantity Number of items, per row
+     * @param deliveryCost Delivery charges, per row
+     * @param taxRate Tax rate (as decimal), per row
+     * @param discountRate Discount rate (as decimal), per row
+     * @param subtotal Output: items + delivery, per row
+     * @param discountAmount Output: discount amount, per row
+     * @param taxAmount Output: tax amount, per row
+     * @param totalCost Output: final total, per row
+     * @param status Output: validation code, per row
+     * @param offset Index of the first row to price
+     * @param length Number of rows to price
+     * @return Number of rows rejected
+     * @throws IndexOutOfBoundsException if the range exceeds any array
+     */
+    public static int calculateBatchLenient(double[] costPerItem, int[] quantity, double[] deliveryCost,
+                                            double[] taxRate, double[] discountRate,
+                                            double[] subtotal, double[] discountAmount,
+                                            double[] taxAmount, double[] totalCost,
+                                            byte[] status, int offset, int length) {
+        return calculateBatchLenient(RateConfiguration.current(), costPerItem, quantity, deliveryCost,
+                                     taxRate, discountRate, subtotal, discountAmount, taxAmount, totalCost,
+                                     status, offset, length);
+    }
+    
+    private static int calculateBatchLenient(RateConfiguration config, double[] costPerItem, int[] quantity,
+                                             double[] deliveryCost, double[] taxRate, double[] discountRate,
+                                             double[] subtotal, double[] discountAmount,
+                                             double[] taxAmount, double[] totalCost,
+                                             byte[] status, int offset, int length) {
+        long start = PricingMetrics.startTimer();
+        int end = offset + length;
+        checkBatchRange(costPerItem.length, offset, end);
+        checkBatchRange(quantity.length, offset, end);
+        checkBatchRange(deliveryCost.length, offset, end);
+        checkBatchRange(taxRate.length, offset, end);
+        checkBatchRange(discountRate.length, offset, end);
+        checkBatchRange(subtotal.length, offset, end);
+        checkBatchRange(discountAmount.length, offset, end);
+        checkBatchRange(taxAmount.length, offset, end);
+        checkBatchRange(totalCost.length, offset, end);
+        checkBatchRange(status.length, offset, end);
         
-        if (deliveryCost > 0) {
-            report.append(String.format("Delivery Charges    : %s%n", CURRENCY_FORMAT.format(deliveryCost)));
+        int rejected = 0;
+        for (int i = offset; i < end; i++) {
+            int error = validate(config, costPerItem[i], quantity[i], deliveryCost[i], taxRate[i], discountRate[i]);
+            status[i] = (byte) error;
+            if (error != ValidationError.VALID) {
+                rejected++;
+            }
         }
-        
-        report.append(String.format("Subtotal            : %s%n", CURRENCY_FORMAT.format(subtotal)));
-        
-        if (discountRate > 0) {
-            report.append(String.format("Discount (%.1f%%)     : -%s%n", 
-                                      discountRate * 100, CURRENCY_FORMAT.format(discountAmount)));
+        // Price every row in one pass, then blank out the rejected ones
+        priceRows(costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                  subtotal, discountAmount, taxAmount, totalCost, offset, end);
+        for (int i = offset; rejected > 0 && i < end; i++) {
+            if (status[i] != ValidationError.VALID) {
+                subtotal[i] = Double.NaN;
+                discountAmount[i] = Double.NaN;
+                taxAmount[i] = Double.NaN;
+                totalCost[i] = Double.NaN;
+            }
         }
-        
-        if (taxRate > 0) {
-            report.append(String.format("Tax (%.1f%%)          : %s%n", 
-                                      taxRate * 100, CURRENCY_FORMAT.format(taxAmount)));
+        journalRows(PricingMode.BATCH, costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                    subtotal, discountAmount, taxAmount, totalCost, status, offset, end);
+        PricingMetrics.recordCalculation(PricingMode.BATCH, length - rejected, start);
+        return rejected;
+    }
+    
+    /**
+     * Prices the valid rows of a {@link LineItemBatch} and fills its status column
+     * 
+     * @param batch Batch whose inputs are priced and whose outputs and statuses are filled
+     * @return Number of rows rejected
+     * @see LineItemBatch#getError(int)
+     */
+    public static int calculateBatchLenient(LineItemBatch batch) {
+        return calculateBatchLenient(batch, RateConfiguration.current());
+    }
+    
+    /**
+     * Prices the valid rows of a batch against the given configuration and fills its status column
+     */
+    static int calculateBatchLenient(LineItemBatch batch, RateConfiguration config) {
+        return calculateBatchLenient(config, batch.getCostPerItem(), batch.getQuantity(), batch.getDeliveryCost(),
+                                     batch.getTaxRate(), batch.getDiscountRate(),
+                                     batch.getSubtotal(), batch.getDiscountAmount(),
+                                     batch.getTaxAmount(), batch.getTotalCost(),
+                                     batch.getStatus(), 0, batch.size());
+    }
+    
+    /**
+     * Prices every row of a {@link LineItemBatch} in parallel on the common pool
+     * 
+     * @param batch Batch whose inputs are priced and whose outputs are filled
+     * @throws IllegalArgumentException if any row is invalid
+     * @see #calculateBatchParallel(LineItemBatch, ForkJoinPool, int)
+     */
+    public static void calculateBatchParallel(LineItemBatch batch) {
+        calculateBatchParallel(batch, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * Prices every row of a {@link LineItemBatch} in parallel
+     * 
+     * The row range is split in halves until a slice holds at most
+     * {@code threshold} rows; each slice is then priced sequentially. Rows
+     * are independent, so totals are identical to {@link #calculateBatch(LineItemBatch)}.
+     * All rows are validated, against one rate configuration, before any output is written.
+     * 
+     * @param batch Batch whose inputs are priced and whose outputs are filled
+     * @param pool Fork/join pool that runs the slices
+     * @param threshold Maximum number of rows priced by one task without splitting
+     * @throws IllegalArgumentException if threshold is less than 1 or any row is invalid
+     */
+    public static void calculateBatchParallel(LineItemBatch batch, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be at least 1");
         }
+        long start = PricingMetrics.startTimer();
+        RateConfiguration config = RateConfiguration.current();
+        if (batch.size() <= threshold) {
+            // One slice: price it on this thread, without a round trip through the pool
+            validateRows(config, batch.getCostPerItem(), batch.getQuantity(), batch.getDeliveryCost(),
+                         batch.getTaxRate(), batch.getDiscountRate(), 0, batch.size());
+            priceRows(batch.getCostPerItem(), batch.getQuantity(), batch.getDeliveryCost(),
+                      batch.getTaxRate(), batch.getDiscountRate(),
+                      batch.getSubtotal(), batch.getDiscountAmount(),
+                      batch.getTaxAmount(), batch.getTotalCost(), 0, batch.size());
+        } else {
+            try {
+                pool.invoke(new BatchPricingTask(batch, config, 0, batch.size(), threshold, false));
+            } catch (IllegalArgumentException e) {
+                // Fork/join may rethrow a copy that wraps the worker's exception
+                if (e.getCause() instanceof IllegalArgumentException) {
+                    throw (IllegalArgumentException) e.getCause();
+                }
+                throw e;
+            }
+            pool.invoke(new BatchPricingTask(batch, config, 0, batch.size(), threshold, true));
+        }
+        journalRows(PricingMode.PARALLEL_BATCH, batch.getCostPerItem(), batch.getQuantity(), batch.getDeliveryCost(),
+                    batch.getTaxRate(), batch.getDiscountRate(), batch.getSubtotal(), batch.getDiscountAmount(),
+                    batch.getTaxAmount(), batch.getTotalCost(), null, 0, batch.size());
+        PricingMetrics.recordCalculation(PricingMode.PARALLEL_BATCH, batch.size(), start);
+    }
+    
+    /**
+     * Fork/join task that validates or prices a slice of a batch
+     */
+    @SuppressWarnings("serial") // Runs in one pool and is never serialized
+    private static final class BatchPricingTask extends RecursiveAction {
+        private final LineItemBatch batch;
+        private final RateConfiguration config;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final boolean pricing;
         
-        report.append("-".repeat(50)).append("\n");
-        report.append(String.format("TOTAL COST          : %s%n", CURRENCY_FORMAT.format(totalCost)));
-        report.append("=".repeat(50)).append("\n");
+        BatchPricingTask(LineItemBatch batch, RateConfiguration config, int from, int to, int threshold,
+                         boolean pricing) {
+            this.batch = batch;
+            this.config = config;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.pricing = pricing;
+        }
         
-        return report.toString();
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                if (pricing) {
+                    priceRows(batch.getCostPerItem(), batch.getQuantity(), batch.getDeliveryCost(),
+                              batch.getTaxRate(), batch.getDiscountRate(),
+                              batch.getSubtotal(), batch.getDiscountAmount(),
+                              batch.getTaxAmount(), batch.getTotalCost(), from, to);
+                } else {
+                    validateRows(config, batch.getCostPerItem(), batch.getQuantity(), batch.getDeliveryCost(),
+                                 batch.getTaxRate(), batch.getDiscountRate(), from, to);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchPricingTask(batch, config, from, mid, threshold, pricing),
+                      new BatchPricingTask(batch, config, mid, to, threshold, pricing));
+        }
+    }
+    
+    private static void validateRows(RateConfiguration config, double[] costPerItem, int[] quantity,
+                                     double[] deliveryCost, double[] taxRate, double[] discountRate,
+                                     int from, int to) {
+        for (int i = from; i < to; i++) {
+            int error = validate(config, costPerItem[i], quantity[i], deliveryCost[i], taxRate[i], discountRate[i]);
+            if (error != ValidationError.VALID) {
+                throw new IllegalArgumentException(
+                    "Row " + i + ": " + messageFor(ValidationError.fromCode(error), config));
+            }
+        }
+    }
+    
+    private static void priceRows(double[] costPerItem, int[] quantity, double[] deliveryCost,
+                                  double[] taxRate, double[] discountRate,
+                                  double[] subtotal, double[] discountAmount,
+                                  double[] taxAmount, double[] totalCost, int from, int to) {
+        VectorPricingKernel.price(costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                                  subtotal, discountAmount, taxAmount, totalCost, from, to);
+    }
+    
+    private static void journalRows(PricingMode mode, double[] costPerItem, int[] quantity, double[] deliveryCost,
+                                    double[] taxRate, double[] discountRate,
+                                    double[] subtotal, double[] discountAmount,
+                                    double[] taxAmount, double[] totalCost, byte[] status, int from, int to) {
+        AuditJournal journal = auditJournal;
+        if (journal != null) {
+            journal.appendRows(mode, costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                               subtotal, discountAmount, taxAmount, totalCost, status, from, to);
+        }
+    }
+    
+    // Records priced rows in the LineItemRecordFormat layout
+    static void journalRecords(PricingMode mode, ByteBuffer records) {
+        AuditJournal journal = auditJournal;
+        if (journal != null) {
+            journal.appendRecords(mode, records);
+        }
+    }
+    
+    // Pricing formulas shared by the single-item and batch paths
+    static double subtotalOf(double costPerItem, int quantity, double deliveryCost) {
+        return (costPerItem * quantity) + deliveryCost;
+    }
+    
+    static double discountOf(double subtotal, double discountRate) {
+        return subtotal * discountRate;
+    }
+    
+    static double taxOf(double afterDiscount, double taxRate) {
+        return afterDiscount * taxRate;
+    }
+    
+    private static void checkBatchRange(int arrayLength, int offset, int end) {
+        if (offset < 0 || end < offset || end > arrayLength) {
+            throw new IndexOutOfBoundsException(
+                String.format("Batch range [%d, %d) out of bounds for length %d", offset, end, arrayLength));
+        }
+    }
+    
+    /**
+     * Generates a detailed cost breakdown report
+     * 
+     * @return Formatted string with complete cost analysis
+     */
+    public String generateDetailedReport() {
+        return appendDetailedReport(new StringBuilder(512)).toString();
+    }
+    
+    /**
+     * Generates a detailed cost breakdown report for a market
+     * 
+     * @param locale Locale for currency amounts and numbers
+     * @return Formatted string with complete cost analysis
+     */
+    public String generateDetailedReport(Locale locale) {
+        return appendDetailedReport(new StringBuilder(512), locale).toString();
     }
     
     /**
@@ -198,58 +649,284 @@ public class CostCalculationEngine {
      * @return Formatted string with basic cost information
      */
     public String generateSummary() {
-        return String.format("Total Cost: %s (Items: %d × %s + Delivery: %s)", 
-                           CURRENCY_FORMAT.format(totalCost),
-                           quantity,
-                           CURRENCY_FORMAT.format(costPerItem),
-                           CURRENCY_FORMAT.format(deliveryCost));
+        return appendSummary(new StringBuilder(96)).toString();
+    }
+    
+    /**
+     * Generates a simple cost summary for a market
+     * 
+     * @param locale Locale for currency amounts and numbers
+     * @return Formatted string with basic cost information
+     */
+    public String generateSummary(Locale locale) {
+        return appendSummary(new StringBuilder(96), locale).toString();
+    }
+    
+    /**
+     * Appends the detailed cost breakdown report without intermediate strings
+     * 
+     * @param out Destination
+     * @return The destination, for chaining
+     */
+    public StringBuilder appendDetailedReport(StringBuilder out) {
+        return appendDetailedReport(out, CurrencyFormatter.getDefault(), CostReportRenderer.defaultNumberLocale());
+    }
+    
+    /**
+     * Appends the detailed cost breakdown report for a market
+     * 
+     * @param out Destination
+     * @param locale Locale for currency amounts and numbers
+     * @return The destination, for chaining
+     */
+    public StringBuilder appendDetailedReport(StringBuilder out, Locale locale) {
+        return appendDetailedReport(out, CurrencyFormatter.forLocale(locale), locale);
+    }
+    
+    /**
+     * Appends the simple cost summary without intermediate strings
+     * 
+     * @param out Destination
+     * @return The destination, for chaining
+     */
+    public StringBuilder appendSummary(StringBuilder out) {
+        return CostReportRenderer.appendSummary(out, CurrencyFormatter.getDefault(),
+                                                CostReportRenderer.defaultNumberLocale(),
+                                                totalCost, quantity, costPerItem, deliveryCost);
+    }
+    
+    /**
+     * Appends the simple cost summary for a market
+     * 
+     * @param out Destination
+     * @param locale Locale for currency amounts and numbers
+     * @return The destination, for chaining
+     */
+    public StringBuilder appendSummary(StringBuilder out, Locale locale) {
+        return CostReportRenderer.appendSummary(out, CurrencyFormatter.forLocale(locale), locale,
+                                                totalCost, quantity, costPerItem, deliveryCost);
+    }
+    
+    private StringBuilder appendDetailedReport(StringBuilder out, CurrencyFormatter currency, Locale numberLocale) {
+        return CostReportRenderer.appendDetailedReport(out, currency, numberLocale, itemName, costPerItem, quantity,
+                                                       deliveryCost, subtotal, discountRate, discountAmount,
+                                                       taxRate, taxAmount, totalCost);
     }
     
     // Validation methods
     private void validateAndSetItemName(String itemName) {
+        this.itemName = normalizeItemName(itemName);
+    }
+    
+    private void validateAndSetCostPerItem(double costPerItem, RateConfiguration config) {
+        checkCostPerItem(costPerItem, config);
+        this.costPerItem = costPerItem;
+    }
+    
+    private void validateAndSetQuantity(int quantity, RateConfiguration config) {
+        checkQuantity(quantity, config);
+        this.quantity = quantity;
+    }
+    
+    private void validateAndSetDeliveryCost(double deliveryCost, RateConfiguration config) {
+        throwIfInvalid(deliveryCostError(deliveryCost), config);
+        this.deliveryCost = deliveryCost;
+    }
+    
+    private void validateAndSetTaxRate(double taxRate, RateConfiguration config) {
+        throwIfInvalid(taxRateError(taxRate), config);
+        this.taxRate = taxRate;
+    }
+    
+    private void validateAndSetDiscountRate(double discountRate, RateConfiguration config) {
+        checkDiscountRate(discountRate, config);
+        this.discountRate = discountRate;
+    }
+    
+    /**
+     * Validates one line item without pricing it
+     * 
+     * @param config Limits to check against
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal)
+     * @param discountRate Discount rate (as decimal)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    static void validateLineItem(RateConfiguration config, double costPerItem, int quantity, double deliveryCost,
+                                 double taxRate, double discountRate) {
+        int error = validate(config, costPerItem, quantity, deliveryCost, taxRate, discountRate);
+        if (error != ValidationError.VALID) {
+            throw new IllegalArgumentException(messageFor(ValidationError.fromCode(error), config));
+        }
+    }
+    
+    /**
+     * Validates one line item without throwing
+     * 
+     * Checks run in the same order as the exception-based validation, and
+     * the first failure is reported. Limits come from the current
+     * {@link RateConfiguration}. No message is built; call
+     * {@link ValidationError#getMessage()} on the result when one is needed.
+     * 
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal)
+     * @param discountRate Discount rate (as decimal)
+     * @return {@link ValidationError#VALID}, or the code of the first failed check
+     */
+    public static int validate(double costPerItem, int quantity, double deliveryCost,
+                               double taxRate, double discountRate) {
+        return validate(RateConfiguration.current(), costPerItem, quantity, deliveryCost, taxRate, discountRate);
+    }
+    
+    /**
+     * Validates one line item against the given limits, for callers that
+     * check many rows under one configuration snapshot
+     */
+    static int validate(RateConfiguration config, double costPerItem, int quantity, double deliveryCost,
+                        double taxRate, double discountRate) {
+        int error = validationError(config, costPerItem, quantity, deliveryCost, taxRate, discountRate);
+        if (error != ValidationError.VALID) {
+            PricingMetrics.recordRejection(ValidationError.fromCode(error));
+        }
+        return error;
+    }
+    
+    /**
+     * Validates one line item without counting a rejection in the metrics,
+     * for checks that are not calculations (such as audit replay)
+     */
+    static int validationError(RateConfiguration config, double costPerItem, int quantity, double deliveryCost,
+                               double taxRate, double discountRate) {
+        int error = costPerItemError(costPerItem, config);
+        if (error == ValidationError.VALID) {
+            error = quantityError(quantity, config);
+        }
+        if (error == ValidationError.VALID) {
+            error = deliveryCostError(deliveryCost);
+        }
+        if (error == ValidationError.VALID) {
+            error = taxRateError(taxRate);
+        }
+        if (error == ValidationError.VALID) {
+            error = discountRateError(discountRate, config);
+        }
+        return error;
+    }
+    
+    // Stateless checks shared by the setters, quotes and the batch path
+    static String normalizeItemName(String itemName) {
         if (itemName != null && !itemName.trim().isEmpty()) {
-            this.itemName = itemName.trim();
-        } else {
-            this.itemName = "Item";
+            return itemName.trim();
         }
+        return "Item";
     }
     
-    private void validateAndSetCostPerItem(double costPerItem) {
-        if (costPerItem < MIN_COST) {
-            throw new IllegalArgumentException(
-                String.format("Cost per item must be at least %s", CURRENCY_FORMAT.format(MIN_COST)));
+    // NaN and infinities compare false against every limit, so they are rejected first
+    private static int costPerItemError(double costPerItem, RateConfiguration config) {
+        if (!Double.isFinite(costPerItem)) {
+            return ValidationError.MALFORMED_INPUT.getCode();
         }
-        this.costPerItem = costPerItem;
+        return costPerItem < config.getMinCost()
+            ? ValidationError.COST_BELOW_MINIMUM.getCode() : ValidationError.VALID;
     }
     
-    private void validateAndSetQuantity(int quantity) {
-        if (quantity < MIN_QUANTITY) {
-            throw new IllegalArgumentException(
-                String.format("Quantity must be at least %d", MIN_QUANTITY));
+    private static int quantityError(int quantity, RateConfiguration config) {
+        return quantity < config.getMinQuantity()
+            ? ValidationError.QUANTITY_BELOW_MINIMUM.getCode() : ValidationError.VALID;
+    }
+    
+    private static int deliveryCostError(double deliveryCost) {
+        if (!Double.isFinite(deliveryCost)) {
+            return ValidationError.MALFORMED_INPUT.getCode();
         }
-        this.quantity = quantity;
+        return deliveryCost < 0 ? ValidationError.NEGATIVE_DELIVERY_COST.getCode() : ValidationError.VALID;
     }
     
-    private void validateAndSetDeliveryCost(double deliveryCost) {
-        if (deliveryCost < 0) {
-            throw new IllegalArgumentException("Delivery cost cannot be negative");
+    private static int taxRateError(double taxRate) {
+        if (Double.isNaN(taxRate)) {
+            return ValidationError.MALFORMED_INPUT.getCode();
         }
-        this.deliveryCost = deliveryCost;
+        return taxRate < 0 || taxRate > 1 ? ValidationError.TAX_RATE_OUT_OF_RANGE.getCode() : ValidationError.VALID;
     }
     
-    private void validateAndSetTaxRate(double taxRate) {
-        if (taxRate < 0 || taxRate > 1) {
-            throw new IllegalArgumentException("Tax rate must be between 0 and 1 (0% to 100%)");
+    private static int discountRateError(double discountRate, RateConfiguration config) {
+        if (Double.isNaN(discountRate)) {
+            return ValidationError.MALFORMED_INPUT.getCode();
         }
-        this.taxRate = taxRate;
+        return discountRate < 0 || discountRate > config.getMaxDiscountRate()
+            ? ValidationError.DISCOUNT_RATE_OUT_OF_RANGE.getCode() : ValidationError.VALID;
+    }
+    
+    static void checkCostPerItem(double costPerItem) {
+        checkCostPerItem(costPerItem, RateConfiguration.current());
+    }
+    
+    static void checkCostPerItem(double costPerItem, RateConfiguration config) {
+        throwIfInvalid(costPerItemError(costPerItem, config), config);
+    }
+    
+    static void checkQuantity(int quantity) {
+        checkQuantity(quantity, RateConfiguration.current());
+    }
+    
+    static void checkQuantity(int quantity, RateConfiguration config) {
+        throwIfInvalid(quantityError(quantity, config), config);
+    }
+    
+    static void checkDeliveryCost(double deliveryCost) {
+        throwIfInvalid(deliveryCostError(deliveryCost), null);
     }
     
-    private void validateAndSetDiscountRate(double discountRate) {
-        if (discountRate < 0 || discountRate > MAX_DISCOUNT_RATE) {
+    static void checkTaxRate(double taxRate) {
+        throwIfInvalid(taxRateError(taxRate), null);
+    }
+    
+    static void checkDiscountRate(double discountRate) {
+        checkDiscountRate(discountRate, RateConfiguration.current());
+    }
+    
+    static void checkDiscountRate(double discountRate, RateConfiguration config) {
+        throwIfInvalid(discountRateError(discountRate, config), config);
+    }
+    
+    // The configuration is only read for messages that quote a configurable limit
+    private static void throwIfInvalid(int error, RateConfiguration config) {
+        if (error != ValidationError.VALID) {
+            ValidationError reason = ValidationError.fromCode(error);
+            PricingMetrics.recordRejection(reason);
             throw new IllegalArgumentException(
-                String.format("Discount rate must be between 0 and %.0f%%", MAX_DISCOUNT_RATE * 100));
+                messageFor(reason, config != null ? config : RateConfiguration.current()));
+        }
+    }
+    
+    /**
+     * Renders the message for a validation failure
+     * 
+     * @param error Validation failure
+     * @param config Configuration whose limits the message quotes
+     * @return Human-readable description of the limit that was violated
+     */
+    static String messageFor(ValidationError error, RateConfiguration config) {
+        switch (error) {
+            case COST_BELOW_MINIMUM:
+                return String.format("Cost per item must be at least %s",
+                                     CurrencyFormatter.getDefault().format(config.getMinCost()));
+            case QUANTITY_BELOW_MINIMUM:
+                return String.format("Quantity must be at least %d", config.getMinQuantity());
+            case NEGATIVE_DELIVERY_COST:
+                return "Delivery cost cannot be negative";
+            case TAX_RATE_OUT_OF_RANGE:
+                return "Tax rate must be between 0 and 1 (0% to 100%)";
+            case MALFORMED_INPUT:
+                return "Amounts and rates must be finite decimal numbers";
+            default:
+                return String.format("Discount rate must be between 0 and %.0f%%",
+                                     config.getMaxDiscountRate() * 100);
         }
-        this.discountRate = discountRate;
     }
     
     // Getter methods for accessing calculated values
@@ -264,13 +941,61 @@ public class CostCalculationEngine {
     public double getTaxRate() { return taxRate; }
     public double getDiscountRate() { return discountRate; }
     
+    /**
+     * @return Rules used by {@link #calculateCostWithRules}: those set on this
+     *         engine, or else the current configuration's
+     */
+    public PricingRules getPricingRules() {
+        return pricingRules != null ? pricingRules : RateConfiguration.current().getPricingRules();
+    }
+    
+    /**
+     * Sets the rules used by {@link #calculateCostWithRules}, instead of
+     * following the current {@link RateConfiguration}
+     * 
+     * @param pricingRules Compiled pricing rules
+     * @throws IllegalArgumentException if pricingRules is null
+     */
+    public void setPricingRules(PricingRules pricingRules) {
+        if (pricingRules == null) {
+            throw new IllegalArgumentException("Pricing rules cannot be null");
+        }
+        this.pricingRules = pricingRules;
+    }
+    
+    /**
+     * @return Journal that records every engine calculation, or null
+     */
+    public static AuditJournal getAuditJournal() {
+        return auditJournal;
+    }
+    
+    /**
+     * Records every subsequent engine calculation, from any thread, in a journal
+     * 
+     * Recorded: the single-item calculations, {@link #quote}, the batch
+     * methods, {@link MappedLineItemFile#priceInPlace()} and
+     * {@link LineItemStore#price()}. Single items and quotes are recorded
+     * with their item name; batch and record-file rows without one. Not
+     * recorded: {@link QuoteCache} hits (the miss that filled the entry
+     * was), {@link Order} and {@link SensitivitySweep} totals, and
+     * {@link FixedPointCostCalculator}, whose exact arithmetic replay
+     * cannot reproduce. Appending only buffers the record; see
+     * {@link AuditJournal#awaitDurable(long)} for waiting until it is on disk.
+     * 
+     * @param journal Open journal, or null to stop journaling
+     */
+    public static void setAuditJournal(AuditJournal journal) {
+        auditJournal = journal;
+    }
+    
     // Setter methods for tax and discount rates
     public void setTaxRate(double taxRate) {
-        validateAndSetTaxRate(taxRate);
+        validateAndSetTaxRate(taxRate, null);
     }
     
     public void setDiscountRate(double discountRate) {
-        validateAndSetDiscountRate(discountRate);
+        validateAndSetDiscountRate(discountRate, RateConfiguration.current());
     }
     
     /**
@@ -280,7 +1005,7 @@ public class CostCalculationEngine {
      */
     public void applyDiscount(double discountPercentage) {
         setDiscountRate(discountPercentage / 100.0);
-        performCalculation();
+        performCalculation(PricingMode.ADVANCED);
     }
     
     /**
@@ -290,6 +1015,6 @@ public class CostCalculationEngine {
      */
     public void applyTax(double taxPercentage) {
         setTaxRate(taxPercentage / 100.0);
-        performCalculation();
+        performCalculation(PricingMode.ADVANCED);
     }
 }
\ No newline at end of file
@@ -1,5 +1,11 @@
 package Professional_Cost_Calculator;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
@@ -17,11 +23,35 @@ import java.util.Scanner;
  * @version 2.0
  */
 public class CostCalculatorApplication {
-    private static Scanner input = new Scanner(System.in);
+    private static Scanner input; // Created only for interactive runs
     private static final String APP_TITLE = "ADVANCED COST CALCULATOR";
     private static final String VERSION = "v2.0";
+    private static final String RULES_FILE = "pricing-rules.properties";
+    private static RateConfigurationWatcher rateWatcher;
     
     public static void main(String[] args) {
+        if (Boolean.getBoolean("costcalc.metrics.jmx")) {
+            PricingMetrics.registerMBean();
+        }
+        String auditDirectory = System.getProperty("costcalc.audit.dir");
+        if (auditDirectory != null && !openAuditJournal(Paths.get(auditDirectory))) {
+            System.exit(1);
+        }
+        // Only long-running modes keep watching the rules file; one-shot commands read it once
+        boolean watchRules = args.length == 0 || "--serve".equals(args[0]);
+        if (!loadRateConfiguration(watchRules)) {
+            if (args.length > 0) {
+                System.exit(1);
+            }
+            System.err.println("   Using the default 8% tax instead.");
+        }
+        if (args.length > 0) {
+            int exitCode = runCommand(args);
+            stopRateWatcher();
+            System.exit(exitCode);
+        }
+        
+        input = new Scanner(System.in);
         displayWelcome();
         
         boolean continueCalculating = true;
@@ -37,6 +67,340 @@ public class CostCalculatorApplication {
         
         displayGoodbye();
         input.close();
+        stopRateWatcher();
+    }
+    
+    /**
+     * Loads -Dcostcalc.rules, else pricing-rules.properties in the working
+     * directory; without a file the built-in 8% default applies
+     * 
+     * @param watch true to keep watching the file for changes
+     * @return false if a rules file exists but could not be loaded
+     */
+    private static boolean loadRateConfiguration(boolean watch) {
+        String configured = System.getProperty("costcalc.rules");
+        Path file = Paths.get(configured != null ? configured : RULES_FILE);
+        if (configured == null && !Files.isRegularFile(file)) {
+            return true;
+        }
+        try {
+            if (watch) {
+                rateWatcher = RateConfigurationWatcher.start(file, System.err);
+            } else {
+                RateConfiguration.install(RateConfiguration.load(file));
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("❌ Could not load pricing rules from " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private static void stopRateWatcher() {
+        if (rateWatcher != null) {
+            try {
+                rateWatcher.close();
+            } catch (IOException e) {
+                // Exiting anyway
+            }
+        }
+    }
+    
+    /**
+     * Journals the engine calculations of this run; the journal is flushed at exit
+     * 
+     * @return false if the journal could not be opened
+     */
+    private static boolean openAuditJournal(Path directory) {
+        AuditJournal journal;
+        try {
+            journal = AuditJournal.open(directory);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("❌ Could not open audit journal " + directory + ": " + e.getMessage());
+            return false;
+        }
+        CostCalculationEngine.setAuditJournal(journal);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("❌ Audit journal: " + e.getMessage());
+            }
+        }, "audit-journal-close"));
+        return true;
+    }
+    
+    /**
+     * Runs a non-interactive command selected by the first argument
+     * 
+     * @return Process exit code
+     */
+    private static int runCommand(String[] args) {
+        try {
+            switch (args[0]) {
+                case "--quote":
+                    return runQuote(args);
+                case "--batch":
+                    return runBatch(args);
+                case "--convert":
+                    return runConvert(args);
+                case "--price-binary":
+                    return runPriceBinary(args);
+                case "--serve":
+                    return runServer(args);
+                case "--replay":
+                    return runReplay(args);
+                case "--report":
+                    return runReport(args);
+                case "--help":
+                    displayUsage();
+                    return 0;
+                default:
+                    System.err.println("❌ Unknown option: " + args[0]);
+                    displayUsage();
+                    return 2;
+            }
+        } catch (IOException e) {
+            System.err.println("❌ I/O Error: " + e.getMessage());
+            return 1;
+        }
+    }
+    
+    /**
+     * Prices one line item and prints its summary, for scripts and pipelines
+     * 
+     * Usage: --quote <costPerItem> <quantity> [deliveryCost] [taxRate] [discountRate]
+     */
+    private static int runQuote(String[] args) {
+        if (args.length < 3 || args.length > 6) {
+            displayUsage();
+            return 2;
+        }
+        double costPerItem;
+        int quantity;
+        double deliveryCost = 0;
+        double taxRate = RateConfiguration.current().getDefaultTaxRate();
+        double discountRate = 0;
+        try {
+            costPerItem = LineItemCsvReader.parseDecimal(args[1]);
+            quantity = Integer.parseInt(args[2]);
+            if (args.length > 3) {
+                deliveryCost = LineItemCsvReader.parseDecimal(args[3]);
+            }
+            if (args.length > 4) {
+                taxRate = LineItemCsvReader.parseDecimal(args[4]);
+            }
+            if (args.length > 5) {
+                discountRate = LineItemCsvReader.parseDecimal(args[5]);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("❌ Invalid number: " + e.getMessage());
+            return 2;
+        }
+        
+        CostQuote quote;
+        try {
+            quote = CostCalculationEngine.quote(costPerItem, quantity, deliveryCost, taxRate, discountRate);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ Validation Error: " + e.getMessage());
+            return 1;
+        }
+        System.out.println(CostReportRenderer.appendSummary(new StringBuilder(96), quote));
+        return 0;
+    }
+    
+    /**
+     * Prices a delimited line-item file into an output file
+     * 
+     * Usage: --batch <input> <output> [--csv|--tsv]
+     */
+    private static int runBatch(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            displayUsage();
+            return 2;
+        }
+        Path inputFile = Paths.get(args[1]);
+        Path outputFile = Paths.get(args[2]);
+        char delimiter = delimiterOption(args, inputFile);
+        if (delimiter == 0) {
+            displayUsage();
+            return 2;
+        }
+        
+        long start = System.nanoTime();
+        CsvBatchProcessor processor = new CsvBatchProcessor(delimiter, System.err);
+        processor.process(inputFile, outputFile);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        System.out.printf("✅ Priced %d rows (%d rejected) into %s in %d ms%n",
+                          processor.getRowsPriced(), processor.getRowsRejected(), outputFile, elapsedMillis);
+        return processor.getRowsRejected() == 0 ? 0 : 1;
+    }
+    
+    /**
+     * Converts a delimited line-item file into the binary record format
+     * 
+     * Usage: --convert <input> <output.bin> [--csv|--tsv]
+     */
+    private static int runConvert(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            displayUsage();
+            return 2;
+        }
+        Path inputFile = Paths.get(args[1]);
+        Path outputFile = Paths.get(args[2]);
+        char delimiter = delimiterOption(args, inputFile);
+        if (delimiter == 0) {
+            displayUsage();
+            return 2;
+        }
+        
+        CsvToBinaryConverter converter = new CsvToBinaryConverter(delimiter, System.err);
+        converter.convert(inputFile, outputFile);
+        System.out.printf("✅ Wrote %d records (%d rejected) to %s%n",
+                          converter.getRowsWritten(), converter.getRowsRejected(), outputFile);
+        return converter.getRowsRejected() == 0 ? 0 : 1;
+    }
+    
+    /**
+     * Prices a binary record file in place
+     * 
+     * Usage: --price-binary <file.bin>
+     */
+    private static int runPriceBinary(String[] args) throws IOException {
+        if (args.length != 2) {
+            displayUsage();
+            return 2;
+        }
+        Path recordFile = Paths.get(args[1]);
+        long start = System.nanoTime();
+        try (MappedLineItemFile records = MappedLineItemFile.open(recordFile, true)) {
+            long priced = records.priceInPlace();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("✅ Priced %d records in %s in %d ms%n", priced, recordFile, elapsedMillis);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ Validation Error: " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+    
+    /**
+     * Serves the HTTP pricing endpoints on localhost until the process is stopped
+     * 
+     * Usage: --serve [port]
+     */
+    private static int runServer(String[] args) throws IOException {
+        if (args.length > 2) {
+            displayUsage();
+            return 2;
+        }
+        int port = PricingServer.DEFAULT_PORT;
+        if (args.length == 2) {
+            try {
+                port = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                displayUsage();
+                return 2;
+            }
+        }
+        PricingServer server = PricingServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        System.out.printf("✅ Pricing service on http://localhost:%d (POST /quote, POST /quote/batch, %s)%n",
+                          server.getPort(), server.usesVirtualThreads() ? "virtual threads" : "thread pool");
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            server.close();
+        }
+        return 0;
+    }
+    
+    /**
+     * Re-prices an audit journal with the current engine and reports differences
+     * 
+     * Usage: --replay <segment|journal-directory>
+     */
+    private static int runReplay(String[] args) throws IOException {
+        if (args.length != 2) {
+            displayUsage();
+            return 2;
+        }
+        AuditReplay replay = new AuditReplay(System.out);
+        replay.replay(Paths.get(args[1]));
+        replay.printSummary();
+        return replay.isClean() ? 0 : 1;
+    }
+    
+    /**
+     * Prints the consolidated report of a priced binary record file
+     * 
+     * Usage: --report <file.bin> [topItems]
+     */
+    private static int runReport(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            displayUsage();
+            return 2;
+        }
+        int topItems = 10;
+        if (args.length == 3) {
+            try {
+                topItems = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                displayUsage();
+                return 2;
+            }
+        }
+        Path recordFile = Paths.get(args[1]);
+        ItemNameDictionary names = ItemNameDictionary.readFrom(CsvToBinaryConverter.dictionaryFileFor(recordFile));
+        try (MappedLineItemFile records = MappedLineItemFile.open(recordFile, false)) {
+            if (!records.isPriced()) {
+                System.err.println("❌ " + recordFile + " has not been priced; run --price-binary on it first");
+                return 1;
+            }
+            System.out.println(PricedItemAggregator.aggregate(records, names).generateReport(topItems));
+        }
+        return 0;
+    }
+    
+    /**
+     * Reads an optional trailing --csv/--tsv flag
+     * 
+     * @return Column separator, or 0 if the flag is not recognised
+     */
+    private static char delimiterOption(String[] args, Path inputFile) {
+        if (args.length < 4) {
+            return CsvBatchProcessor.delimiterFor(inputFile);
+        }
+        if ("--tsv".equals(args[3])) {
+            return '\t';
+        }
+        if ("--csv".equals(args[3])) {
+            return ',';
+        }
+        return 0;
+    }
+    
+    /**
+     * Displays command-line usage
+     */
+    private static void displayUsage() {
+        System.out.println("Usage:");
+        System.out.println("  java Professional_Cost_Calculator.CostCalculatorApplication");
+        System.out.println("      Interactive calculator");
+        System.out.println("  java Professional_Cost_Calculator.CostCalculatorApplication --quote <costPerItem> <quantity> [deliveryCost] [taxRate] [discountRate]");
+        System.out.println("      Price one line item and print its summary (rates as decimals)");
+        System.out.println("  java Professional_Cost_Calculator.CostCalculatorApplication --batch <input> <output> [--csv|--tsv]");
+        System.out.println("      Price a file of rows: itemName,costPerItem,quantity,deliveryCost,taxRate,discountRate");
+        System.out.println("  java Professional_Cost_Calculator.CostCalculatorApplication --convert <input> <output.bin> [--csv|--tsv]");
+        System.out.println("      Convert a delimited file to the binary record format (+ <output.bin>.names)");
+        System.out.println("  java Professional_Cost_Calculator.CostCalculatorApplication --price-binary <file.bin>");
+        System.out.println("      Price a binary record file in place");
+        System.out.println("  java Professional_Cost_Calculator.CostCalculatorApplication --serve [port]");
+        System.out.println("      Serve POST /quote and POST /quote/batch (JSON) on localhost, default port " + PricingServer.DEFAULT_PORT);
+        System.out.println("  java Professional_Cost_Calculator.CostCalculatorApplication --replay <segment|journal-directory>");
+        System.out.println("      Re-price an audit journal and report any totals that differ");
+        System.out.println("  java Professional_Cost_Calculator.CostCalculatorApplication --report <file.bin> [topItems]");
+        System.out.println("      Print totals by item, tax, discount and revenue percentiles of a priced binary file");
     }
     
     /**
@@ -98,7 +462,7 @@ public class CostCalculatorApplication {
     private static int getCalculationMode() {
         System.out.println("📊 Select Calculation Mode:");
         System.out.println("   1. Basic Calculation (Items + Delivery)");
-        System.out.println("   2. Standard Calculation (with 8% Tax)");
+        System.out.printf("   2. Standard Calculation (%s)%n", standardModeDescription());
         System.out.println("   3. Advanced Calculation (Custom Tax & Discount)");
         System.out.println();
         
@@ -124,14 +488,49 @@ public class CostCalculatorApplication {
     }
     
     /**
-     * Performs standard calculation with default 8% tax
+     * Performs standard calculation with tax and discounts from the pricing rules
      */
     private static void performAdvancedCalculation(CostCalculationEngine calculator, String itemName,
                                                  double costPerItem, int quantity, double deliveryCost) {
+        PricingRules rules = getPricingRules();
+        String category = rules.hasCategoryRates() ? getOptionalText("🗂️  Category (blank for none): ") : null;
+        String region = rules.hasRegionRates() ? getOptionalText("🌍 Region (blank for none): ") : null;
+        
         calculator.setItemDetails(itemName, costPerItem, quantity, deliveryCost);
-        calculator.calculateAdvancedCost(costPerItem, quantity, deliveryCost, 0.08, 0.0);
+        calculator.setPricingRules(rules);
+        calculator.calculateCostWithRules(costPerItem, quantity, deliveryCost, category, region);
         
-        System.out.println("💡 Standard calculation completed (8% tax applied)");
+        if (calculator.getDiscountRate() > 0) {
+            System.out.printf("💡 Standard calculation completed (%.1f%% tax, %.1f%% discount applied)%n",
+                             calculator.getTaxRate() * 100, calculator.getDiscountRate() * 100);
+        } else {
+            System.out.printf("💡 Standard calculation completed (%.1f%% tax applied)%n",
+                             calculator.getTaxRate() * 100);
+        }
+    }
+    
+    /**
+     * Returns the pricing rules of the current rate configuration
+     */
+    private static PricingRules getPricingRules() {
+        return RateConfiguration.current().getPricingRules();
+    }
+    
+    private static String standardModeDescription() {
+        PricingRules rules = getPricingRules();
+        if (rules == PricingRules.defaults()) {
+            return "with 8% Tax";
+        }
+        return String.format("Pricing Rules, %.1f%% Default Tax", rules.getDefaultTaxRate() * 100);
+    }
+    
+    /**
+     * Reads a line of optional text; blank input becomes null
+     */
+    private static String getOptionalText(String prompt) {
+        System.out.print(prompt);
+        String text = input.nextLine().trim();
+        return text.isEmpty() ? null : text;
     }
     
     /**
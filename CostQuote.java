@@ -0,0 +1,98 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Immutable result of a single cost calculation
+ *
+ * Features:
+ * - Holds both the validated inputs and the computed amounts
+ * - All fields are final, so instances can be shared freely between threads
+ * - Produced by CostCalculationEngine.quote(...) without touching engine state
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class CostQuote {
+    private final String itemName;
+    private final double costPerItem;
+    private final int quantity;
+    private final double deliveryCost;
+    private final double taxRate;
+    private final double discountRate;
+    private final double subtotal;
+    private final double discountAmount;
+    private final double taxAmount;
+    private final double totalCost;
+
+    CostQuote(String itemName, double costPerItem, int quantity, double deliveryCost,
+              double taxRate, double discountRate,
+              double subtotal, double discountAmount, double taxAmount, double totalCost) {
+        this.itemName = itemName;
+        this.costPerItem = costPerItem;
+        this.quantity = quantity;
+        this.deliveryCost = deliveryCost;
+        this.taxRate = taxRate;
+        this.discountRate = discountRate;
+        this.subtotal = subtotal;
+        this.discountAmount = discountAmount;
+        this.taxAmount = taxAmount;
+        this.totalCost = totalCost;
+    }
+
+    // Getter methods for accessing quoted values
+    public String getItemName() { return itemName; }
+    public double getCostPerItem() { return costPerItem; }
+    public int getQuantity() { return quantity; }
+    public double getDeliveryCost() { return deliveryCost; }
+    public double getTaxRate() { return taxRate; }
+    public double getDiscountRate() { return discountRate; }
+    public double getSubtotal() { return subtotal; }
+    public double getDiscountAmount() { return discountAmount; }
+    public double getTaxAmount() { return taxAmount; }
+    public double getTotalCost() { return totalCost; }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CostQuote)) {
+            return false;
+        }
+        CostQuote that = (CostQuote) other;
+        return itemName.equals(that.itemName)
+            && Double.compare(costPerItem, that.costPerItem) == 0
+            && quantity == that.quantity
+            && Double.compare(deliveryCost, that.deliveryCost) == 0
+            && Double.compare(taxRate, that.taxRate) == 0
+            && Double.compare(discountRate, that.discountRate) == 0
+            && Double.compare(subtotal, that.subtotal) == 0
+            && Double.compare(discountAmount, that.discountAmount) == 0
+            && Double.compare(taxAmount, that.taxAmount) == 0
+            && Double.compare(totalCost, that.totalCost) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = itemName.hashCode();
+        result = 31 * result + Double.hashCode(costPerItem);
+        result = 31 * result + quantity;
+        result = 31 * result + Double.hashCode(deliveryCost);
+        result = 31 * result + Double.hashCode(taxRate);
+        result = 31 * result + Double.hashCode(discountRate);
+        return 31 * result + Double.hashCode(totalCost);
+    }
+
+    @Override
+    public String toString() {
+        return "CostQuote[itemName=" + itemName
+            + ", costPerItem=" + costPerItem
+            + ", quantity=" + quantity
+            + ", deliveryCost=" + deliveryCost
+            + ", taxRate=" + taxRate
+            + ", discountRate=" + discountRate
+            + ", subtotal=" + subtotal
+            + ", discountAmount=" + discountAmount
+            + ", taxAmount=" + taxAmount
+            + ", totalCost=" + totalCost + "]";
+    }
+}
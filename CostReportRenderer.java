@@ -0,0 +1,292 @@
+package Professional_Cost_Calculator;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Allocation-free rendering of cost reports and summaries
+ *
+ * Features:
+ * - Appends into a caller-supplied StringBuilder or encodes UTF-8 straight
+ *   into a ByteBuffer, reusing a per-thread scratch builder
+ * - Precomputed separator lines and hand-rolled number formatting
+ * - Output is byte-identical to the String.format-based reports, including
+ *   the platform line separator; unusual number locales fall back to
+ *   String.format so the text never differs
+ * - Locale chosen per call: currency amounts follow CurrencyFormatter for
+ *   that locale and percentages/quantities follow its number conventions.
+ *   Without a locale, reports use en-PK currency and the default format
+ *   locale, as before
+ * - Safe to call from any number of threads
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class CostReportRenderer {
+    private static final String NEWLINE = System.lineSeparator();
+    private static final String DOUBLE_RULE = "=".repeat(50);
+    private static final String SINGLE_RULE = "-".repeat(50);
+    private static final String REPORT_HEADER =
+        "\n" + DOUBLE_RULE + "\n" + "               DETAILED COST BREAKDOWN\n" + DOUBLE_RULE + "\n";
+
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    // Number locales checked for ASCII digits and '.' decimals
+    private static final ConcurrentHashMap<Locale, Boolean> PLAIN_LOCALES = new ConcurrentHashMap<>();
+
+    private CostReportRenderer() {
+    }
+
+    /**
+     * Appends the detailed cost breakdown of a quote in the default locale
+     *
+     * @param out Destination
+     * @param quote Priced quote
+     * @return The destination, for chaining
+     */
+    public static StringBuilder appendDetailedReport(StringBuilder out, CostQuote quote) {
+        return appendDetailedReport(out, quote, CurrencyFormatter.getDefault(), defaultNumberLocale());
+    }
+
+    /**
+     * Appends the detailed cost breakdown of a quote for a market
+     *
+     * @param out Destination
+     * @param quote Priced quote
+     * @param locale Locale for currency amounts and numbers
+     * @return The destination, for chaining
+     */
+    public static StringBuilder appendDetailedReport(StringBuilder out, CostQuote quote, Locale locale) {
+        return appendDetailedReport(out, quote, CurrencyFormatter.forLocale(locale), locale);
+    }
+
+    /**
+     * Appends the one-line cost summary of a quote in the default locale
+     *
+     * @param out Destination
+     * @param quote Priced quote
+     * @return The destination, for chaining
+     */
+    public static StringBuilder appendSummary(StringBuilder out, CostQuote quote) {
+        return appendSummary(out, quote, CurrencyFormatter.getDefault(), defaultNumberLocale());
+    }
+
+    /**
+     * Appends the one-line cost summary of a quote for a market
+     *
+     * @param out Destination
+     * @param quote Priced quote
+     * @param locale Locale for currency amounts and numbers
+     * @return The destination, for chaining
+     */
+    public static StringBuilder appendSummary(StringBuilder out, CostQuote quote, Locale locale) {
+        return appendSummary(out, quote, CurrencyFormatter.forLocale(locale), locale);
+    }
+
+    /**
+     * Encodes the detailed cost breakdown of a quote as UTF-8 in the default locale
+     *
+     * @param out Destination buffer, advanced past the written bytes
+     * @param quote Priced quote
+     * @throws java.nio.BufferOverflowException if the buffer is too small; nothing is written then
+     */
+    public static void writeDetailedReport(ByteBuffer out, CostQuote quote) {
+        encodeUtf8(appendDetailedReport(scratch(), quote), out);
+    }
+
+    /**
+     * Encodes the detailed cost breakdown of a quote as UTF-8 for a market
+     *
+     * @param out Destination buffer, advanced past the written bytes
+     * @param quote Priced quote
+     * @param locale Locale for currency amounts and numbers
+     * @throws java.nio.BufferOverflowException if the buffer is too small; nothing is written then
+     */
+    public static void writeDetailedReport(ByteBuffer out, CostQuote quote, Locale locale) {
+        encodeUtf8(appendDetailedReport(scratch(), quote, locale), out);
+    }
+
+    /**
+     * Encodes the one-line cost summary of a quote as UTF-8 in the default locale
+     *
+     * @param out Destination buffer, advanced past the written bytes
+     * @param quote Priced quote
+     * @throws java.nio.BufferOverflowException if the buffer is too small; nothing is written then
+     */
+    public static void writeSummary(ByteBuffer out, CostQuote quote) {
+        encodeUtf8(appendSummary(scratch(), quote), out);
+    }
+
+    /**
+     * Encodes the one-line cost summary of a quote as UTF-8 for a market
+     *
+     * @param out Destination buffer, advanced past the written bytes
+     * @param quote Priced quote
+     * @param locale Locale for currency amounts and numbers
+     * @throws java.nio.BufferOverflowException if the buffer is too small; nothing is written then
+     */
+    public static void writeSummary(ByteBuffer out, CostQuote quote, Locale locale) {
+        encodeUtf8(appendSummary(scratch(), quote, locale), out);
+    }
+
+    /**
+     * @return Locale that String.format would use, for the no-locale overloads
+     */
+    static Locale defaultNumberLocale() {
+        return Locale.getDefault(Locale.Category.FORMAT);
+    }
+
+    private static StringBuilder appendDetailedReport(StringBuilder out, CostQuote quote,
+                                                      CurrencyFormatter currency, Locale numberLocale) {
+        return appendDetailedReport(out, currency, numberLocale, quote.getItemName(), quote.getCostPerItem(),
+                                    quote.getQuantity(), quote.getDeliveryCost(), quote.getSubtotal(),
+                                    quote.getDiscountRate(), quote.getDiscountAmount(),
+                                    quote.getTaxRate(), quote.getTaxAmount(), quote.getTotalCost());
+    }
+
+    private static StringBuilder appendSummary(StringBuilder out, CostQuote quote,
+                                               CurrencyFormatter currency, Locale numberLocale) {
+        return appendSummary(out, currency, numberLocale, quote.getTotalCost(), quote.getQuantity(),
+                             quote.getCostPerItem(), quote.getDeliveryCost());
+    }
+
+    static StringBuilder appendDetailedReport(StringBuilder out, CurrencyFormatter currency, Locale numberLocale,
+                                              String itemName, double costPerItem, int quantity,
+                                              double deliveryCost, double subtotal,
+                                              double discountRate, double discountAmount,
+                                              double taxRate, double taxAmount, double totalCost) {
+        boolean plain = isPlain(numberLocale);
+        out.append(REPORT_HEADER);
+
+        if (!itemName.isEmpty()) {
+            out.append("Item Name           : ").append(itemName).append(NEWLINE);
+        }
+        currency.append(out.append("Cost Per Item       : "), costPerItem).append(NEWLINE);
+        out.append("Quantity            : ");
+        appendInteger(out, quantity, numberLocale, plain).append(" items").append(NEWLINE);
+        currency.append(out.append("Items Subtotal      : "), costPerItem * quantity).append(NEWLINE);
+
+        if (deliveryCost > 0) {
+            currency.append(out.append("Delivery Charges    : "), deliveryCost).append(NEWLINE);
+        }
+
+        currency.append(out.append("Subtotal            : "), subtotal).append(NEWLINE);
+
+        if (discountRate > 0) {
+            out.append("Discount (");
+            appendPercent(out, discountRate * 100, numberLocale, plain).append("%)     : -");
+            currency.append(out, discountAmount).append(NEWLINE);
+        }
+
+        if (taxRate > 0) {
+            out.append("Tax (");
+            appendPercent(out, taxRate * 100, numberLocale, plain).append("%)          : ");
+            currency.append(out, taxAmount).append(NEWLINE);
+        }
+
+        out.append(SINGLE_RULE).append('\n');
+        currency.append(out.append("TOTAL COST          : "), totalCost).append(NEWLINE);
+        out.append(DOUBLE_RULE).append('\n');
+        return out;
+    }
+
+    static StringBuilder appendSummary(StringBuilder out, CurrencyFormatter currency, Locale numberLocale,
+                                       double totalCost, int quantity, double costPerItem, double deliveryCost) {
+        currency.append(out.append("Total Cost: "), totalCost).append(" (Items: ");
+        appendInteger(out, quantity, numberLocale, isPlain(numberLocale)).append(" × ");
+        currency.append(out, costPerItem).append(" + Delivery: ");
+        return currency.append(out, deliveryCost).append(')');
+    }
+
+    private static StringBuilder scratch() {
+        StringBuilder scratch = SCRATCH.get();
+        scratch.setLength(0);
+        return scratch;
+    }
+
+    // Same text as String.format(locale, "%d", value)
+    private static StringBuilder appendInteger(StringBuilder out, int value, Locale locale, boolean plain) {
+        return plain ? out.append(value) : out.append(String.format(locale, "%d", value));
+    }
+
+    // Same text as String.format(locale, "%.1f", value): half-up on the shortest decimal representation
+    private static StringBuilder appendPercent(StringBuilder out, double value, Locale locale, boolean plain) {
+        if (plain && value >= 0 && value < 1e9) {
+            double scaled = value * 10;
+            long tenths = (long) scaled;
+            double fraction = scaled - tenths;
+            if (Math.abs(fraction - 0.5) > 4 * Math.ulp(scaled)) {
+                if (fraction > 0.5) {
+                    tenths++;
+                }
+                return out.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+            }
+        }
+        return out.append(String.format(locale, "%.1f", value));
+    }
+
+    // The fast number paths assume ASCII digits and '.' as decimal separator
+    private static boolean isPlain(Locale locale) {
+        Boolean plain = PLAIN_LOCALES.get(locale);
+        if (plain == null) {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            plain = symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() == '.';
+            PLAIN_LOCALES.putIfAbsent(locale, plain);
+        }
+        return plain;
+    }
+
+    // Checks the space first, so a report that does not fit leaves the buffer untouched
+    private static void encodeUtf8(CharSequence text, ByteBuffer out) {
+        int length = text.length();
+        // No char takes more than 3 bytes, so most buffers pass without counting
+        if (out.remaining() < 3L * length && out.remaining() < utf8Length(text)) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?'); // Unpaired surrogate, as String.getBytes(UTF_8) does
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int utf8Length(CharSequence text) {
+        int length = text.length();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
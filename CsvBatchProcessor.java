@@ -0,0 +1,213 @@
+package Professional_Cost_Calculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Non-interactive batch pricing of delimited line-item files
+ *
+ * Features:
+ * - Streams the input in fixed-size chunks, so memory use is bounded
+ *   regardless of file size
+ * - Validates each row once as it is read, then prices the chunk through
+ *   the vector kernel; priced rows are journaled and counted in the metrics
+ * - Item names are trimmed, and blank names become "Item", as in the engine
+ * - Writes the input columns followed by subtotal, discountAmount,
+ *   taxAmount and totalCost
+ * - Invalid and malformed rows are reported and skipped; the rest of the
+ *   file is priced. Rows are checked with status codes, so rejecting a row
+ *   throws nothing
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public class CsvBatchProcessor {
+    private static final int DEFAULT_CHUNK_SIZE = 8_192;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    // Distinct item names shared per input; further names are kept per row
+    private static final int MAX_SHARED_NAMES = 1 << 16;
+    private static final String[] OUTPUT_COLUMNS = {
+        "itemName", "costPerItem", "quantity", "deliveryCost", "taxRate", "discountRate",
+        "subtotal", "discountAmount", "taxAmount", "totalCost"
+    };
+
+    private final char delimiter;
+    private final PrintStream errors;
+    private final LineItemBatch batch;
+    private final String[] itemNames;
+    private final StringBuilder row = new StringBuilder(256);
+
+    private long rowsPriced;
+    private long rowsRejected;
+
+    /**
+     * @param delimiter Column separator (',' for CSV, '\t' for TSV)
+     * @param errors Stream that receives one message per rejected row
+     */
+    public CsvBatchProcessor(char delimiter, PrintStream errors) {
+        this(delimiter, errors, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param delimiter Column separator (',' for CSV, '\t' for TSV)
+     * @param errors Stream that receives one message per rejected row
+     * @param chunkSize Number of rows priced together
+     * @throws IllegalArgumentException if chunkSize is less than 1
+     */
+    public CsvBatchProcessor(char delimiter, PrintStream errors, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.delimiter = delimiter;
+        this.errors = errors;
+        this.batch = new LineItemBatch(chunkSize);
+        this.itemNames = new String[chunkSize];
+    }
+
+    /**
+     * Chooses the delimiter from a file name: tab for .tsv/.tab, comma otherwise
+     *
+     * @param file Input file
+     * @return Column separator
+     */
+    public static char delimiterFor(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".tsv") || name.endsWith(".tab") ? '\t' : ',';
+    }
+
+    /**
+     * Prices every row of the input file into the output file
+     *
+     * @param input Delimited line-item file
+     * @param output Destination for priced rows (overwritten)
+     * @throws IOException if reading or writing fails
+     */
+    public void process(Path input, Path output) throws IOException {
+        try (BufferedReader in = new BufferedReader(
+                 new InputStreamReader(Files.newInputStream(input), StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+             Writer out = new BufferedWriter(
+                 new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.UTF_8), IO_BUFFER_SIZE)) {
+            process(in, out);
+        }
+    }
+
+    /**
+     * Prices every row read from a reader into a writer
+     *
+     * @param in Source of delimited text
+     * @param out Destination for priced rows
+     * @throws IOException if reading or writing fails
+     */
+    public void process(BufferedReader in, Writer out) throws IOException {
+        // Names repeat across rows; the dictionary lives only as long as this input
+        LineItemCsvReader reader = new LineItemCsvReader(in, delimiter, new ItemNameDictionary(MAX_SHARED_NAMES));
+        // One configuration for the whole input, even if it is reloaded meanwhile
+        RateConfiguration config = RateConfiguration.current();
+        writeHeader(out);
+
+        while (reader.next()) {
+            if (reader.getStatus() != ValidationError.VALID) {
+                PricingMetrics.recordRejection(ValidationError.MALFORMED_INPUT);
+                reject(reader.getLineNumber(), reader.getStatus(), config);
+                continue;
+            }
+            int error = CostCalculationEngine.validate(config, reader.getCostPerItem(), reader.getQuantity(),
+                                                       reader.getDeliveryCost(), reader.getTaxRate(),
+                                                       reader.getDiscountRate());
+            if (error != ValidationError.VALID) {
+                reject(reader.getLineNumber(), error, config);
+                continue;
+            }
+            int index = batch.add(reader.getCostPerItem(), reader.getQuantity(), reader.getDeliveryCost(),
+                                  reader.getTaxRate(), reader.getDiscountRate());
+            itemNames[index] = CostCalculationEngine.normalizeItemName(reader.getItemName());
+            if (batch.isFull()) {
+                flush(out);
+            }
+        }
+        flush(out);
+        out.flush();
+    }
+
+    private void flush(Writer out) throws IOException {
+        if (batch.size() == 0) {
+            return;
+        }
+        // Every row was validated against the input's configuration when it was added
+        CostCalculationEngine.calculateValidatedBatch(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            writeRow(out, i);
+            itemNames[i] = null;
+        }
+        rowsPriced += batch.size();
+        batch.clear();
+    }
+
+    private void writeHeader(Writer out) throws IOException {
+        row.setLength(0);
+        for (int i = 0; i < OUTPUT_COLUMNS.length; i++) {
+            if (i > 0) {
+                row.append(delimiter);
+            }
+            row.append(OUTPUT_COLUMNS[i]);
+        }
+        row.append('\n');
+        out.append(row);
+    }
+
+    private void writeRow(Writer out, int i) throws IOException {
+        row.setLength(0);
+        appendItemName(itemNames[i]);
+        row.append(delimiter).append(batch.getCostPerItem()[i]);
+        row.append(delimiter).append(batch.getQuantity()[i]);
+        row.append(delimiter).append(batch.getDeliveryCost()[i]);
+        row.append(delimiter).append(batch.getTaxRate()[i]);
+        row.append(delimiter).append(batch.getDiscountRate()[i]);
+        row.append(delimiter).append(batch.getSubtotal()[i]);
+        row.append(delimiter).append(batch.getDiscountAmount()[i]);
+        row.append(delimiter).append(batch.getTaxAmount()[i]);
+        row.append(delimiter).append(batch.getTotalCost()[i]);
+        row.append('\n');
+        out.append(row);
+    }
+
+    // Quotes the name only when it contains the delimiter, a quote or a line break
+    private void appendItemName(String name) {
+        boolean needsQuotes = name.indexOf(delimiter) >= 0 || name.indexOf('"') >= 0
+                              || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            row.append(name);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    // Renders the message only if someone is listening
+    private void reject(long lineNumber, int error, RateConfiguration config) {
+        rowsRejected++;
+        if (errors != null) {
+            errors.println("❌ Line " + lineNumber + ": "
+                           + CostCalculationEngine.messageFor(ValidationError.fromCode(error), config));
+        }
+    }
+
+    // Statistics for the rows processed so far
+    public long getRowsPriced() { return rowsPriced; }
+    public long getRowsRejected() { return rowsRejected; }
+}
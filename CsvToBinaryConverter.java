@@ -0,0 +1,106 @@
+package Professional_Cost_Calculator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts delimited (CSV/TSV) line-item files to the binary record format
+ *
+ * Writes the record file and, next to it, the item-name dictionary
+ * ({@code <output>.names}). Invalid rows are reported and skipped, so the
+ * record file only holds rows that the engine will accept.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public class CsvToBinaryConverter {
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final char delimiter;
+    private final PrintStream errors;
+
+    private long rowsWritten;
+    private long rowsRejected;
+
+    /**
+     * @param delimiter Column separator (',' for CSV, '\t' for TSV)
+     * @param errors Stream that receives one message per rejected row
+     */
+    public CsvToBinaryConverter(char delimiter, PrintStream errors) {
+        this.delimiter = delimiter;
+        this.errors = errors;
+    }
+
+    /**
+     * @param recordFile Binary record file
+     * @return Path of the item-name dictionary that accompanies it
+     */
+    public static Path dictionaryFileFor(Path recordFile) {
+        Path name = Paths.get(recordFile.getFileName() + LineItemRecordFormat.DICTIONARY_SUFFIX);
+        Path parent = recordFile.getParent();
+        return parent == null ? name : parent.resolve(name);
+    }
+
+    /**
+     * Converts a delimited file into a record file and its dictionary
+     *
+     * @param input Delimited line-item file
+     * @param output Binary record file (overwritten)
+     * @throws IOException if reading or writing fails
+     */
+    public void convert(Path input, Path output) throws IOException {
+        ItemNameDictionary dictionary = new ItemNameDictionary();
+        try (LineItemCsvReader reader = new LineItemCsvReader(new BufferedReader(
+                 new InputStreamReader(Files.newInputStream(input), StandardCharsets.UTF_8), IO_BUFFER_SIZE), delimiter);
+             LineItemRecordWriter writer = new LineItemRecordWriter(output)) {
+            while (reader.next()) {
+                if (reader.getStatus() != ValidationError.VALID) {
+                    PricingMetrics.recordRejection(ValidationError.MALFORMED_INPUT);
+                    reject(reader.getLineNumber(), reader.getStatus());
+                    continue;
+                }
+                int error = CostCalculationEngine.validate(reader.getCostPerItem(), reader.getQuantity(),
+                                                           reader.getDeliveryCost(), reader.getTaxRate(),
+                                                           reader.getDiscountRate());
+                if (error != ValidationError.VALID) {
+                    reject(reader.getLineNumber(), error);
+                    continue;
+                }
+                try {
+                    int nameId = dictionary.idOf(reader.getItemName());
+                    writer.write(nameId, reader.getCostPerItem(), reader.getQuantity(), reader.getDeliveryCost(),
+                                 reader.getTaxRate(), reader.getDiscountRate());
+                    rowsWritten++;
+                } catch (IllegalArgumentException e) {
+                    reject("Line " + reader.getLineNumber() + ": " + e.getMessage());
+                }
+            }
+        }
+        dictionary.writeTo(dictionaryFileFor(output));
+    }
+
+    // Renders the message only if someone is listening
+    private void reject(long lineNumber, int error) {
+        rowsRejected++;
+        if (errors != null) {
+            errors.println("❌ Line " + lineNumber + ": " + ValidationError.fromCode(error).getMessage());
+        }
+    }
+
+    private void reject(String message) {
+        rowsRejected++;
+        if (errors != null) {
+            errors.println("❌ " + message);
+        }
+    }
+
+    // Statistics for the rows converted so far
+    public long getRowsWritten() { return rowsWritten; }
+    public long getRowsRejected() { return rowsRejected; }
+}
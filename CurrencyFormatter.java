@@ -0,0 +1,203 @@
+package Professional_Cost_Calculator;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe, allocation-free currency formatting for any locale
+ *
+ * Features:
+ * - Immutable formatter per locale, shared by all threads without locking
+ * - Produces exactly the same text as {@code NumberFormat.getCurrencyInstance(locale)}
+ * - Common amounts are rendered by hand straight into a StringBuilder
+ * - Amounts that are negative, very large, not finite, or within rounding
+ *   error of a tie are delegated to a NumberFormat cached per thread and
+ *   per locale, so no NumberFormat is ever shared between threads
+ *
+ * The hand-rolled path is derived from the locale's DecimalFormat pattern
+ * and verified against it when the formatter is created; locales whose
+ * pattern it cannot reproduce always use the per-thread NumberFormat.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class CurrencyFormatter {
+    /** Locale used when none is given */
+    public static final Locale DEFAULT_LOCALE = new Locale("en", "PK");
+
+    private static final ConcurrentHashMap<Locale, CurrencyFormatter> FORMATTERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Locale, NumberFormat>> THREAD_FORMATS = ThreadLocal.withInitial(HashMap::new);
+
+    // Largest amount rendered by hand; beyond this a double has too few fraction bits
+    private static final double MAX_FAST_AMOUNT = 1e13;
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+
+    private final Locale locale;
+    private final String prefix;
+    private final String suffix;
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final long groupDivisor; // 10^groupingSize, or 0 without grouping
+    private final int fractionDigits;
+    private final boolean fastPathEnabled;
+
+    private CurrencyFormatter(Locale locale) {
+        this.locale = locale;
+        NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+        String positivePrefix = "";
+        String positiveSuffix = "";
+        char grouping = ',';
+        char decimal = '.';
+        int size = 0;
+        int digits = 2;
+        boolean supported = false;
+        if (format instanceof DecimalFormat) {
+            DecimalFormat decimalFormat = (DecimalFormat) format;
+            DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+            positivePrefix = decimalFormat.getPositivePrefix();
+            positiveSuffix = decimalFormat.getPositiveSuffix();
+            grouping = symbols.getMonetaryGroupingSeparator();
+            decimal = symbols.getMonetaryDecimalSeparator();
+            size = decimalFormat.isGroupingUsed() ? decimalFormat.getGroupingSize() : 0;
+            digits = decimalFormat.getMaximumFractionDigits();
+            supported = decimalFormat.getMinimumFractionDigits() == digits
+                        && digits < POWERS_OF_TEN.length
+                        && size < POWERS_OF_TEN.length
+                        && decimalFormat.getRoundingMode() == RoundingMode.HALF_EVEN
+                        && decimalFormat.getMultiplier() == 1
+                        && symbols.getZeroDigit() == '0';
+        }
+        this.prefix = positivePrefix;
+        this.suffix = positiveSuffix;
+        this.groupingSeparator = grouping;
+        this.decimalSeparator = decimal;
+        this.groupDivisor = size > 0 && size < POWERS_OF_TEN.length ? POWERS_OF_TEN[size] : 0;
+        this.fractionDigits = digits;
+        this.fastPathEnabled = supported && selfCheck(format);
+    }
+
+    /**
+     * Returns the shared formatter for a locale
+     *
+     * @param locale Locale whose currency conventions are used
+     * @return Immutable, thread-safe formatter
+     */
+    public static CurrencyFormatter forLocale(Locale locale) {
+        CurrencyFormatter formatter = FORMATTERS.get(locale);
+        return formatter != null ? formatter : FORMATTERS.computeIfAbsent(locale, CurrencyFormatter::new);
+    }
+
+    /**
+     * @return The shared formatter for {@link #DEFAULT_LOCALE}
+     */
+    public static CurrencyFormatter getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    // Builds the default formatter on first use, so runs that never format skip the locale data
+    private static final class DefaultHolder {
+        static final CurrencyFormatter DEFAULT = forLocale(DEFAULT_LOCALE);
+    }
+
+    public Locale getLocale() { return locale; }
+
+    /**
+     * Formats an amount as a new string
+     *
+     * @param amount Amount in major units
+     * @return Formatted amount, e.g. "Rs1,234.50"
+     */
+    public String format(double amount) {
+        return append(new StringBuilder(24), amount).toString();
+    }
+
+    /**
+     * Appends a formatted amount
+     *
+     * @param out Destination
+     * @param amount Amount in major units
+     * @return The destination, for chaining
+     */
+    public StringBuilder append(StringBuilder out, double amount) {
+        if (fastPathEnabled && appendFast(out, amount)) {
+            return out;
+        }
+        return out.append(threadFormat().format(amount));
+    }
+
+    // Per-thread NumberFormat for amounts the fast path does not handle
+    private NumberFormat threadFormat() {
+        Map<Locale, NumberFormat> formats = THREAD_FORMATS.get();
+        NumberFormat format = formats.get(locale);
+        if (format == null) {
+            format = NumberFormat.getCurrencyInstance(locale);
+            formats.put(locale, format);
+        }
+        return format;
+    }
+
+    // Returns false (having appended nothing) when the amount needs the NumberFormat
+    private boolean appendFast(StringBuilder out, double amount) {
+        if (!(amount >= 0 && amount < MAX_FAST_AMOUNT) || Double.doubleToRawLongBits(amount) < 0) {
+            // Negative (including -0.0), huge or not a number
+            return false;
+        }
+        long unitsPerMajor = POWERS_OF_TEN[fractionDigits];
+        double scaled = amount * unitsPerMajor;
+        long minorUnits = (long) scaled;
+        double fraction = scaled - minorUnits;
+        if (Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) {
+            // Too close to a tie to round reliably from the scaled value
+            return false;
+        }
+        if (fraction > 0.5) {
+            minorUnits++;
+        }
+        out.append(prefix);
+        appendGrouped(out, minorUnits / unitsPerMajor);
+        if (fractionDigits > 0) {
+            out.append(decimalSeparator);
+            long fractionValue = minorUnits % unitsPerMajor;
+            for (long digit = unitsPerMajor / 10; digit > 1 && fractionValue < digit; digit /= 10) {
+                out.append('0');
+            }
+            out.append(fractionValue);
+        }
+        out.append(suffix);
+        return true;
+    }
+
+    private void appendGrouped(StringBuilder out, long value) {
+        if (value < groupDivisor || groupDivisor == 0) {
+            out.append(value);
+            return;
+        }
+        appendGrouped(out, value / groupDivisor);
+        out.append(groupingSeparator);
+        long group = value % groupDivisor;
+        for (long digit = groupDivisor / 10; digit > 1 && group < digit; digit /= 10) {
+            out.append('0');
+        }
+        out.append(group);
+    }
+
+    // Confirms the hand-rolled output matches the JDK's locale data
+    private boolean selfCheck(NumberFormat reference) {
+        double[] samples = {0.0, -0.0, 0.01, 0.07, 0.5, 9.99, 12.5, 100.0, 999.995, 1000.0, 1234.5, 38.394,
+                            10203.04, 1234567.89, 987654321.01, 1000000000000.0};
+        StringBuilder fast = new StringBuilder(32);
+        for (double sample : samples) {
+            fast.setLength(0);
+            if (appendFast(fast, sample) && !fast.toString().equals(reference.format(sample))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
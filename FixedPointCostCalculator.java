@@ -0,0 +1,311 @@
+package Professional_Cost_Calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Exact fixed-point cost calculation on scaled long amounts
+ *
+ * Features:
+ * - Amounts in minor units (paisa, 100 per rupee), rates in basis points
+ * - Explicit rounding mode for the discount and tax amounts
+ * - No BigDecimal allocation unless an amount overflows a long
+ * - Same pricing order as CostCalculationEngine: discount on the subtotal,
+ *   tax on the discounted amount
+ *
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class FixedPointCostCalculator {
+    public static final int MINOR_UNITS_SCALE = 2; // 100 paisa per rupee
+    public static final int BASIS_POINTS_PER_UNIT = 10_000; // 10,000 bp = 100%
+
+    // Limits mirroring CostCalculationEngine's validation
+    private static final long MIN_COST_MINOR = 1; // Rs0.01
+    private static final int MIN_QUANTITY = 1;
+    private static final int MAX_TAX_RATE_BASIS_POINTS = BASIS_POINTS_PER_UNIT; // 100%
+    private static final int MAX_DISCOUNT_RATE_BASIS_POINTS = 5_000; // 50%
+
+    private static final BigInteger BASIS_POINTS_DIVISOR = BigInteger.valueOf(BASIS_POINTS_PER_UNIT);
+
+    // Largest subtotal whose discount, tax and total cannot overflow a long
+    private static final long MAX_SAFE_SUBTOTAL_MINOR = Long.MAX_VALUE / BASIS_POINTS_PER_UNIT;
+
+    private final RoundingMode roundingMode;
+
+    /**
+     * Creates a calculator that rounds half-even (banker's rounding)
+     */
+    public FixedPointCostCalculator() {
+        this(RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Creates a calculator with an explicit rounding mode
+     *
+     * @param roundingMode Rounding applied to discount and tax amounts
+     * @throws IllegalArgumentException if roundingMode is null
+     */
+    public FixedPointCostCalculator(RoundingMode roundingMode) {
+        if (roundingMode == null) {
+            throw new IllegalArgumentException("Rounding mode cannot be null");
+        }
+        this.roundingMode = roundingMode;
+    }
+
+    public RoundingMode getRoundingMode() { return roundingMode; }
+
+    /**
+     * Calculates an exact quote
+     *
+     * @param costPerItemMinor Cost per item in minor units
+     * @param quantity Number of items
+     * @param deliveryCostMinor Delivery charges in minor units
+     * @param taxRateBasisPoints Tax rate in basis points (800 for 8%)
+     * @param discountRateBasisPoints Discount rate in basis points (1000 for 10%)
+     * @return Immutable quote; overflowed quotes carry BigDecimal amounts
+     * @throws IllegalArgumentException if parameters are invalid
+     * @throws ArithmeticException if the rounding mode is UNNECESSARY and rounding is required
+     */
+    public FixedPointQuote quote(long costPerItemMinor, int quantity, long deliveryCostMinor,
+                                 int taxRateBasisPoints, int discountRateBasisPoints) {
+        long start = PricingMetrics.startTimer();
+        validate(costPerItemMinor, quantity, deliveryCostMinor, taxRateBasisPoints, discountRateBasisPoints);
+        FixedPointQuote quote = price(costPerItemMinor, quantity, deliveryCostMinor,
+                                      taxRateBasisPoints, discountRateBasisPoints);
+        PricingMetrics.recordCalculation(PricingMode.FIXED_POINT, 1, start);
+        return quote;
+    }
+
+    // Prices already-validated inputs, falling back to BigDecimal on overflow
+    private FixedPointQuote price(long costPerItemMinor, int quantity, long deliveryCostMinor,
+                                  int taxRateBasisPoints, int discountRateBasisPoints) {
+        long subtotal = subtotalOf(costPerItemMinor, quantity, deliveryCostMinor);
+        if (subtotal >= 0) {
+            long discount = applyRate(subtotal, discountRateBasisPoints);
+            if (discount >= 0) {
+                long afterDiscount = subtotal - discount;
+                long tax = applyRate(afterDiscount, taxRateBasisPoints);
+                if (tax >= 0 && afterDiscount <= Long.MAX_VALUE - tax) {
+                    return new FixedPointQuote(costPerItemMinor, quantity, deliveryCostMinor,
+                                               taxRateBasisPoints, discountRateBasisPoints,
+                                               subtotal, discount, tax, afterDiscount + tax);
+                }
+            }
+        }
+        return quoteWithBigDecimal(costPerItemMinor, quantity, deliveryCostMinor,
+                                   taxRateBasisPoints, discountRateBasisPoints);
+    }
+
+    /**
+     * Prices a batch of rows held in parallel primitive arrays
+     *
+     * Every row must fit the long minor-unit range; use {@link #quote} for
+     * individual rows that may overflow. All rows are validated and checked
+     * for overflow before any output is written, so a failed batch leaves the
+     * outputs untouched.
+     *
+     * @param costPerItemMinor Cost per item in minor units, per row
+     * @param quantity Number of items, per row
+     * @param deliveryCostMinor Delivery charges in minor units, per row
+     * @param taxRateBasisPoints Tax rate in basis points, per row
+     * @param discountRateBasisPoints Discount rate in basis points, per row
+     * @param subtotalMinor Output: items + delivery, per row
+     * @param discountAmountMinor Output: discount amount, per row
+     * @param taxAmountMinor Output: tax amount, per row
+     * @param totalCostMinor Output: final total, per row
+     * @param offset Index of the first row to price
+     * @param length Number of rows to price
+     * @throws IllegalArgumentException if any row is invalid
+     * @throws ArithmeticException if a row overflows the long range, or the rounding mode is
+     *         UNNECESSARY and a row needs rounding
+     */
+    public void calculateBatch(long[] costPerItemMinor, int[] quantity, long[] deliveryCostMinor,
+                               int[] taxRateBasisPoints, int[] discountRateBasisPoints,
+                               long[] subtotalMinor, long[] discountAmountMinor,
+                               long[] taxAmountMinor, long[] totalCostMinor,
+                               int offset, int length) {
+        long start = PricingMetrics.startTimer();
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            try {
+                validate(costPerItemMinor[i], quantity[i], deliveryCostMinor[i],
+                         taxRateBasisPoints[i], discountRateBasisPoints[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Row " + i + ": " + e.getMessage());
+            }
+            checkLongRange(i, costPerItemMinor[i], quantity[i], deliveryCostMinor[i],
+                           taxRateBasisPoints[i], discountRateBasisPoints[i]);
+        }
+
+        // Every row was checked above, so nothing here can throw
+        for (int i = offset; i < end; i++) {
+            long subtotal = subtotalOf(costPerItemMinor[i], quantity[i], deliveryCostMinor[i]);
+            long discount = applyRate(subtotal, discountRateBasisPoints[i]);
+            long afterDiscount = subtotal - discount;
+            long tax = applyRate(afterDiscount, taxRateBasisPoints[i]);
+            subtotalMinor[i] = subtotal;
+            discountAmountMinor[i] = discount;
+            taxAmountMinor[i] = tax;
+            totalCostMinor[i] = afterDiscount + tax;
+        }
+        PricingMetrics.recordCalculation(PricingMode.FIXED_POINT_BATCH, length, start);
+    }
+
+    // Throws if pricing the row would overflow a long or need rounding under UNNECESSARY;
+    // rows with a small subtotal are cleared without working out the amounts
+    private void checkLongRange(int row, long costPerItemMinor, int quantity, long deliveryCostMinor,
+                                int taxRateBasisPoints, int discountRateBasisPoints) {
+        long subtotal = subtotalOf(costPerItemMinor, quantity, deliveryCostMinor);
+        if (subtotal >= 0 && subtotal <= MAX_SAFE_SUBTOTAL_MINOR && roundingMode != RoundingMode.UNNECESSARY) {
+            return;
+        }
+        long discount;
+        long afterDiscount;
+        long tax;
+        try {
+            discount = subtotal < 0 ? -1 : applyRate(subtotal, discountRateBasisPoints);
+            afterDiscount = subtotal - discount;
+            tax = discount < 0 ? -1 : applyRate(afterDiscount, taxRateBasisPoints);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Row " + row + ": " + e.getMessage());
+        }
+        if (tax < 0 || afterDiscount > Long.MAX_VALUE - tax) {
+            throw new ArithmeticException("Row " + row + ": amount exceeds the long minor-unit range");
+        }
+    }
+
+    /**
+     * Converts a decimal amount to minor units with this calculator's rounding mode
+     *
+     * @param amount Amount in major units (rupees)
+     * @return Amount in minor units (paisa)
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public long toMinorUnits(double amount) {
+        return BigDecimal.valueOf(amount).setScale(MINOR_UNITS_SCALE, roundingMode).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a decimal rate to basis points with this calculator's rounding mode
+     *
+     * @param rate Rate as decimal (e.g., 0.08 for 8%)
+     * @return Rate in basis points (e.g., 800)
+     * @throws ArithmeticException if the rate does not fit in an int
+     */
+    public int toBasisPoints(double rate) {
+        return BigDecimal.valueOf(rate).movePointRight(4).setScale(0, roundingMode).intValueExact();
+    }
+
+    /**
+     * Converts minor units back to a decimal amount in major units
+     *
+     * @param minorUnits Amount in minor units (paisa)
+     * @return Amount in major units with scale 2
+     */
+    public static BigDecimal toMajorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNITS_SCALE);
+    }
+
+    private static void validate(long costPerItemMinor, int quantity, long deliveryCostMinor,
+                                 int taxRateBasisPoints, int discountRateBasisPoints) {
+        if (costPerItemMinor < MIN_COST_MINOR) {
+            PricingMetrics.recordRejection(ValidationError.COST_BELOW_MINIMUM);
+            throw new IllegalArgumentException(
+                "Cost per item must be at least " + toMajorUnits(MIN_COST_MINOR));
+        }
+        if (quantity < MIN_QUANTITY) {
+            PricingMetrics.recordRejection(ValidationError.QUANTITY_BELOW_MINIMUM);
+            throw new IllegalArgumentException(
+                String.format("Quantity must be at least %d", MIN_QUANTITY));
+        }
+        if (deliveryCostMinor < 0) {
+            PricingMetrics.recordRejection(ValidationError.NEGATIVE_DELIVERY_COST);
+            throw new IllegalArgumentException("Delivery cost cannot be negative");
+        }
+        if (taxRateBasisPoints < 0 || taxRateBasisPoints > MAX_TAX_RATE_BASIS_POINTS) {
+            PricingMetrics.recordRejection(ValidationError.TAX_RATE_OUT_OF_RANGE);
+            throw new IllegalArgumentException(
+                String.format("Tax rate must be between 0 and %d basis points", MAX_TAX_RATE_BASIS_POINTS));
+        }
+        if (discountRateBasisPoints < 0 || discountRateBasisPoints > MAX_DISCOUNT_RATE_BASIS_POINTS) {
+            PricingMetrics.recordRejection(ValidationError.DISCOUNT_RATE_OUT_OF_RANGE);
+            throw new IllegalArgumentException(
+                String.format("Discount rate must be between 0 and %d basis points", MAX_DISCOUNT_RATE_BASIS_POINTS));
+        }
+    }
+
+    // Returns costPerItem * quantity + delivery, or -1 if it overflows a long
+    private static long subtotalOf(long costPerItemMinor, int quantity, long deliveryCostMinor) {
+        long high = Math.multiplyHigh(costPerItemMinor, quantity);
+        long items = costPerItemMinor * quantity;
+        if (high != 0 || items < 0 || items > Long.MAX_VALUE - deliveryCostMinor) {
+            return -1;
+        }
+        return items + deliveryCostMinor;
+    }
+
+    // Returns round(amount * basisPoints / 10,000), or -1 if the product overflows a long
+    private long applyRate(long amountMinor, int basisPoints) {
+        long high = Math.multiplyHigh(amountMinor, basisPoints);
+        long product = amountMinor * basisPoints;
+        if (high != 0 || product < 0) {
+            return -1;
+        }
+        return divideRounded(product, BASIS_POINTS_PER_UNIT, roundingMode);
+    }
+
+    // Rounded division of a non-negative dividend by a positive divisor
+    static long divideRounded(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - quotient * divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        switch (mode) {
+            case DOWN:
+            case FLOOR:
+                return quotient;
+            case UP:
+            case CEILING:
+                return quotient + 1;
+            case HALF_UP:
+                return remainder >= divisor - remainder ? quotient + 1 : quotient;
+            case HALF_DOWN:
+                return remainder > divisor - remainder ? quotient + 1 : quotient;
+            case HALF_EVEN:
+                long twice = remainder - (divisor - remainder);
+                return twice > 0 || (twice == 0 && (quotient & 1) == 1) ? quotient + 1 : quotient;
+            case UNNECESSARY:
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+    }
+
+    // Overflow fallback: the same calculation with arbitrary precision
+    private FixedPointQuote quoteWithBigDecimal(long costPerItemMinor, int quantity, long deliveryCostMinor,
+                                                int taxRateBasisPoints, int discountRateBasisPoints) {
+        BigInteger subtotal = BigInteger.valueOf(costPerItemMinor)
+            .multiply(BigInteger.valueOf(quantity))
+            .add(BigInteger.valueOf(deliveryCostMinor));
+        BigInteger discount = applyRate(subtotal, discountRateBasisPoints);
+        BigInteger afterDiscount = subtotal.subtract(discount);
+        BigInteger tax = applyRate(afterDiscount, taxRateBasisPoints);
+        BigInteger total = afterDiscount.add(tax);
+        return new FixedPointQuote(costPerItemMinor, quantity, deliveryCostMinor,
+                                   taxRateBasisPoints, discountRateBasisPoints,
+                                   new BigDecimal(subtotal, MINOR_UNITS_SCALE),
+                                   new BigDecimal(discount, MINOR_UNITS_SCALE),
+                                   new BigDecimal(tax, MINOR_UNITS_SCALE),
+                                   new BigDecimal(total, MINOR_UNITS_SCALE));
+    }
+
+    private BigInteger applyRate(BigInteger amountMinor, int basisPoints) {
+        return new BigDecimal(amountMinor.multiply(BigInteger.valueOf(basisPoints)))
+            .divide(new BigDecimal(BASIS_POINTS_DIVISOR), 0, roundingMode)
+            .toBigIntegerExact();
+    }
+}
@@ -0,0 +1,148 @@
+package Professional_Cost_Calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable result of an exact fixed-point cost calculation
+ *
+ * Amounts are held as {@code long} minor units (paisa) and rates as basis
+ * points. When an amount does not fit in a {@code long}, the quote is
+ * marked as overflowed and carries {@link BigDecimal} amounts instead; the
+ * minor-unit getters then throw {@link ArithmeticException}.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class FixedPointQuote {
+    private final long costPerItemMinor;
+    private final int quantity;
+    private final long deliveryCostMinor;
+    private final int taxRateBasisPoints;
+    private final int discountRateBasisPoints;
+    private final long subtotalMinor;
+    private final long discountAmountMinor;
+    private final long taxAmountMinor;
+    private final long totalCostMinor;
+
+    // Only set when the amounts overflowed a long (scale 2, major units)
+    private final BigDecimal subtotalExact;
+    private final BigDecimal discountAmountExact;
+    private final BigDecimal taxAmountExact;
+    private final BigDecimal totalCostExact;
+
+    FixedPointQuote(long costPerItemMinor, int quantity, long deliveryCostMinor,
+                    int taxRateBasisPoints, int discountRateBasisPoints,
+                    long subtotalMinor, long discountAmountMinor, long taxAmountMinor, long totalCostMinor) {
+        this.costPerItemMinor = costPerItemMinor;
+        this.quantity = quantity;
+        this.deliveryCostMinor = deliveryCostMinor;
+        this.taxRateBasisPoints = taxRateBasisPoints;
+        this.discountRateBasisPoints = discountRateBasisPoints;
+        this.subtotalMinor = subtotalMinor;
+        this.discountAmountMinor = discountAmountMinor;
+        this.taxAmountMinor = taxAmountMinor;
+        this.totalCostMinor = totalCostMinor;
+        this.subtotalExact = null;
+        this.discountAmountExact = null;
+        this.taxAmountExact = null;
+        this.totalCostExact = null;
+    }
+
+    FixedPointQuote(long costPerItemMinor, int quantity, long deliveryCostMinor,
+                    int taxRateBasisPoints, int discountRateBasisPoints,
+                    BigDecimal subtotal, BigDecimal discountAmount, BigDecimal taxAmount, BigDecimal totalCost) {
+        this.costPerItemMinor = costPerItemMinor;
+        this.quantity = quantity;
+        this.deliveryCostMinor = deliveryCostMinor;
+        this.taxRateBasisPoints = taxRateBasisPoints;
+        this.discountRateBasisPoints = discountRateBasisPoints;
+        this.subtotalMinor = 0L;
+        this.discountAmountMinor = 0L;
+        this.taxAmountMinor = 0L;
+        this.totalCostMinor = 0L;
+        this.subtotalExact = subtotal;
+        this.discountAmountExact = discountAmount;
+        this.taxAmountExact = taxAmount;
+        this.totalCostExact = totalCost;
+    }
+
+    /**
+     * @return true if the amounts exceeded the long range and are only
+     *         available through the BigDecimal getters
+     */
+    public boolean isOverflow() {
+        return totalCostExact != null;
+    }
+
+    // Input getters
+    public long getCostPerItemMinor() { return costPerItemMinor; }
+    public int getQuantity() { return quantity; }
+    public long getDeliveryCostMinor() { return deliveryCostMinor; }
+    public int getTaxRateBasisPoints() { return taxRateBasisPoints; }
+    public int getDiscountRateBasisPoints() { return discountRateBasisPoints; }
+
+    // Minor-unit getters for the computed amounts
+    public long getSubtotalMinor() { return requireMinor(subtotalMinor); }
+    public long getDiscountAmountMinor() { return requireMinor(discountAmountMinor); }
+    public long getTaxAmountMinor() { return requireMinor(taxAmountMinor); }
+    public long getTotalCostMinor() { return requireMinor(totalCostMinor); }
+
+    // Major-unit getters (scale 2), valid whether or not the quote overflowed
+    public BigDecimal getSubtotal() { return exact(subtotalExact, subtotalMinor); }
+    public BigDecimal getDiscountAmount() { return exact(discountAmountExact, discountAmountMinor); }
+    public BigDecimal getTaxAmount() { return exact(taxAmountExact, taxAmountMinor); }
+    public BigDecimal getTotalCost() { return exact(totalCostExact, totalCostMinor); }
+
+    private long requireMinor(long value) {
+        if (isOverflow()) {
+            throw new ArithmeticException("Amount exceeds the long minor-unit range; use the BigDecimal getters");
+        }
+        return value;
+    }
+
+    private static BigDecimal exact(BigDecimal overflowValue, long minorValue) {
+        return overflowValue != null ? overflowValue : FixedPointCostCalculator.toMajorUnits(minorValue);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FixedPointQuote)) {
+            return false;
+        }
+        FixedPointQuote that = (FixedPointQuote) other;
+        return costPerItemMinor == that.costPerItemMinor
+            && quantity == that.quantity
+            && deliveryCostMinor == that.deliveryCostMinor
+            && taxRateBasisPoints == that.taxRateBasisPoints
+            && discountRateBasisPoints == that.discountRateBasisPoints
+            && getTotalCost().equals(that.getTotalCost())
+            && getTaxAmount().equals(that.getTaxAmount())
+            && getDiscountAmount().equals(that.getDiscountAmount());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(costPerItemMinor);
+        result = 31 * result + quantity;
+        result = 31 * result + Long.hashCode(deliveryCostMinor);
+        result = 31 * result + taxRateBasisPoints;
+        result = 31 * result + discountRateBasisPoints;
+        return 31 * result + (isOverflow() ? totalCostExact.hashCode() : Long.hashCode(totalCostMinor));
+    }
+
+    @Override
+    public String toString() {
+        return "FixedPointQuote[costPerItem=" + FixedPointCostCalculator.toMajorUnits(costPerItemMinor)
+            + ", quantity=" + quantity
+            + ", deliveryCost=" + FixedPointCostCalculator.toMajorUnits(deliveryCostMinor)
+            + ", taxRateBasisPoints=" + taxRateBasisPoints
+            + ", discountRateBasisPoints=" + discountRateBasisPoints
+            + ", subtotal=" + getSubtotal()
+            + ", discountAmount=" + getDiscountAmount()
+            + ", taxAmount=" + getTaxAmount()
+            + ", totalCost=" + getTotalCost() + "]";
+    }
+}
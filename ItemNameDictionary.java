@@ -0,0 +1,208 @@
+package Professional_Cost_Calculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary that maps item names to dense int ids
+ *
+ * Ids are assigned in first-seen order starting at 0. The dictionary is
+ * persisted as UTF-8 text with one name per line, where the line index is
+ * the id.
+ *
+ * Features:
+ * - Safe to share between threads: lookups of known names take no lock,
+ *   only assigning a new id is serialised
+ * - {@link #intern(String)} normalises raw input the way the engine does and
+ *   remembers each untrimmed spelling, so a name seen before is never
+ *   trimmed again
+ * - Each distinct name is stored once; callers keep the int id, or the
+ *   shared String from {@link #nameOf(int)}, instead of their own copy
+ * - Optional capacity limit, so a dictionary fed by unbounded input cannot
+ *   grow without end
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public class ItemNameDictionary {
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // Untrimmed or blank spellings seen by intern(), mapped to the id of their normalised name
+    private final ConcurrentHashMap<String, Integer> aliases = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    // Written under the lock; size is published after the name is stored
+    private volatile String[] names = new String[16];
+    private volatile int size;
+
+    /**
+     * Creates an empty dictionary without a size limit
+     */
+    public ItemNameDictionary() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an empty dictionary that holds at most the given number of names
+     *
+     * @param capacity Maximum number of names
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public ItemNameDictionary(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Dictionary capacity must be at least 1");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the id of a name, assigning the next id if it is new
+     *
+     * @param name Item name, used exactly as given
+     * @return Dictionary id
+     * @throws IllegalArgumentException if the name contains a line break
+     * @throws IllegalStateException if the name is new and the dictionary is full
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (hasLineBreak(name)) {
+            throw new IllegalArgumentException("Item name cannot contain line breaks");
+        }
+        id = assign(name);
+        if (id < 0) {
+            throw new IllegalStateException("Item-name dictionary is full (" + capacity + " names)");
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of a raw item name after normalising it like the engine
+     * does (trimmed; blank names become "Item")
+     *
+     * @param rawName Item name as read from input, may be null
+     * @return Dictionary id of the normalised name
+     * @throws IllegalArgumentException if the name contains a line break
+     * @throws IllegalStateException if the name is new and the dictionary is full
+     */
+    public int intern(String rawName) {
+        Integer id = lookup(rawName);
+        if (id != null) {
+            return id;
+        }
+        String name = CostCalculationEngine.normalizeItemName(rawName);
+        int assigned = idOf(name);
+        remember(rawName, name, assigned);
+        return assigned;
+    }
+
+    /**
+     * Returns the dictionary's copy of a name, used exactly as given
+     *
+     * Never fails: a name that cannot be stored (line break, dictionary full)
+     * is returned as is.
+     */
+    String sharedName(String name) {
+        Integer known = ids.get(name);
+        int id = known != null ? known : hasLineBreak(name) ? -1 : assign(name);
+        return id < 0 ? name : nameOf(id);
+    }
+
+    // Known names, as given or in a spelling seen before, without trimming
+    private Integer lookup(String rawName) {
+        if (rawName == null) {
+            rawName = "";
+        }
+        Integer id = ids.get(rawName);
+        return id != null ? id : aliases.get(rawName);
+    }
+
+    private void remember(String rawName, String name, int id) {
+        String spelling = rawName == null ? "" : rawName;
+        if (!spelling.equals(name) && aliases.size() < capacity) {
+            aliases.putIfAbsent(spelling, id);
+        }
+    }
+
+    // Adds a name, or returns its id if another thread added it first; -1 if full
+    private synchronized int assign(String name) {
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        if (id >= capacity) {
+            return -1;
+        }
+        String[] current = names;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, (int) Math.min((long) id * 2, Integer.MAX_VALUE - 8));
+            names = current;
+        }
+        current[id] = name;
+        size = id + 1; // Publishes the name before the id can be looked up
+        ids.put(name, id);
+        return id;
+    }
+
+    private static boolean hasLineBreak(String name) {
+        return name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0;
+    }
+
+    /**
+     * @param id Dictionary id
+     * @return Item name for the id
+     * @throws IndexOutOfBoundsException if the id is unknown
+     */
+    public String nameOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Unknown item-name id " + id);
+        }
+        return names[id];
+    }
+
+    public int size() { return size; }
+    public int capacity() { return capacity; }
+
+    /**
+     * Writes the dictionary, one name per line in id order
+     *
+     * @param file Destination (overwritten)
+     * @throws IOException if writing fails
+     */
+    public void writeTo(Path file) throws IOException {
+        int count = size;
+        String[] snapshot = names;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int id = 0; id < count; id++) {
+                writer.write(snapshot[id]);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Reads a dictionary written by {@link #writeTo(Path)}
+     *
+     * @param file Dictionary file
+     * @return Dictionary with the same ids
+     * @throws IOException if reading fails
+     */
+    public static ItemNameDictionary readFrom(Path file) throws IOException {
+        ItemNameDictionary dictionary = new ItemNameDictionary();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String name;
+            while ((name = reader.readLine()) != null) {
+                dictionary.idOf(name);
+            }
+        }
+        return dictionary;
+    }
+}
@@ -0,0 +1,172 @@
+package Professional_Cost_Calculator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory, lock-free latency histogram
+ *
+ * Features:
+ * - Log-linear buckets in the style of HdrHistogram: every power of two is
+ *   split into 32 linear sub-buckets, so any recorded value is reported
+ *   within about 3% of its true value
+ * - Covers the whole non-negative long range in 1,888 counters (about 15 KB)
+ *   allocated once; recording never allocates
+ * - Safe to record from any number of threads; percentile queries read a
+ *   consistent-enough view without stopping writers
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records one value
+     *
+     * @param value Value to record; negative values are recorded as zero
+     */
+    public void record(long value) {
+        long clamped = Math.max(value, 0);
+        counts.incrementAndGet(indexOf(clamped));
+        long max = maxValue.get();
+        while (clamped > max && !maxValue.compareAndSet(max, clamped)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * @return Number of values recorded
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return Largest value recorded, exactly, or 0 if empty
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * @return Mean of the recorded values, using bucket midpoints, or 0 if empty
+     */
+    public double getMean() {
+        long total = 0;
+        double sum = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                total += count;
+                sum += count * ((lowestValueAt(i) + (double) highestValueAt(i)) / 2);
+            }
+        }
+        return total == 0 ? 0 : sum / total;
+    }
+
+    /**
+     * Returns the value at a percentile
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Highest value equivalent to the percentile's bucket, capped at
+     *         the recorded maximum, or 0 if empty
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Adds every value recorded by another histogram to this one
+     *
+     * @param other Histogram to merge in
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        long otherMax = other.getMax();
+        long max = maxValue.get();
+        while (otherMax > max && !maxValue.compareAndSet(max, otherMax)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * @return Independent copy of the current counts
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * Clears all counts; values recorded concurrently may survive the reset
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        maxValue.set(0);
+    }
+
+    // Values below 64 get a bucket each; above that, 32 sub-buckets per power of two
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((magnitude + 1) << SUB_BUCKET_BITS) + (int) (value >>> magnitude) - SUB_BUCKET_COUNT;
+    }
+
+    static long lowestValueAt(int index) {
+        int magnitude = (index >>> SUB_BUCKET_BITS) - 1;
+        if (magnitude <= 0) {
+            return index;
+        }
+        return (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1))) << magnitude;
+    }
+
+    static long highestValueAt(int index) {
+        int magnitude = (index >>> SUB_BUCKET_BITS) - 1;
+        if (magnitude <= 0) {
+            return index;
+        }
+        long next = (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1)) + 1) << magnitude;
+        return next - 1 < 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
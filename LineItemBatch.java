@@ -0,0 +1,144 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Struct-of-arrays container for pricing many line items at once
+ *
+ * Features:
+ * - One primitive array per input and output column, no object per row
+ * - Reusable: clear() resets the row count without reallocating
+ * - Priced in place by CostCalculationEngine.calculateBatch(LineItemBatch)
+ * - Per-row validation status filled by
+ *   CostCalculationEngine.calculateBatchLenient(LineItemBatch), so invalid
+ *   rows are reported without exceptions
+ *
+ * The column arrays are exposed directly so that callers can fill them in
+ * bulk; only the first {@link #size()} entries of each array are meaningful.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public class LineItemBatch {
+    // Input columns
+    private final double[] costPerItem;
+    private final int[] quantity;
+    private final double[] deliveryCost;
+    private final double[] taxRate;
+    private final double[] discountRate;
+
+    // Output columns
+    private final double[] subtotal;
+    private final double[] discountAmount;
+    private final double[] taxAmount;
+    private final double[] totalCost;
+    private final byte[] status;
+
+    private int size;
+
+    /**
+     * Creates an empty batch able to hold the given number of rows
+     *
+     * @param capacity Maximum number of rows
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public LineItemBatch(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Batch capacity cannot be negative");
+        }
+        this.costPerItem = new double[capacity];
+        this.quantity = new int[capacity];
+        this.deliveryCost = new double[capacity];
+        this.taxRate = new double[capacity];
+        this.discountRate = new double[capacity];
+        this.subtotal = new double[capacity];
+        this.discountAmount = new double[capacity];
+        this.taxAmount = new double[capacity];
+        this.totalCost = new double[capacity];
+        this.status = new byte[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Appends a line item to the batch
+     *
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal, e.g., 0.08 for 8%)
+     * @param discountRate Discount rate (as decimal, e.g., 0.1 for 10%)
+     * @return Row index of the new line item
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(double costPerItem, int quantity, double deliveryCost,
+                   double taxRate, double discountRate) {
+        if (size == capacity()) {
+            throw new IllegalStateException("Batch is full (" + capacity() + " rows)");
+        }
+        int row = size++;
+        this.costPerItem[row] = costPerItem;
+        this.quantity[row] = quantity;
+        this.deliveryCost[row] = deliveryCost;
+        this.taxRate[row] = taxRate;
+        this.discountRate[row] = discountRate;
+        return row;
+    }
+
+    /**
+     * Sets the number of meaningful rows after filling the arrays directly
+     *
+     * @param size Number of rows
+     * @throws IllegalArgumentException if size is outside [0, capacity]
+     */
+    public void setSize(int size) {
+        if (size < 0 || size > capacity()) {
+            throw new IllegalArgumentException(
+                String.format("Batch size must be between 0 and %d", capacity()));
+        }
+        this.size = size;
+    }
+
+    /**
+     * Removes all rows, keeping the allocated arrays for reuse
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return costPerItem.length; }
+    public boolean isFull() { return size == capacity(); }
+
+    // Column accessors (arrays are shared, not copied)
+    public double[] getCostPerItem() { return costPerItem; }
+    public int[] getQuantity() { return quantity; }
+    public double[] getDeliveryCost() { return deliveryCost; }
+    public double[] getTaxRate() { return taxRate; }
+    public double[] getDiscountRate() { return discountRate; }
+    public double[] getSubtotal() { return subtotal; }
+    public double[] getDiscountAmount() { return discountAmount; }
+    public double[] getTaxAmount() { return taxAmount; }
+    public double[] getTotalCost() { return totalCost; }
+    public byte[] getStatus() { return status; }
+
+    /**
+     * @param row Row index
+     * @return true if the row passed validation in the last lenient pricing run
+     */
+    public boolean isValid(int row) {
+        return status[checkRow(row)] == ValidationError.VALID;
+    }
+
+    /**
+     * @param row Row index
+     * @return Why the row was rejected in the last lenient pricing run, or null if it was priced
+     */
+    public ValidationError getError(int row) {
+        return ValidationError.fromCode(status[checkRow(row)]);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for batch size " + size);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,285 @@
+package Professional_Cost_Calculator;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streaming reader for delimited (CSV/TSV) line-item files
+ *
+ * Expected columns, in order:
+ * itemName, costPerItem, quantity, deliveryCost, taxRate, discountRate
+ *
+ * Features:
+ * - Reads one line at a time, so memory use does not depend on file size
+ * - Skips blank lines and an optional header row
+ * - Supports double-quoted item names ("" escapes a quote)
+ * - Numbers must be plain decimals, optionally with an exponent; NaN,
+ *   Infinity, hexadecimal, type suffixes and values beyond the double
+ *   range make the row malformed
+ * - Malformed rows are flagged with a status code instead of an exception,
+ *   so a file full of bad rows is read as fast as a good one; exceptions
+ *   are left for I/O failures
+ * - Reuses its field state between rows; read the getters before next()
+ * - Optionally takes item names from an {@link ItemNameDictionary}, so
+ *   names that repeat across rows are held as one String
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public class LineItemCsvReader implements Closeable {
+    public static final int COLUMN_COUNT = 6;
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private final ItemNameDictionary names;
+    private final StringBuilder field = new StringBuilder(64);
+    private long lineNumber;
+    private int status;
+
+    // Current row
+    private String itemName;
+    private double costPerItem;
+    private int quantity;
+    private double deliveryCost;
+    private double taxRate;
+    private double discountRate;
+
+    /**
+     * @param reader Source of delimited text
+     * @param delimiter Column separator (',' for CSV, '\t' for TSV)
+     */
+    public LineItemCsvReader(BufferedReader reader, char delimiter) {
+        this(reader, delimiter, null);
+    }
+
+    /**
+     * @param reader Source of delimited text
+     * @param delimiter Column separator (',' for CSV, '\t' for TSV)
+     * @param names Dictionary that supplies the String for each item name, or null for a new String per row
+     */
+    public LineItemCsvReader(BufferedReader reader, char delimiter, ItemNameDictionary names) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.names = names;
+        this.lineNumber = 0;
+    }
+
+    /**
+     * Advances to the next data row
+     *
+     * A malformed row (wrong column count, unterminated quote, bad number) is
+     * still returned: {@link #getStatus()} reports it, and the value getters
+     * are then meaningless. The caller may simply continue with the next row.
+     *
+     * @return false at end of input
+     * @throws IOException if reading fails
+     */
+    public boolean next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return false;
+            }
+            lineNumber++;
+        } while (line.trim().isEmpty() || (lineNumber == 1 && isHeader(line)));
+
+        status = parse(line);
+        return true;
+    }
+
+    // Returns VALID, or MALFORMED_INPUT for too few or too many columns, a bad quote or a bad number
+    private int parse(String line) {
+        int position = 0;
+        int column = 0;
+        int length = line.length();
+        while (column < COLUMN_COUNT) {
+            if (position > length) {
+                return ValidationError.MALFORMED_INPUT.getCode();
+            }
+            position = readField(line, position);
+            if (position < 0 || !setColumn(column++, field)) {
+                return ValidationError.MALFORMED_INPUT.getCode();
+            }
+        }
+        return position <= length ? ValidationError.MALFORMED_INPUT.getCode() : ValidationError.VALID;
+    }
+
+    // Reads one field starting at position into 'field'; returns the index after its delimiter, or -1 if malformed
+    private int readField(String line, int position) {
+        field.setLength(0);
+        int length = line.length();
+        if (position < length && line.charAt(position) == '"') {
+            int i = position + 1;
+            while (true) {
+                if (i >= length) {
+                    return -1; // Unterminated quoted field
+                }
+                char c = line.charAt(i++);
+                if (c == '"') {
+                    if (i < length && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                } else {
+                    field.append(c);
+                }
+            }
+            if (i < length && line.charAt(i) != delimiter) {
+                return -1; // Text after the closing quote
+            }
+            return i + 1;
+        }
+        int end = line.indexOf(delimiter, position);
+        if (end < 0) {
+            end = length;
+        }
+        field.append(line, position, end);
+        return end + 1;
+    }
+
+    // Returns false if the column holds a malformed number
+    private boolean setColumn(int column, CharSequence value) {
+        switch (column) {
+            case 0:
+                itemName = names != null ? names.sharedName(value.toString()) : value.toString();
+                return true;
+            case 1:
+                costPerItem = toDecimal(value.toString().trim());
+                return !Double.isNaN(costPerItem);
+            case 2:
+                return setQuantity(value.toString().trim());
+            case 3:
+                deliveryCost = toDecimal(value.toString().trim());
+                return !Double.isNaN(deliveryCost);
+            case 4:
+                taxRate = toDecimal(value.toString().trim());
+                return !Double.isNaN(taxRate);
+            default:
+                discountRate = toDecimal(value.toString().trim());
+                return !Double.isNaN(discountRate);
+        }
+    }
+
+    // Integer.parseInt for ASCII digits, without the exception; returns false if the text is not an int
+    private boolean setQuantity(String text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i++) == '-';
+        }
+        if (i == length) {
+            return false;
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return false;
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return false;
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            return false;
+        }
+        quantity = (int) value;
+        return true;
+    }
+
+    /**
+     * Parses a plain decimal number, such as {@code 12}, {@code -0.5},
+     * {@code .25} or {@code 1.5e3}
+     * 
+     * Unlike Double.parseDouble, rejects NaN, Infinity, hexadecimal
+     * notation, {@code d}/{@code f} suffixes, surrounding whitespace and
+     * values too large for a double.
+     *
+     * @param text Number text
+     * @return The finite value
+     * @throws NumberFormatException if the text is not a finite decimal number
+     */
+    static double parseDecimal(String text) {
+        if (!isDecimal(text)) {
+            throw new NumberFormatException("For input string: \"" + text + "\"");
+        }
+        double value = Double.parseDouble(text);
+        if (Double.isInfinite(value)) {
+            throw new NumberFormatException("Out of range: \"" + text + "\"");
+        }
+        return value;
+    }
+
+    // parseDecimal without the exception: NaN if the text is not a finite decimal number
+    private static double toDecimal(String text) {
+        if (!isDecimal(text)) {
+            return Double.NaN;
+        }
+        double value = Double.parseDouble(text);
+        return Double.isInfinite(value) ? Double.NaN : value;
+    }
+
+    // True if the text is a plain decimal, which Double.parseDouble always accepts
+    private static boolean isDecimal(String text) {
+        int length = text.length();
+        int i = 0;
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        for (; i < length && isDigit(text.charAt(i)); i++) {
+            digits++;
+        }
+        if (i < length && text.charAt(i) == '.') {
+            for (i++; i < length && isDigit(text.charAt(i)); i++) {
+                digits++;
+            }
+        }
+        if (digits > 0 && i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            for (; i < length && isDigit(text.charAt(i)); i++) {
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        return digits > 0 && i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // A header row is one whose cost column is not a number
+    private boolean isHeader(String line) {
+        return parse(line) != ValidationError.VALID && line.toLowerCase().contains("cost");
+    }
+
+    // Getter methods for the current row
+    public long getLineNumber() { return lineNumber; }
+    /** @return {@link ValidationError#VALID}, or the MALFORMED_INPUT code if the row could not be read */
+    public int getStatus() { return status; }
+    public String getItemName() { return itemName; }
+    public double getCostPerItem() { return costPerItem; }
+    public int getQuantity() { return quantity; }
+    public double getDeliveryCost() { return deliveryCost; }
+    public double getTaxRate() { return taxRate; }
+    public double getDiscountRate() { return discountRate; }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
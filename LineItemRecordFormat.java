@@ -0,0 +1,108 @@
+package Professional_Cost_Calculator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-width binary layout for line items and their priced results
+ *
+ * File layout (little-endian):
+ * <pre>
+ * Header (32 bytes)
+ *   0  int   magic ("PCLI")
+ *   4  short format version
+ *   6  short reserved
+ *   8  int   record size in bytes
+ *   12 int   flags (bit 0: every record has been priced)
+ *   16 long  record count
+ *   24 long  reserved
+ * Record (72 bytes each)
+ *   0  int    item-name dictionary id
+ *   4  int    quantity
+ *   8  double costPerItem
+ *   16 double deliveryCost
+ *   24 double taxRate
+ *   32 double discountRate
+ *   40 double subtotal        (output)
+ *   48 double discountAmount  (output)
+ *   56 double taxAmount       (output)
+ *   64 double totalCost       (output)
+ * </pre>
+ *
+ * Item names are stored once in a sidecar dictionary file (see
+ * {@link ItemNameDictionary}); records refer to them by id.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+final class LineItemRecordFormat {
+    static final int MAGIC = 0x494C4350; // "PCLI" in little-endian byte order
+    static final short VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 32;
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 4;
+    static final int HEADER_RECORD_SIZE = 8;
+    static final int HEADER_FLAGS = 12;
+    static final int HEADER_RECORD_COUNT = 16;
+
+    /** Header flag set by {@link MappedLineItemFile#priceInPlace()} once every record holds its results */
+    static final int FLAG_PRICED = 1;
+
+    static final int RECORD_SIZE = 72;
+    static final int NAME_ID = 0;
+    static final int QUANTITY = 4;
+    static final int COST_PER_ITEM = 8;
+    static final int DELIVERY_COST = 16;
+    static final int TAX_RATE = 24;
+    static final int DISCOUNT_RATE = 32;
+    static final int SUBTOTAL = 40;
+    static final int DISCOUNT_AMOUNT = 48;
+    static final int TAX_AMOUNT = 56;
+    static final int TOTAL_COST = 64;
+
+    /** File-name suffix of the item-name dictionary that accompanies a record file */
+    static final String DICTIONARY_SUFFIX = ".names";
+
+    private LineItemRecordFormat() {
+    }
+
+    /**
+     * Writes a header for the given record count at position 0 of the buffer
+     */
+    static void writeHeader(ByteBuffer header, long recordCount) {
+        header.order(BYTE_ORDER);
+        header.putInt(HEADER_MAGIC, MAGIC);
+        header.putShort(HEADER_VERSION, VERSION);
+        header.putShort(HEADER_VERSION + 2, (short) 0);
+        header.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        header.putInt(HEADER_FLAGS, 0);
+        header.putLong(HEADER_RECORD_COUNT, recordCount);
+        header.putLong(HEADER_RECORD_COUNT + 8, 0L);
+    }
+
+    /**
+     * Checks a header and returns its record count
+     *
+     * @throws IOException if the header does not describe this format
+     */
+    static long readHeader(ByteBuffer header, long fileSize) throws IOException {
+        header.order(BYTE_ORDER);
+        if (fileSize < HEADER_SIZE || header.getInt(HEADER_MAGIC) != MAGIC) {
+            throw new IOException("Not a line-item record file");
+        }
+        if (header.getShort(HEADER_VERSION) != VERSION) {
+            throw new IOException("Unsupported line-item record format version " + header.getShort(HEADER_VERSION));
+        }
+        if (header.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+            throw new IOException("Unexpected record size " + header.getInt(HEADER_RECORD_SIZE));
+        }
+        long recordCount = header.getLong(HEADER_RECORD_COUNT);
+        if (recordCount < 0 || HEADER_SIZE + recordCount * RECORD_SIZE > fileSize) {
+            throw new IOException("Line-item record file is truncated");
+        }
+        return recordCount;
+    }
+}
@@ -0,0 +1,98 @@
+package Professional_Cost_Calculator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential writer for binary line-item record files
+ *
+ * Records are staged in a direct buffer and written through a FileChannel;
+ * the record count in the header is filled in when the writer is closed.
+ * Output columns are written as zero until the file is priced.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class LineItemRecordWriter implements Closeable {
+    private static final int BUFFER_RECORDS = 16_384;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long recordCount;
+
+    /**
+     * Creates (or truncates) a record file
+     *
+     * @param file Destination file
+     * @throws IOException if the file cannot be created
+     */
+    public LineItemRecordWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * LineItemRecordFormat.RECORD_SIZE)
+                                .order(LineItemRecordFormat.BYTE_ORDER);
+        this.recordCount = 0;
+        // Reserve the header; the real one is written on close
+        channel.position(LineItemRecordFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Appends one line item
+     *
+     * @param nameId Item-name dictionary id
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal)
+     * @param discountRate Discount rate (as decimal)
+     * @throws IOException if writing fails
+     */
+    public void write(int nameId, double costPerItem, int quantity, double deliveryCost,
+                      double taxRate, double discountRate) throws IOException {
+        if (buffer.remaining() < LineItemRecordFormat.RECORD_SIZE) {
+            drain();
+        }
+        int at = buffer.position();
+        buffer.putInt(at + LineItemRecordFormat.NAME_ID, nameId);
+        buffer.putInt(at + LineItemRecordFormat.QUANTITY, quantity);
+        buffer.putDouble(at + LineItemRecordFormat.COST_PER_ITEM, costPerItem);
+        buffer.putDouble(at + LineItemRecordFormat.DELIVERY_COST, deliveryCost);
+        buffer.putDouble(at + LineItemRecordFormat.TAX_RATE, taxRate);
+        buffer.putDouble(at + LineItemRecordFormat.DISCOUNT_RATE, discountRate);
+        buffer.putDouble(at + LineItemRecordFormat.SUBTOTAL, 0.0);
+        buffer.putDouble(at + LineItemRecordFormat.DISCOUNT_AMOUNT, 0.0);
+        buffer.putDouble(at + LineItemRecordFormat.TAX_AMOUNT, 0.0);
+        buffer.putDouble(at + LineItemRecordFormat.TOTAL_COST, 0.0);
+        buffer.position(at + LineItemRecordFormat.RECORD_SIZE);
+        recordCount++;
+    }
+
+    public long getRecordCount() { return recordCount; }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            buffer.clear().limit(LineItemRecordFormat.HEADER_SIZE);
+            LineItemRecordFormat.writeHeader(buffer, recordCount);
+            long position = 0;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package Professional_Cost_Calculator;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Compact in-memory store of line items and their priced results
+ *
+ * Features:
+ * - One 72-byte record per line item in the {@link LineItemRecordFormat}
+ *   layout: the item name is an int id from an {@link ItemNameDictionary},
+ *   everything else is a primitive, and no object is kept per row
+ * - Backed by a heap buffer or, optionally, by off-heap memory that the
+ *   garbage collector never scans or copies
+ * - Priced in place by {@link #price()} with the same validation and math
+ *   as CostCalculationEngine, against one rate configuration
+ * - Names are resolved from the dictionary only when a report is rendered
+ *
+ * Not thread-safe; the dictionary may be shared with other stores and threads.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class LineItemStore {
+    /** Largest capacity a single buffer can hold */
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE / LineItemRecordFormat.RECORD_SIZE;
+
+    private final ItemNameDictionary names;
+    private final ByteBuffer records;
+    private int size;
+
+    /**
+     * Creates an empty store on the heap
+     *
+     * @param names Dictionary that item names are interned into
+     * @param capacity Maximum number of rows
+     * @throws IllegalArgumentException if capacity is negative or above {@link #MAX_CAPACITY}
+     */
+    public LineItemStore(ItemNameDictionary names, int capacity) {
+        this(names, capacity, false);
+    }
+
+    /**
+     * Creates an empty store
+     *
+     * @param names Dictionary that item names are interned into
+     * @param capacity Maximum number of rows
+     * @param offHeap true to keep the records outside the Java heap
+     * @throws IllegalArgumentException if capacity is negative or above {@link #MAX_CAPACITY}
+     */
+    public LineItemStore(ItemNameDictionary names, int capacity, boolean offHeap) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                String.format("Store capacity must be between 0 and %d", MAX_CAPACITY));
+        }
+        int bytes = capacity * LineItemRecordFormat.RECORD_SIZE;
+        this.names = names;
+        this.records = (offHeap ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes))
+            .order(LineItemRecordFormat.BYTE_ORDER);
+    }
+
+    /**
+     * Appends a line item, interning its name
+     *
+     * @param itemName Item name as read from input (trimmed; blank names become "Item")
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal, e.g., 0.08 for 8%)
+     * @param discountRate Discount rate (as decimal, e.g., 0.1 for 10%)
+     * @return Row index of the new line item
+     * @throws IllegalStateException if the store or the dictionary is full
+     * @throws IllegalArgumentException if the name contains a line break
+     */
+    public int add(String itemName, double costPerItem, int quantity, double deliveryCost,
+                   double taxRate, double discountRate) {
+        checkRoom();
+        return add(names.intern(itemName), costPerItem, quantity, deliveryCost, taxRate, discountRate);
+    }
+
+    /**
+     * Appends a line item whose name is already in the dictionary
+     *
+     * @param nameId Dictionary id of the item name
+     * @return Row index of the new line item
+     * @throws IllegalStateException if the store is full
+     */
+    public int add(int nameId, double costPerItem, int quantity, double deliveryCost,
+                   double taxRate, double discountRate) {
+        checkRoom();
+        int row = size++;
+        int at = row * LineItemRecordFormat.RECORD_SIZE;
+        records.putInt(at + LineItemRecordFormat.NAME_ID, nameId);
+        records.putInt(at + LineItemRecordFormat.QUANTITY, quantity);
+        records.putDouble(at + LineItemRecordFormat.COST_PER_ITEM, costPerItem);
+        records.putDouble(at + LineItemRecordFormat.DELIVERY_COST, deliveryCost);
+        records.putDouble(at + LineItemRecordFormat.TAX_RATE, taxRate);
+        records.putDouble(at + LineItemRecordFormat.DISCOUNT_RATE, discountRate);
+        records.putDouble(at + LineItemRecordFormat.SUBTOTAL, Double.NaN);
+        records.putDouble(at + LineItemRecordFormat.DISCOUNT_AMOUNT, Double.NaN);
+        records.putDouble(at + LineItemRecordFormat.TAX_AMOUNT, Double.NaN);
+        records.putDouble(at + LineItemRecordFormat.TOTAL_COST, Double.NaN);
+        return row;
+    }
+
+    private void checkRoom() {
+        if (size == capacity()) {
+            throw new IllegalStateException("Store is full (" + capacity() + " rows)");
+        }
+    }
+
+    /**
+     * Prices every row in place
+     *
+     * All rows are validated, against one rate configuration, before any result is written.
+     *
+     * @return Number of rows priced
+     * @throws IllegalArgumentException if any row is invalid
+     */
+    public int price() {
+        long start = PricingMetrics.startTimer();
+        ByteBuffer used = records.slice(0, size * LineItemRecordFormat.RECORD_SIZE)
+            .order(LineItemRecordFormat.BYTE_ORDER);
+        MappedLineItemFile.validateRegion(RateConfiguration.current(), used, 0);
+        MappedLineItemFile.priceRegion(used);
+        CostCalculationEngine.journalRecords(PricingMode.BATCH, used);
+        PricingMetrics.recordCalculation(PricingMode.BATCH, size, start);
+        return size;
+    }
+
+    /**
+     * Removes all rows, keeping the allocated memory for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return records.capacity() / LineItemRecordFormat.RECORD_SIZE; }
+    public boolean isOffHeap() { return records.isDirect(); }
+    public ItemNameDictionary getNames() { return names; }
+
+    // Row getters; outputs are NaN until the row is priced
+    public int getNameId(int row) { return records.getInt(offset(row) + LineItemRecordFormat.NAME_ID); }
+    public int getQuantity(int row) { return records.getInt(offset(row) + LineItemRecordFormat.QUANTITY); }
+    public double getCostPerItem(int row) { return getDouble(row, LineItemRecordFormat.COST_PER_ITEM); }
+    public double getDeliveryCost(int row) { return getDouble(row, LineItemRecordFormat.DELIVERY_COST); }
+    public double getTaxRate(int row) { return getDouble(row, LineItemRecordFormat.TAX_RATE); }
+    public double getDiscountRate(int row) { return getDouble(row, LineItemRecordFormat.DISCOUNT_RATE); }
+    public double getSubtotal(int row) { return getDouble(row, LineItemRecordFormat.SUBTOTAL); }
+    public double getDiscountAmount(int row) { return getDouble(row, LineItemRecordFormat.DISCOUNT_AMOUNT); }
+    public double getTaxAmount(int row) { return getDouble(row, LineItemRecordFormat.TAX_AMOUNT); }
+    public double getTotalCost(int row) { return getDouble(row, LineItemRecordFormat.TOTAL_COST); }
+
+    /**
+     * @param row Row index
+     * @return Item name of the row, looked up in the dictionary
+     */
+    public String getItemName(int row) {
+        return names.nameOf(getNameId(row));
+    }
+
+    /**
+     * Generates the detailed cost breakdown of a priced row
+     *
+     * @param row Row index
+     * @return Same text as CostCalculationEngine.generateDetailedReport for the row
+     */
+    public String generateDetailedReport(int row) {
+        return appendDetailedReport(new StringBuilder(512), row, CurrencyFormatter.getDefault(),
+                                    CostReportRenderer.defaultNumberLocale()).toString();
+    }
+
+    /**
+     * Generates the detailed cost breakdown of a priced row for a market
+     *
+     * @param row Row index
+     * @param locale Locale for currency amounts and numbers
+     * @return Same text as CostCalculationEngine.generateDetailedReport(locale) for the row
+     */
+    public String generateDetailedReport(int row, Locale locale) {
+        return appendDetailedReport(new StringBuilder(512), row, CurrencyFormatter.forLocale(locale), locale)
+            .toString();
+    }
+
+    private StringBuilder appendDetailedReport(StringBuilder out, int row, CurrencyFormatter currency,
+                                               Locale numberLocale) {
+        return CostReportRenderer.appendDetailedReport(out, currency, numberLocale, getItemName(row),
+                                                       getCostPerItem(row), getQuantity(row), getDeliveryCost(row),
+                                                       getSubtotal(row), getDiscountRate(row),
+                                                       getDiscountAmount(row), getTaxRate(row), getTaxAmount(row),
+                                                       getTotalCost(row));
+    }
+
+    private double getDouble(int row, int field) {
+        return records.getDouble(offset(row) + field);
+    }
+
+    private int offset(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for store size " + size);
+        }
+        return row * LineItemRecordFormat.RECORD_SIZE;
+    }
+}
@@ -0,0 +1,205 @@
+package Professional_Cost_Calculator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped view of a binary line-item record file
+ *
+ * Features:
+ * - Zero-copy access to records through MappedByteBuffer absolute reads
+ * - In-place bulk pricing that writes subtotal, discountAmount, taxAmount
+ *   and totalCost back into each record without creating objects
+ * - Files larger than 2 GB are mapped as several regions
+ * - A header flag records whether the file has been priced
+ *
+ * See {@link LineItemRecordFormat} for the layout. The mapping stays valid
+ * until the buffers are garbage collected, even after {@link #close()}.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class MappedLineItemFile implements Closeable {
+    // Whole records per mapped region, keeping each region under 1 GB
+    private static final int RECORDS_PER_REGION = (1 << 30) / LineItemRecordFormat.RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] regions;
+    private final long recordCount;
+    private final boolean writable;
+
+    private MappedLineItemFile(FileChannel channel, MappedByteBuffer header, MappedByteBuffer[] regions,
+                               long recordCount, boolean writable) {
+        this.channel = channel;
+        this.header = header;
+        this.regions = regions;
+        this.recordCount = recordCount;
+        this.writable = writable;
+    }
+
+    /**
+     * Maps an existing record file
+     *
+     * @param file Record file written by {@link LineItemRecordWriter}
+     * @param writable true to allow in-place pricing
+     * @return Mapped view of the file
+     * @throws IOException if the file cannot be mapped or is not a record file
+     */
+    public static MappedLineItemFile open(Path file, boolean writable) throws IOException {
+        FileChannel channel = writable
+            ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+            : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(LineItemRecordFormat.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            long recordCount = LineItemRecordFormat.readHeader(header, fileSize);
+            MappedByteBuffer mappedHeader = channel.map(mode, 0, LineItemRecordFormat.HEADER_SIZE);
+            mappedHeader.order(LineItemRecordFormat.BYTE_ORDER);
+
+            int regionCount = (int) ((recordCount + RECORDS_PER_REGION - 1) / RECORDS_PER_REGION);
+            MappedByteBuffer[] regions = new MappedByteBuffer[regionCount];
+            for (int r = 0; r < regionCount; r++) {
+                long firstRecord = (long) r * RECORDS_PER_REGION;
+                long records = Math.min(RECORDS_PER_REGION, recordCount - firstRecord);
+                long position = LineItemRecordFormat.HEADER_SIZE + firstRecord * LineItemRecordFormat.RECORD_SIZE;
+                regions[r] = channel.map(mode, position, records * LineItemRecordFormat.RECORD_SIZE);
+                regions[r].order(LineItemRecordFormat.BYTE_ORDER);
+            }
+            return new MappedLineItemFile(channel, mappedHeader, regions, recordCount, writable);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getRecordCount() { return recordCount; }
+
+    /**
+     * Whether {@link #priceInPlace()} has completed on this file; until then the result fields are not meaningful
+     */
+    public boolean isPriced() {
+        return (header.getInt(LineItemRecordFormat.HEADER_FLAGS) & LineItemRecordFormat.FLAG_PRICED) != 0;
+    }
+
+    // Record getters
+    public int getNameId(long record) { return region(record).getInt(offset(record) + LineItemRecordFormat.NAME_ID); }
+    public int getQuantity(long record) { return region(record).getInt(offset(record) + LineItemRecordFormat.QUANTITY); }
+    public double getCostPerItem(long record) { return getDouble(record, LineItemRecordFormat.COST_PER_ITEM); }
+    public double getDeliveryCost(long record) { return getDouble(record, LineItemRecordFormat.DELIVERY_COST); }
+    public double getTaxRate(long record) { return getDouble(record, LineItemRecordFormat.TAX_RATE); }
+    public double getDiscountRate(long record) { return getDouble(record, LineItemRecordFormat.DISCOUNT_RATE); }
+    public double getSubtotal(long record) { return getDouble(record, LineItemRecordFormat.SUBTOTAL); }
+    public double getDiscountAmount(long record) { return getDouble(record, LineItemRecordFormat.DISCOUNT_AMOUNT); }
+    public double getTaxAmount(long record) { return getDouble(record, LineItemRecordFormat.TAX_AMOUNT); }
+    public double getTotalCost(long record) { return getDouble(record, LineItemRecordFormat.TOTAL_COST); }
+
+    /**
+     * Prices every record in place
+     *
+     * All records are validated, against one rate configuration, before any result is written.
+     * The header's priced flag is set once every record holds its results.
+     *
+     * @return Number of records priced
+     * @throws IllegalStateException if the file was opened read-only
+     * @throws IllegalArgumentException if any record is invalid
+     */
+    public long priceInPlace() {
+        if (!writable) {
+            throw new IllegalStateException("Record file was opened read-only");
+        }
+        long start = PricingMetrics.startTimer();
+        RateConfiguration config = RateConfiguration.current();
+        for (int r = 0; r < regions.length; r++) {
+            validateRegion(config, regions[r], (long) r * RECORDS_PER_REGION);
+        }
+        for (MappedByteBuffer region : regions) {
+            priceRegion(region);
+            CostCalculationEngine.journalRecords(PricingMode.BINARY_FILE, region);
+        }
+        header.putInt(LineItemRecordFormat.HEADER_FLAGS,
+                      header.getInt(LineItemRecordFormat.HEADER_FLAGS) | LineItemRecordFormat.FLAG_PRICED);
+        PricingMetrics.recordCalculation(PricingMode.BINARY_FILE, recordCount, start);
+        return recordCount;
+    }
+
+    // Also used by LineItemStore, which keeps records in the same layout
+    static void validateRegion(RateConfiguration config, ByteBuffer region, long firstRecord) {
+        int limit = region.limit();
+        for (int at = 0; at < limit; at += LineItemRecordFormat.RECORD_SIZE) {
+            int error = CostCalculationEngine.validate(config,
+                                                       region.getDouble(at + LineItemRecordFormat.COST_PER_ITEM),
+                                                       region.getInt(at + LineItemRecordFormat.QUANTITY),
+                                                       region.getDouble(at + LineItemRecordFormat.DELIVERY_COST),
+                                                       region.getDouble(at + LineItemRecordFormat.TAX_RATE),
+                                                       region.getDouble(at + LineItemRecordFormat.DISCOUNT_RATE));
+            if (error != ValidationError.VALID) {
+                long record = firstRecord + at / LineItemRecordFormat.RECORD_SIZE;
+                throw new IllegalArgumentException(
+                    "Record " + record + ": "
+                    + CostCalculationEngine.messageFor(ValidationError.fromCode(error), config));
+            }
+        }
+    }
+
+    static void priceRegion(ByteBuffer region) {
+        int limit = region.limit();
+        for (int at = 0; at < limit; at += LineItemRecordFormat.RECORD_SIZE) {
+            double subtotal = CostCalculationEngine.subtotalOf(region.getDouble(at + LineItemRecordFormat.COST_PER_ITEM),
+                                                               region.getInt(at + LineItemRecordFormat.QUANTITY),
+                                                               region.getDouble(at + LineItemRecordFormat.DELIVERY_COST));
+            double discountAmount = CostCalculationEngine.discountOf(subtotal,
+                                                                     region.getDouble(at + LineItemRecordFormat.DISCOUNT_RATE));
+            double afterDiscount = subtotal - discountAmount;
+            double taxAmount = CostCalculationEngine.taxOf(afterDiscount, region.getDouble(at + LineItemRecordFormat.TAX_RATE));
+
+            region.putDouble(at + LineItemRecordFormat.SUBTOTAL, subtotal);
+            region.putDouble(at + LineItemRecordFormat.DISCOUNT_AMOUNT, discountAmount);
+            region.putDouble(at + LineItemRecordFormat.TAX_AMOUNT, taxAmount);
+            region.putDouble(at + LineItemRecordFormat.TOTAL_COST, afterDiscount + taxAmount);
+        }
+    }
+
+    /**
+     * Flushes in-place changes to the storage device
+     */
+    public void force() {
+        if (writable) {
+            for (MappedByteBuffer region : regions) {
+                region.force();
+            }
+            // After the records, so the flag never reaches the device ahead of the results it vouches for
+            header.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private double getDouble(long record, int field) {
+        return region(record).getDouble(offset(record) + field);
+    }
+
+    private ByteBuffer region(long record) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + record + " out of bounds for " + recordCount + " records");
+        }
+        return regions[(int) (record / RECORDS_PER_REGION)];
+    }
+
+    private static int offset(long record) {
+        return (int) (record % RECORDS_PER_REGION) * LineItemRecordFormat.RECORD_SIZE;
+    }
+}
@@ -0,0 +1,302 @@
+package Professional_Cost_Calculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multi-line order (cart) priced with the CostCalculationEngine rules
+ *
+ * Features:
+ * - Add, update and remove lines in O(1); the order totals are adjusted by
+ *   the change instead of being recomputed over every line
+ * - Delivery, tax and discount apply once to the whole order:
+ *   subtotal = sum(costPerItem × quantity) + delivery, then the discount,
+ *   then tax on the discounted amount, exactly as for a single item
+ * - The items subtotal is kept as a compensated (double-double) sum, so
+ *   long edit sequences do not accumulate rounding drift; an edit whose
+ *   line total or items subtotal would not fit in a double is rejected
+ * - Lines are held in parallel arrays with a free list; removed slots are
+ *   reused and no object is created per line
+ * - Thread-safe: edits are serialized, and every edit publishes an
+ *   immutable {@link OrderSnapshot} that readers obtain without locking
+ *
+ * Line ids are returned by {@link #addLine}; the id of a removed line may
+ * be given to a later line.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public class Order {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NO_SLOT = -1;
+
+    // Line columns, indexed by line id
+    private String[] itemNames;
+    private double[] costPerItem;
+    private int[] quantity;
+    private double[] lineTotal;
+    private boolean[] active;
+    private int[] nextFree;
+
+    private int freeHead;
+    private int highWater;
+    private int lineCount;
+    private long totalQuantity;
+
+    // Items subtotal as an unevaluated sum itemsHigh + itemsLow
+    private double itemsHigh;
+    private double itemsLow;
+
+    private double deliveryCost;
+    private double taxRate;
+    private double discountRate;
+
+    private long version;
+    private volatile OrderSnapshot snapshot;
+
+    /**
+     * Creates an empty order with no delivery, the default tax rate and no discount
+     */
+    public Order() {
+        this(0.0, RateConfiguration.current().getDefaultTaxRate(), 0.0);
+    }
+
+    /**
+     * Creates an empty order
+     *
+     * @param deliveryCost Delivery charges for the whole order
+     * @param taxRate Tax rate (as decimal, e.g., 0.08 for 8%)
+     * @param discountRate Discount rate (as decimal, e.g., 0.1 for 10%)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public Order(double deliveryCost, double taxRate, double discountRate) {
+        CostCalculationEngine.checkDeliveryCost(deliveryCost);
+        CostCalculationEngine.checkTaxRate(taxRate);
+        CostCalculationEngine.checkDiscountRate(discountRate);
+        this.itemNames = new String[INITIAL_CAPACITY];
+        this.costPerItem = new double[INITIAL_CAPACITY];
+        this.quantity = new int[INITIAL_CAPACITY];
+        this.lineTotal = new double[INITIAL_CAPACITY];
+        this.active = new boolean[INITIAL_CAPACITY];
+        this.nextFree = new int[INITIAL_CAPACITY];
+        this.freeHead = NO_SLOT;
+        this.deliveryCost = deliveryCost;
+        this.taxRate = taxRate;
+        this.discountRate = discountRate;
+        publish();
+    }
+
+    /**
+     * Adds a line to the order
+     *
+     * @param itemName Name of the item (blank names become "Item")
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @return Id of the new line
+     * @throws IllegalArgumentException if parameters are invalid or the totals would overflow
+     */
+    public synchronized int addLine(String itemName, double costPerItem, int quantity) {
+        RateConfiguration config = RateConfiguration.current();
+        CostCalculationEngine.checkCostPerItem(costPerItem, config);
+        CostCalculationEngine.checkQuantity(quantity, config);
+        double total = costPerItem * quantity;
+        checkTotals(total, itemsHigh + total);
+        int line = allocateSlot();
+        this.itemNames[line] = CostCalculationEngine.normalizeItemName(itemName);
+        this.costPerItem[line] = costPerItem;
+        this.quantity[line] = quantity;
+        this.lineTotal[line] = total;
+        this.active[line] = true;
+        lineCount++;
+        totalQuantity += quantity;
+        addToItems(total);
+        publish();
+        return line;
+    }
+
+    /**
+     * Changes the price and quantity of a line
+     *
+     * @param lineId Id returned by {@link #addLine}
+     * @param costPerItem New cost per individual item
+     * @param quantity New number of items
+     * @throws IllegalArgumentException if the line does not exist, parameters are invalid
+     *         or the totals would overflow
+     */
+    public synchronized void updateLine(int lineId, double costPerItem, int quantity) {
+        checkLine(lineId);
+        RateConfiguration config = RateConfiguration.current();
+        CostCalculationEngine.checkCostPerItem(costPerItem, config);
+        CostCalculationEngine.checkQuantity(quantity, config);
+        double total = costPerItem * quantity;
+        checkTotals(total, (itemsHigh - lineTotal[lineId]) + total);
+        addToItems(-lineTotal[lineId]);
+        addToItems(total);
+        totalQuantity += quantity - this.quantity[lineId];
+        this.costPerItem[lineId] = costPerItem;
+        this.quantity[lineId] = quantity;
+        this.lineTotal[lineId] = total;
+        publish();
+    }
+
+    /**
+     * Changes the quantity of a line, keeping its price
+     *
+     * @param lineId Id returned by {@link #addLine}
+     * @param quantity New number of items
+     * @throws IllegalArgumentException if the line does not exist or quantity is invalid
+     */
+    public synchronized void updateQuantity(int lineId, int quantity) {
+        checkLine(lineId);
+        updateLine(lineId, costPerItem[lineId], quantity);
+    }
+
+    /**
+     * Removes a line from the order
+     *
+     * @param lineId Id returned by {@link #addLine}
+     * @throws IllegalArgumentException if the line does not exist
+     */
+    public synchronized void removeLine(int lineId) {
+        checkLine(lineId);
+        addToItems(-lineTotal[lineId]);
+        totalQuantity -= quantity[lineId];
+        lineCount--;
+        if (lineCount == 0) {
+            // Drop any residue so an empty order is exactly zero
+            itemsHigh = 0.0;
+            itemsLow = 0.0;
+        }
+        itemNames[lineId] = null;
+        active[lineId] = false;
+        nextFree[lineId] = freeHead;
+        freeHead = lineId;
+        publish();
+    }
+
+    /**
+     * Removes every line, keeping delivery, tax and discount settings
+     */
+    public synchronized void clear() {
+        Arrays.fill(itemNames, 0, highWater, null);
+        Arrays.fill(active, 0, highWater, false);
+        freeHead = NO_SLOT;
+        highWater = 0;
+        lineCount = 0;
+        totalQuantity = 0;
+        itemsHigh = 0.0;
+        itemsLow = 0.0;
+        publish();
+    }
+
+    // Order-level settings
+    public synchronized void setDeliveryCost(double deliveryCost) {
+        CostCalculationEngine.checkDeliveryCost(deliveryCost);
+        this.deliveryCost = deliveryCost;
+        publish();
+    }
+
+    public synchronized void setTaxRate(double taxRate) {
+        CostCalculationEngine.checkTaxRate(taxRate);
+        this.taxRate = taxRate;
+        publish();
+    }
+
+    public synchronized void setDiscountRate(double discountRate) {
+        CostCalculationEngine.checkDiscountRate(discountRate);
+        this.discountRate = discountRate;
+        publish();
+    }
+
+    /**
+     * Returns the totals of the latest edit without locking
+     *
+     * @return Immutable, internally consistent totals
+     */
+    public OrderSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @param lineId Id returned by {@link #addLine}
+     * @return Immutable view of the line
+     * @throws IllegalArgumentException if the line does not exist
+     */
+    public synchronized OrderLine getLine(int lineId) {
+        checkLine(lineId);
+        return new OrderLine(lineId, itemNames[lineId], costPerItem[lineId], quantity[lineId], lineTotal[lineId]);
+    }
+
+    /**
+     * Copies every line, in line-id order
+     *
+     * This is O(n); use {@link #snapshot()} when only the totals are needed.
+     *
+     * @return Immutable views of all lines
+     */
+    public synchronized List<OrderLine> getLines() {
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int line = 0; line < highWater; line++) {
+            if (active[line]) {
+                lines.add(new OrderLine(line, itemNames[line], costPerItem[line], quantity[line], lineTotal[line]));
+            }
+        }
+        return lines;
+    }
+
+    public int getLineCount() { return snapshot.getLineCount(); }
+    public double getTotalCost() { return snapshot.getTotalCost(); }
+
+    // Prices the order from the running sum and publishes the result; caller holds the lock
+    private void publish() {
+        double itemsSubtotal = itemsHigh + itemsLow;
+        double subtotal = itemsSubtotal + deliveryCost;
+        double discountAmount = CostCalculationEngine.discountOf(subtotal, discountRate);
+        double afterDiscount = subtotal - discountAmount;
+        double taxAmount = CostCalculationEngine.taxOf(afterDiscount, taxRate);
+        snapshot = new OrderSnapshot(++version, lineCount, totalQuantity, itemsSubtotal,
+                                     deliveryCost, taxRate, discountRate,
+                                     subtotal, discountAmount, taxAmount, afterDiscount + taxAmount);
+    }
+
+    // Adds to the items subtotal, carrying the rounding error of each step (Knuth's TwoSum)
+    private void addToItems(double value) {
+        double sum = itemsHigh + value;
+        double virtual = sum - itemsHigh;
+        double error = (itemsHigh - (sum - virtual)) + (value - virtual);
+        itemsHigh = sum;
+        itemsLow += error;
+    }
+
+    // An infinite total would turn the TwoSum error into NaN, which no later edit could remove
+    private static void checkTotals(double lineTotal, double itemsHighAfter) {
+        if (!Double.isFinite(lineTotal) || !Double.isFinite(itemsHighAfter)) {
+            throw new IllegalArgumentException("Order total is too large");
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeHead != NO_SLOT) {
+            int line = freeHead;
+            freeHead = nextFree[line];
+            return line;
+        }
+        if (highWater == active.length) {
+            int capacity = active.length * 2;
+            itemNames = Arrays.copyOf(itemNames, capacity);
+            costPerItem = Arrays.copyOf(costPerItem, capacity);
+            quantity = Arrays.copyOf(quantity, capacity);
+            lineTotal = Arrays.copyOf(lineTotal, capacity);
+            active = Arrays.copyOf(active, capacity);
+            nextFree = Arrays.copyOf(nextFree, capacity);
+        }
+        return highWater++;
+    }
+
+    private void checkLine(int lineId) {
+        if (lineId < 0 || lineId >= highWater || !active[lineId]) {
+            throw new IllegalArgumentException("Order has no line " + lineId);
+        }
+    }
+}
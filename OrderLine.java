@@ -0,0 +1,39 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Immutable view of one line of an {@link Order}
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class OrderLine {
+    private final int lineId;
+    private final String itemName;
+    private final double costPerItem;
+    private final int quantity;
+    private final double lineTotal;
+
+    OrderLine(int lineId, String itemName, double costPerItem, int quantity, double lineTotal) {
+        this.lineId = lineId;
+        this.itemName = itemName;
+        this.costPerItem = costPerItem;
+        this.quantity = quantity;
+        this.lineTotal = lineTotal;
+    }
+
+    // Getter methods for accessing line values
+    public int getLineId() { return lineId; }
+    public String getItemName() { return itemName; }
+    public double getCostPerItem() { return costPerItem; }
+    public int getQuantity() { return quantity; }
+    public double getLineTotal() { return lineTotal; }
+
+    @Override
+    public String toString() {
+        return "OrderLine[lineId=" + lineId
+            + ", itemName=" + itemName
+            + ", costPerItem=" + costPerItem
+            + ", quantity=" + quantity
+            + ", lineTotal=" + lineTotal + "]";
+    }
+}
@@ -0,0 +1,68 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Immutable, internally consistent totals of an {@link Order}
+ *
+ * Every field describes the same version of the order, so a snapshot can
+ * be read while other threads keep editing the order.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class OrderSnapshot {
+    private final long version;
+    private final int lineCount;
+    private final long totalQuantity;
+    private final double itemsSubtotal;
+    private final double deliveryCost;
+    private final double taxRate;
+    private final double discountRate;
+    private final double subtotal;
+    private final double discountAmount;
+    private final double taxAmount;
+    private final double totalCost;
+
+    OrderSnapshot(long version, int lineCount, long totalQuantity, double itemsSubtotal,
+                  double deliveryCost, double taxRate, double discountRate,
+                  double subtotal, double discountAmount, double taxAmount, double totalCost) {
+        this.version = version;
+        this.lineCount = lineCount;
+        this.totalQuantity = totalQuantity;
+        this.itemsSubtotal = itemsSubtotal;
+        this.deliveryCost = deliveryCost;
+        this.taxRate = taxRate;
+        this.discountRate = discountRate;
+        this.subtotal = subtotal;
+        this.discountAmount = discountAmount;
+        this.taxAmount = taxAmount;
+        this.totalCost = totalCost;
+    }
+
+    // Getter methods for accessing order totals
+    public long getVersion() { return version; }
+    public int getLineCount() { return lineCount; }
+    public long getTotalQuantity() { return totalQuantity; }
+    public double getItemsSubtotal() { return itemsSubtotal; }
+    public double getDeliveryCost() { return deliveryCost; }
+    public double getTaxRate() { return taxRate; }
+    public double getDiscountRate() { return discountRate; }
+    public double getSubtotal() { return subtotal; }
+    public double getDiscountAmount() { return discountAmount; }
+    public double getTaxAmount() { return taxAmount; }
+    public double getTotalCost() { return totalCost; }
+
+    @Override
+    public String toString() {
+        return "OrderSnapshot[version=" + version
+            + ", lineCount=" + lineCount
+            + ", totalQuantity=" + totalQuantity
+            + ", itemsSubtotal=" + itemsSubtotal
+            + ", deliveryCost=" + deliveryCost
+            + ", taxRate=" + taxRate
+            + ", discountRate=" + discountRate
+            + ", subtotal=" + subtotal
+            + ", discountAmount=" + discountAmount
+            + ", taxAmount=" + taxAmount
+            + ", totalCost=" + totalCost + "]";
+    }
+}
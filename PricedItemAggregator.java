@@ -0,0 +1,484 @@
+package Professional_Cost_Calculator;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * One-pass aggregation of priced line items into a consolidated report
+ *
+ * Features:
+ * - Totals per item name: lines, quantity, subtotal, discount given, tax
+ *   collected and revenue
+ * - Groups are keyed by the item-name id from an {@link ItemNameDictionary}
+ *   in an open-addressing int hash table with one primitive array per
+ *   column, so no object is created per row or per group
+ * - Memory grows with the number of distinct items, never with the number of
+ *   rows; line totals go into a fixed-size {@link RevenueSketch} for
+ *   percentiles
+ * - Partial aggregates are combined with {@link #merge(PricedItemAggregator)};
+ *   {@link #aggregate(MappedLineItemFile, ItemNameDictionary, ForkJoinPool, long)}
+ *   builds one partial per slice of a record file in parallel and merges them
+ * - {@link #generateReport(int)} renders the result in the layout of
+ *   {@link CostCalculationEngine#generateDetailedReport()}
+ *
+ * An aggregator is not thread-safe; give each thread its own and merge them.
+ * The dictionary is thread-safe and may be shared by all partials.
+ * Rows rejected by a lenient batch (NaN totals) are skipped.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class PricedItemAggregator {
+    private static final String NEWLINE = System.lineSeparator();
+    private static final String DOUBLE_RULE = "=".repeat(50);
+    private static final String SINGLE_RULE = "-".repeat(50);
+    private static final String REPORT_HEADER =
+        "\n" + DOUBLE_RULE + "\n" + "             CONSOLIDATED COST REPORT\n" + DOUBLE_RULE + "\n";
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99};
+    private static final long DEFAULT_SLICE_RECORDS = 1 << 18;
+    private static final int INITIAL_GROUPS = 64;
+
+    private final ItemNameDictionary names;
+
+    // Hash table: slot -> group index + 1 (0 = empty), probed linearly by name id
+    private int[] table = new int[INITIAL_GROUPS * 2];
+
+    // One entry per group
+    private int[] groupNameId = new int[INITIAL_GROUPS];
+    private long[] groupLines = new long[INITIAL_GROUPS];
+    private long[] groupQuantity = new long[INITIAL_GROUPS];
+    private double[] groupSubtotal = new double[INITIAL_GROUPS];
+    private double[] groupDiscount = new double[INITIAL_GROUPS];
+    private double[] groupTax = new double[INITIAL_GROUPS];
+    private double[] groupRevenue = new double[INITIAL_GROUPS];
+    private int groupCount;
+
+    private final RevenueSketch lineTotals = new RevenueSketch();
+    private long totalQuantity;
+    private double totalSubtotal;
+    private double totalDiscount;
+    private double totalTax;
+
+    /**
+     * @param names Dictionary that the name ids passed in refer to, used to
+     *              assign ids to quotes and to print names in the report
+     */
+    public PricedItemAggregator(ItemNameDictionary names) {
+        this.names = names;
+    }
+
+    /**
+     * Adds one priced line item
+     *
+     * @param nameId Dictionary id of the item name
+     * @param quantity Number of items
+     * @param subtotal Items + delivery
+     * @param discountAmount Discount given
+     * @param taxAmount Tax collected
+     * @param totalCost Final total; NaN marks a rejected row, which is skipped
+     */
+    public void add(int nameId, int quantity, double subtotal, double discountAmount, double taxAmount,
+                    double totalCost) {
+        if (Double.isNaN(totalCost)) {
+            return;
+        }
+        int group = groupOf(nameId);
+        groupLines[group]++;
+        groupQuantity[group] += quantity;
+        groupSubtotal[group] += subtotal;
+        groupDiscount[group] += discountAmount;
+        groupTax[group] += taxAmount;
+        groupRevenue[group] += totalCost;
+
+        totalQuantity += quantity;
+        totalSubtotal += subtotal;
+        totalDiscount += discountAmount;
+        totalTax += taxAmount;
+        lineTotals.record(totalCost);
+    }
+
+    /**
+     * Adds a priced quote, assigning its name an id if it is new
+     *
+     * @param quote Priced quote
+     */
+    public void add(CostQuote quote) {
+        add(names.idOf(quote.getItemName()), quote.getQuantity(), quote.getSubtotal(),
+            quote.getDiscountAmount(), quote.getTaxAmount(), quote.getTotalCost());
+    }
+
+    /**
+     * Adds the priced rows of a batch
+     *
+     * @param batch Priced batch
+     * @param nameIds Dictionary id of each row's item name
+     */
+    public void addRows(LineItemBatch batch, int[] nameIds) {
+        int[] quantity = batch.getQuantity();
+        double[] subtotal = batch.getSubtotal();
+        double[] discountAmount = batch.getDiscountAmount();
+        double[] taxAmount = batch.getTaxAmount();
+        double[] totalCost = batch.getTotalCost();
+        for (int i = 0; i < batch.size(); i++) {
+            add(nameIds[i], quantity[i], subtotal[i], discountAmount[i], taxAmount[i], totalCost[i]);
+        }
+    }
+
+    /**
+     * Adds the priced rows of a line-item store
+     *
+     * @param store Store priced with {@link LineItemStore#price()}, over this aggregate's dictionary
+     */
+    public void addRows(LineItemStore store) {
+        for (int row = 0; row < store.size(); row++) {
+            add(store.getNameId(row), store.getQuantity(row), store.getSubtotal(row),
+                store.getDiscountAmount(row), store.getTaxAmount(row), store.getTotalCost(row));
+        }
+    }
+
+    /**
+     * Adds a range of priced records from a record file
+     *
+     * @param records Record file priced with {@link MappedLineItemFile#priceInPlace()}
+     * @param from Index of the first record
+     * @param to Index after the last record
+     */
+    public void addRecords(MappedLineItemFile records, long from, long to) {
+        for (long r = from; r < to; r++) {
+            add(records.getNameId(r), records.getQuantity(r), records.getSubtotal(r),
+                records.getDiscountAmount(r), records.getTaxAmount(r), records.getTotalCost(r));
+        }
+    }
+
+    /**
+     * Adds everything aggregated by another partial to this one
+     *
+     * @param other Partial aggregate over the same dictionary
+     * @throws IllegalArgumentException if the other aggregate uses a different dictionary
+     */
+    public void merge(PricedItemAggregator other) {
+        if (other.names != names) {
+            throw new IllegalArgumentException("Aggregates must share one item-name dictionary");
+        }
+        for (int g = 0; g < other.groupCount; g++) {
+            int group = groupOf(other.groupNameId[g]);
+            groupLines[group] += other.groupLines[g];
+            groupQuantity[group] += other.groupQuantity[g];
+            groupSubtotal[group] += other.groupSubtotal[g];
+            groupDiscount[group] += other.groupDiscount[g];
+            groupTax[group] += other.groupTax[g];
+            groupRevenue[group] += other.groupRevenue[g];
+        }
+        totalQuantity += other.totalQuantity;
+        totalSubtotal += other.totalSubtotal;
+        totalDiscount += other.totalDiscount;
+        totalTax += other.totalTax;
+        lineTotals.add(other.lineTotals);
+    }
+
+    /**
+     * Aggregates a priced record file on the common pool
+     *
+     * @param records Priced record file
+     * @param names Dictionary of the file's item names
+     * @return Aggregate over every record
+     */
+    public static PricedItemAggregator aggregate(MappedLineItemFile records, ItemNameDictionary names) {
+        return aggregate(records, names, ForkJoinPool.commonPool(), DEFAULT_SLICE_RECORDS);
+    }
+
+    /**
+     * Aggregates a priced record file in parallel
+     *
+     * The file is split in halves until a slice holds at most
+     * {@code sliceRecords} records; each slice is aggregated into its own
+     * partial and the partials are merged on the way back up.
+     *
+     * @param records Priced record file
+     * @param names Dictionary of the file's item names
+     * @param pool Fork/join pool that runs the slices
+     * @param sliceRecords Maximum number of records aggregated by one task without splitting
+     * @return Aggregate over every record
+     * @throws IllegalArgumentException if sliceRecords is less than 1
+     */
+    public static PricedItemAggregator aggregate(MappedLineItemFile records, ItemNameDictionary names,
+                                                 ForkJoinPool pool, long sliceRecords) {
+        if (sliceRecords < 1) {
+            throw new IllegalArgumentException("Slice size must be at least 1");
+        }
+        return pool.invoke(new AggregationTask(records, names, 0, records.getRecordCount(), sliceRecords));
+    }
+
+    /**
+     * Fork/join task that aggregates a slice of a record file
+     */
+    @SuppressWarnings("serial") // Runs in one pool and is never serialized
+    private static final class AggregationTask extends RecursiveTask<PricedItemAggregator> {
+        private final MappedLineItemFile records;
+        private final ItemNameDictionary names;
+        private final long from;
+        private final long to;
+        private final long sliceRecords;
+
+        AggregationTask(MappedLineItemFile records, ItemNameDictionary names, long from, long to,
+                        long sliceRecords) {
+            this.records = records;
+            this.names = names;
+            this.from = from;
+            this.to = to;
+            this.sliceRecords = sliceRecords;
+        }
+
+        @Override
+        protected PricedItemAggregator compute() {
+            if (to - from <= sliceRecords) {
+                PricedItemAggregator partial = new PricedItemAggregator(names);
+                partial.addRecords(records, from, to);
+                return partial;
+            }
+            long mid = (from + to) >>> 1;
+            AggregationTask right = new AggregationTask(records, names, mid, to, sliceRecords);
+            right.fork();
+            PricedItemAggregator left = new AggregationTask(records, names, from, mid, sliceRecords).compute();
+            left.merge(right.join());
+            return left;
+        }
+    }
+
+    // Finds or creates the group of a name id
+    private int groupOf(int nameId) {
+        int mask = table.length - 1;
+        int slot = mix(nameId) & mask;
+        while (true) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return newGroup(nameId, slot);
+            }
+            if (groupNameId[entry - 1] == nameId) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int newGroup(int nameId, int slot) {
+        if (groupCount == groupNameId.length) {
+            growGroups();
+        }
+        int group = groupCount++;
+        groupNameId[group] = nameId;
+        table[slot] = group + 1;
+        if (groupCount * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return group;
+    }
+
+    private void growGroups() {
+        int capacity = groupNameId.length * 2;
+        groupNameId = Arrays.copyOf(groupNameId, capacity);
+        groupLines = Arrays.copyOf(groupLines, capacity);
+        groupQuantity = Arrays.copyOf(groupQuantity, capacity);
+        groupSubtotal = Arrays.copyOf(groupSubtotal, capacity);
+        groupDiscount = Arrays.copyOf(groupDiscount, capacity);
+        groupTax = Arrays.copyOf(groupTax, capacity);
+        groupRevenue = Arrays.copyOf(groupRevenue, capacity);
+    }
+
+    private void rehash(int tableSize) {
+        int[] rehashed = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int group = 0; group < groupCount; group++) {
+            int slot = mix(groupNameId[group]) & mask;
+            while (rehashed[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = group + 1;
+        }
+        table = rehashed;
+    }
+
+    // Spreads dense ids over the table
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Aggregate totals
+    public long getLineCount() { return lineTotals.getCount(); }
+    public int getItemCount() { return groupCount; }
+    public long getTotalQuantity() { return totalQuantity; }
+    public double getSubtotal() { return totalSubtotal; }
+    public double getDiscountGiven() { return totalDiscount; }
+    public double getTaxCollected() { return totalTax; }
+    public double getRevenue() { return lineTotals.getSum(); }
+
+    /**
+     * @return Distribution of the line totals, for percentiles
+     */
+    public RevenueSketch getLineTotals() { return lineTotals; }
+
+    /**
+     * @param nameId Dictionary id of an item name
+     * @return Revenue from the item, or 0 if it was never added
+     */
+    public double getItemRevenue(int nameId) {
+        int group = findGroup(nameId);
+        return group < 0 ? 0 : groupRevenue[group];
+    }
+
+    /**
+     * @param nameId Dictionary id of an item name
+     * @return Quantity sold of the item, or 0 if it was never added
+     */
+    public long getItemQuantity(int nameId) {
+        int group = findGroup(nameId);
+        return group < 0 ? 0 : groupQuantity[group];
+    }
+
+    private int findGroup(int nameId) {
+        int mask = table.length - 1;
+        int slot = mix(nameId) & mask;
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (groupNameId[entry - 1] == nameId) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Generates the consolidated report in Pakistani Rupees
+     *
+     * @param topItems Number of items listed by revenue
+     * @return Formatted report
+     */
+    public String generateReport(int topItems) {
+        return appendReport(new StringBuilder(1024), topItems, CurrencyFormatter.getDefault()).toString();
+    }
+
+    /**
+     * Generates the consolidated report for a market
+     *
+     * @param topItems Number of items listed by revenue
+     * @param locale Locale for currency amounts
+     * @return Formatted report
+     */
+    public String generateReport(int topItems, Locale locale) {
+        return appendReport(new StringBuilder(1024), topItems, CurrencyFormatter.forLocale(locale)).toString();
+    }
+
+    private StringBuilder appendReport(StringBuilder out, int topItems, CurrencyFormatter currency) {
+        out.append(REPORT_HEADER);
+        out.append("Line Items          : ").append(getLineCount()).append(NEWLINE);
+        out.append("Distinct Items      : ").append(groupCount).append(NEWLINE);
+        out.append("Total Quantity      : ").append(totalQuantity).append(" items").append(NEWLINE);
+        currency.append(out.append("Subtotal            : "), totalSubtotal).append(NEWLINE);
+        if (totalDiscount > 0) {
+            currency.append(out.append("Discount Given      : -"), totalDiscount).append(NEWLINE);
+        }
+        if (totalTax > 0) {
+            currency.append(out.append("Tax Collected       : "), totalTax).append(NEWLINE);
+        }
+        out.append(SINGLE_RULE).append('\n');
+        currency.append(out.append("TOTAL REVENUE       : "), getRevenue()).append(NEWLINE);
+        out.append(DOUBLE_RULE).append('\n');
+
+        if (getLineCount() > 0) {
+            for (double percentile : REPORTED_PERCENTILES) {
+                out.append("Line Total p").append((int) percentile).append("      : ");
+                currency.append(out.append('~'), lineTotals.getValueAtPercentile(percentile)).append(NEWLINE);
+            }
+            currency.append(out.append("Largest Line Total  : "), lineTotals.getMax()).append(NEWLINE);
+            out.append(DOUBLE_RULE).append('\n');
+        }
+
+        int[] top = topGroups(topItems);
+        if (top.length > 0) {
+            out.append("Top ").append(top.length).append(" Items by Revenue").append(NEWLINE);
+            out.append(SINGLE_RULE).append('\n');
+            for (int group : top) {
+                appendItemName(out, names.nameOf(groupNameId[group]));
+                currency.append(out.append(": "), groupRevenue[group]);
+                out.append(" (").append(groupQuantity[group]).append(" items, ");
+                out.append(groupLines[group]).append(groupLines[group] == 1 ? " line)" : " lines)").append(NEWLINE);
+            }
+            out.append(DOUBLE_RULE).append('\n');
+        }
+        return out;
+    }
+
+    // Pads or cuts the name to the report's label width
+    private static void appendItemName(StringBuilder out, String name) {
+        String label = name.isEmpty() ? "(unnamed)" : name;
+        if (label.length() > 19) {
+            out.append(label, 0, 18).append("… ");
+            return;
+        }
+        out.append(label);
+        for (int i = label.length(); i < 20; i++) {
+            out.append(' ');
+        }
+    }
+
+    // Groups with the highest revenue, highest first; only a small heap of indices is kept
+    private int[] topGroups(int limit) {
+        int size = Math.max(0, Math.min(limit, groupCount));
+        int[] heap = new int[size]; // Min-heap on revenue
+        int filled = 0;
+        for (int group = 0; group < groupCount && size > 0; group++) {
+            if (filled < size) {
+                heap[filled] = group;
+                siftUp(heap, filled++);
+            } else if (groupRevenue[group] > groupRevenue[heap[0]]) {
+                heap[0] = group;
+                siftDown(heap, 0, size);
+            }
+        }
+        int[] ordered = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ordered[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, 0, i);
+        }
+        return ordered;
+    }
+
+    private void siftUp(int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (groupRevenue[heap[parent]] <= groupRevenue[heap[i]]) {
+                return;
+            }
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int i, int size) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && groupRevenue[heap[left]] < groupRevenue[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < size && groupRevenue[heap[right]] < groupRevenue[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(heap, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int t = heap[a];
+        heap[a] = heap[b];
+        heap[b] = t;
+    }
+}
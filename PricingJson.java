@@ -0,0 +1,329 @@
+package Professional_Cost_Calculator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reading and writing for the pricing service
+ *
+ * Features:
+ * - Reads one object, or an array of objects, whose values are strings,
+ *   numbers, booleans or null; nothing deeper is needed for line items
+ * - Writes quotes straight into a StringBuilder, without a tree
+ * - Malformed input is reported with IllegalArgumentException and the
+ *   character offset
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+final class PricingJson {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String text;
+    private int position;
+
+    private PricingJson(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses a single flat object
+     *
+     * @param text JSON text
+     * @return Field values: String, Double, Boolean or null
+     * @throws IllegalArgumentException if the text is not a flat JSON object
+     */
+    static Map<String, Object> parseObject(String text) {
+        PricingJson parser = new PricingJson(text);
+        Map<String, Object> object = parser.readObject();
+        parser.expectEnd();
+        return object;
+    }
+
+    /**
+     * Parses an array of flat objects
+     *
+     * @param text JSON text
+     * @return One field map per element
+     * @throws IllegalArgumentException if the text is not an array of flat JSON objects
+     */
+    static List<Map<String, Object>> parseObjectArray(String text) {
+        PricingJson parser = new PricingJson(text);
+        List<Map<String, Object>> objects = new ArrayList<>();
+        parser.expect('[');
+        if (!parser.consume(']')) {
+            do {
+                objects.add(parser.readObject());
+            } while (parser.consume(','));
+            parser.expect(']');
+        }
+        parser.expectEnd();
+        return objects;
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new HashMap<>();
+        expect('{');
+        if (consume('}')) {
+            return object;
+        }
+        do {
+            skipWhitespace();
+            String name = readString();
+            expect(':');
+            object.put(name, readValue());
+        } while (consume(','));
+        expect('}');
+        return object;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Value expected");
+        }
+        char c = text.charAt(position);
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            return readNumber();
+        }
+        if (text.startsWith("true", position)) {
+            position += 4;
+            return Boolean.TRUE;
+        }
+        if (text.startsWith("false", position)) {
+            position += 5;
+            return Boolean.FALSE;
+        }
+        if (text.startsWith("null", position)) {
+            position += 4;
+            return null;
+        }
+        throw error("Unsupported value");
+    }
+
+    // JSON number grammar: -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?, and finite
+    private Double readNumber() {
+        int start = position;
+        consumeChar('-');
+        if (consumeChar('0')) {
+            if (digits() > 0) {
+                position = start;
+                throw error("Invalid number: leading zero");
+            }
+        } else if (digits() == 0) {
+            position = start;
+            throw error("Invalid number");
+        }
+        if (consumeChar('.') && digits() == 0) {
+            position = start;
+            throw error("Invalid number");
+        }
+        if (consumeChar('e') || consumeChar('E')) {
+            if (!consumeChar('+')) {
+                consumeChar('-');
+            }
+            if (digits() == 0) {
+                position = start;
+                throw error("Invalid number");
+            }
+        }
+        double value = Double.parseDouble(text.substring(start, position));
+        if (Double.isInfinite(value)) {
+            position = start;
+            throw error("Number out of range");
+        }
+        return value;
+    }
+
+    private int digits() {
+        int count = 0;
+        while (position < text.length() && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+            position++;
+            count++;
+        }
+        return count;
+    }
+
+    private boolean consumeChar(char c) {
+        if (position < text.length() && text.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private String readString() {
+        if (position >= text.length() || text.charAt(position) != '"') {
+            throw error("String expected");
+        }
+        position++;
+        StringBuilder value = null;
+        int start = position;
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            if (c == '"') {
+                String result = value == null ? text.substring(start, position)
+                                              : value.append(text, start, position).toString();
+                position++;
+                return result;
+            }
+            if (c == '\\') {
+                if (value == null) {
+                    value = new StringBuilder();
+                }
+                value.append(text, start, position);
+                position = readEscape(value, position + 1);
+                start = position;
+                continue;
+            }
+            position++;
+        }
+        throw error("Unterminated string");
+    }
+
+    // Appends one escape sequence and returns the position after it
+    private int readEscape(StringBuilder out, int at) {
+        if (at >= text.length()) {
+            throw error("Unterminated string");
+        }
+        char c = text.charAt(at);
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                out.append(c);
+                return at + 1;
+            case 'b':
+                out.append('\b');
+                return at + 1;
+            case 'f':
+                out.append('\f');
+                return at + 1;
+            case 'n':
+                out.append('\n');
+                return at + 1;
+            case 'r':
+                out.append('\r');
+                return at + 1;
+            case 't':
+                out.append('\t');
+                return at + 1;
+            case 'u':
+                if (at + 5 > text.length()) {
+                    throw error("Invalid unicode escape");
+                }
+                try {
+                    out.append((char) Integer.parseInt(text.substring(at + 1, at + 5), 16));
+                } catch (NumberFormatException e) {
+                    throw error("Invalid unicode escape");
+                }
+                return at + 5;
+            default:
+                throw error("Invalid escape");
+        }
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("'" + c + "' expected");
+        }
+    }
+
+    private boolean consume(char c) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectEnd() {
+        skipWhitespace();
+        if (position != text.length()) {
+            throw error("Unexpected trailing content");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSON at offset " + position + ": " + message);
+    }
+
+    /**
+     * Appends a quote as a JSON object
+     */
+    static StringBuilder appendQuote(StringBuilder out, CostQuote quote) {
+        out.append("{\"itemName\":");
+        appendString(out, quote.getItemName());
+        appendField(out, "costPerItem", quote.getCostPerItem());
+        out.append(",\"quantity\":").append(quote.getQuantity());
+        appendField(out, "deliveryCost", quote.getDeliveryCost());
+        appendField(out, "taxRate", quote.getTaxRate());
+        appendField(out, "discountRate", quote.getDiscountRate());
+        appendField(out, "subtotal", quote.getSubtotal());
+        appendField(out, "discountAmount", quote.getDiscountAmount());
+        appendField(out, "taxAmount", quote.getTaxAmount());
+        appendField(out, "totalCost", quote.getTotalCost());
+        return out.append('}');
+    }
+
+    /**
+     * Appends an error object without a validation code, for errors that are not about one line item
+     */
+    static StringBuilder appendError(StringBuilder out, String message) {
+        out.append("{\"error\":");
+        appendString(out, message);
+        return out.append('}');
+    }
+
+    /**
+     * Appends an error object for a rejected line item
+     *
+     * @param code ValidationError code of the rejection
+     */
+    static StringBuilder appendError(StringBuilder out, String message, int code) {
+        out.append("{\"error\":");
+        appendString(out, message);
+        out.append(",\"code\":").append(code);
+        return out.append('}');
+    }
+
+    private static void appendField(StringBuilder out, String name, double value) {
+        out.append(",\"").append(name).append("\":");
+        if (Double.isFinite(value)) {
+            out.append(value);
+        } else {
+            out.append("null");
+        }
+    }
+
+    static StringBuilder appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append('"');
+    }
+}
@@ -0,0 +1,31 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Callback for pricing events published by {@link PricingMetrics}
+ *
+ * Listeners run on the pricing thread, so they must be fast and must not
+ * block. Exceptions thrown by a listener are discarded.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public interface PricingListener {
+    /**
+     * Called after a successful calculation
+     *
+     * @param mode Calculation mode
+     * @param lineItems Number of line items priced by the call
+     * @param latencyNanos Wall-clock duration of the call, or -1 if the call
+     *                     was not sampled for latency
+     */
+    default void onCalculation(PricingMode mode, long lineItems, long latencyNanos) {
+    }
+
+    /**
+     * Called when validation rejects a line item
+     *
+     * @param reason Why the line item was rejected
+     */
+    default void onRejection(ValidationError reason) {
+    }
+}
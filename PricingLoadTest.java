@@ -0,0 +1,183 @@
+package Professional_Cost_Calculator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for {@link PricingServer}
+ *
+ * Features:
+ * - A fixed number of client threads each send one request, wait for the
+ *   answer and send the next, until the request budget is spent
+ * - Warm-up requests are sent first and left out of the results
+ * - Latencies go into a {@link LatencyHistogram}, so the report gives
+ *   throughput and p50/p90/p99/p99.9/max without storing every sample
+ *
+ * Usage: {@code PricingLoadTest <baseUrl> [requests] [concurrency] [batchSize]};
+ * a batch size above 0 targets {@code /quote/batch} with that many items
+ * per request.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class PricingLoadTest {
+    private static final int DEFAULT_REQUESTS = 100_000;
+    private static final int DEFAULT_CONCURRENCY = 16;
+    private static final int MAX_WARMUP_REQUESTS = 10_000;
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final int concurrency;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong remaining = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile boolean recording;
+
+    /**
+     * @param baseUrl Server address, e.g. http://localhost:8080
+     * @param concurrency Number of requests in flight
+     * @param batchSize Items per request; 0 sends single quotes
+     * @throws IllegalArgumentException if concurrency is less than 1 or batchSize is negative
+     */
+    public PricingLoadTest(String baseUrl, int concurrency, int batchSize) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Batch size cannot be negative");
+        }
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.client = HttpClient.newBuilder()
+                                .version(HttpClient.Version.HTTP_1_1)
+                                .connectTimeout(Duration.ofSeconds(5))
+                                .build();
+        this.request = HttpRequest.newBuilder(URI.create(base + (batchSize == 0 ? "/quote" : "/quote/batch")))
+                                  .header("Content-Type", "application/json")
+                                  .POST(HttpRequest.BodyPublishers.ofString(requestBody(batchSize)))
+                                  .build();
+        this.concurrency = concurrency;
+    }
+
+    // Same items every run, so results are comparable
+    private static String requestBody(int batchSize) {
+        if (batchSize == 0) {
+            return lineItem(0);
+        }
+        StringBuilder body = new StringBuilder(batchSize * 112).append('[');
+        for (int i = 0; i < batchSize; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(lineItem(i));
+        }
+        return body.append(']').toString();
+    }
+
+    private static String lineItem(int i) {
+        return String.format("{\"itemName\":\"Item %d\",\"costPerItem\":%d.%02d,\"quantity\":%d,"
+                             + "\"deliveryCost\":%d.0,\"taxRate\":0.08,\"discountRate\":0.%02d}",
+                             i, 10 + i % 990, i % 100, 1 + i % 50, i % 7 * 25, i % 4 * 5);
+    }
+
+    /**
+     * Sends the warm-up and measured requests
+     *
+     * @param requests Number of measured requests
+     * @return Wall-clock time of the measured phase in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    public long run(long requests) throws InterruptedException {
+        recording = false;
+        drive(Math.min(requests / 10, MAX_WARMUP_REQUESTS));
+        latency.reset();
+        failures.set(0);
+        recording = true;
+        long start = System.nanoTime();
+        drive(requests);
+        return System.nanoTime() - start;
+    }
+
+    private void drive(long requests) throws InterruptedException {
+        remaining.set(requests);
+        Thread[] clients = new Thread[concurrency];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new Thread(this::sendUntilDone, "pricing-load-" + i);
+            clients[i].start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+    }
+
+    private void sendUntilDone() {
+        while (remaining.getAndDecrement() > 0) {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() == 200;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                latency.record(System.nanoTime() - start);
+                if (!ok) {
+                    failures.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints throughput and latency percentiles of the last run
+     *
+     * @param out Destination
+     * @param elapsedNanos Value returned by {@link #run}
+     */
+    public void report(PrintStream out, long elapsedNanos) {
+        long count = latency.getCount();
+        double seconds = elapsedNanos / 1e9;
+        out.println("=".repeat(50));
+        out.println("               PRICING LOAD TEST");
+        out.println("=".repeat(50));
+        out.printf("Target              : %s%n", request.uri());
+        out.printf("Concurrency         : %d%n", concurrency);
+        out.printf("Requests            : %d (%d failed)%n", count, failures.get());
+        out.printf("Elapsed             : %.2f s%n", seconds);
+        out.printf("Throughput          : %.0f requests/s%n", seconds > 0 ? count / seconds : 0.0);
+        out.println("-".repeat(50));
+        out.printf("Latency p50         : %.1f µs%n", latency.getValueAtPercentile(50) / 1e3);
+        out.printf("Latency p90         : %.1f µs%n", latency.getValueAtPercentile(90) / 1e3);
+        out.printf("Latency p99         : %.1f µs%n", latency.getValueAtPercentile(99) / 1e3);
+        out.printf("Latency p99.9       : %.1f µs%n", latency.getValueAtPercentile(99.9) / 1e3);
+        out.printf("Latency max         : %.1f µs%n", latency.getMax() / 1e3);
+        out.println("=".repeat(50));
+    }
+
+    // Results of the last run
+    public LatencyHistogram getLatency() { return latency; }
+    public long getFailureCount() { return failures.get(); }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1 || args.length > 4) {
+            System.err.println("Usage: PricingLoadTest <baseUrl> [requests] [concurrency] [batchSize]");
+            System.exit(2);
+        }
+        long requests = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_REQUESTS;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CONCURRENCY;
+        int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        PricingLoadTest test = new PricingLoadTest(args[0], concurrency, batchSize);
+        test.report(System.out, test.run(requests));
+        System.exit(test.getFailureCount() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,317 @@
+package Professional_Cost_Calculator;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide pricing metrics
+ *
+ * Features:
+ * - Calls and line items priced per {@link PricingMode}, on striped
+ *   LongAdder counters so concurrent pricing threads do not contend
+ * - Fixed-memory latency histogram per mode, fed by a random sample of
+ *   calls (one in {@value #DEFAULT_LATENCY_SAMPLE_INTERVAL} by default) because
+ *   reading the clock can cost more than pricing a line item
+ * - Rejection counts per {@link ValidationError}
+ * - JMX MXBean under {@value #OBJECT_NAME} and pluggable {@link PricingListener}s
+ *
+ * Starting the JVM with {@code -Dcostcalc.metrics.disabled=true} turns all
+ * recording off. The switch is a static final constant, so the JIT removes
+ * the instrumentation from the pricing paths entirely. {@link #setEnabled}
+ * pauses and resumes recording at run time; while paused a call costs one
+ * flag read, with no random draw and no clock read. The sampling interval
+ * is set with {@code -Dcostcalc.metrics.latencySampleInterval=N}, where N is
+ * a power of two; 1 times every call.
+ *
+ * A recorded call costs a random draw and one counter update; only sampled
+ * calls read the clock, and listeners are only called when there are some.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class PricingMetrics implements PricingMetricsMXBean {
+    /** JMX object name of the metrics MXBean */
+    public static final String OBJECT_NAME = "Professional_Cost_Calculator:type=PricingMetrics";
+
+    /** Calls per latency sample unless configured otherwise */
+    public static final int DEFAULT_LATENCY_SAMPLE_INTERVAL = 64;
+
+    static final boolean ENABLED = !Boolean.getBoolean("costcalc.metrics.disabled");
+
+    // Run-time switch; only read when ENABLED
+    private static volatile boolean recording = true;
+
+    // Sampling mask: a call is timed when a random int has none of these bits set
+    private static final int SAMPLE_MASK = sampleMask(
+        Integer.getInteger("costcalc.metrics.latencySampleInterval", DEFAULT_LATENCY_SAMPLE_INTERVAL));
+
+    private static final PricingMode[] MODES = PricingMode.values();
+    private static final ValidationError[] REASONS = ValidationError.values();
+    private static final PricingListener[] NO_LISTENERS = new PricingListener[0];
+
+    private static final PricingMetrics INSTANCE = new PricingMetrics();
+
+    private final LongAdder[] calculations = newAdders(MODES.length);
+    // Line items beyond the first per call, so single-item calls touch one counter
+    private final LongAdder[] extraLineItems = newAdders(MODES.length);
+    private final LongAdder[] rejections = newAdders(REASONS.length);
+    private final LatencyHistogram[] latencies = new LatencyHistogram[MODES.length];
+
+    // Copy-on-write, so publishing an event never locks
+    private volatile PricingListener[] listeners = NO_LISTENERS;
+
+    private PricingMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * @return The process-wide metrics
+     */
+    public static PricingMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, once
+     *
+     * @throws IllegalStateException if registration fails
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered concurrently by another thread
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    // Instrumentation hooks for the pricing paths; no-ops when disabled
+
+    /**
+     * @return Start time for {@link #recordCalculation}, or 0 when this call
+     *         is not sampled or metrics are disabled
+     */
+    static long startTimer() {
+        if (ENABLED && recording && (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0) {
+            return System.nanoTime();
+        }
+        return 0L;
+    }
+
+    static void recordCalculation(PricingMode mode, long items, long startNanos) {
+        if (ENABLED && recording) {
+            INSTANCE.onCalculation(mode, items, startNanos == 0L ? -1L : System.nanoTime() - startNanos);
+        }
+    }
+
+    static void recordRejection(ValidationError reason) {
+        if (ENABLED && recording) {
+            INSTANCE.onRejection(reason);
+        }
+    }
+
+    private void onCalculation(PricingMode mode, long items, long latencyNanos) {
+        int index = mode.ordinal();
+        calculations[index].increment();
+        if (items != 1) {
+            extraLineItems[index].add(items - 1);
+        }
+        if (latencyNanos >= 0) {
+            latencies[index].record(latencyNanos);
+        }
+        PricingListener[] current = listeners;
+        if (current.length != 0) {
+            notifyCalculation(current, mode, items, latencyNanos);
+        }
+    }
+
+    // Kept out of line so that the common case, no listeners, stays small enough to inline
+    private static void notifyCalculation(PricingListener[] current, PricingMode mode, long items,
+                                          long latencyNanos) {
+        for (PricingListener listener : current) {
+            try {
+                listener.onCalculation(mode, items, latencyNanos);
+            } catch (RuntimeException e) {
+                // A faulty listener must not break pricing
+            }
+        }
+    }
+
+    private void onRejection(ValidationError reason) {
+        rejections[reason.ordinal()].increment();
+        for (PricingListener listener : listeners) {
+            try {
+                listener.onRejection(reason);
+            } catch (RuntimeException e) {
+                // A faulty listener must not break validation
+            }
+        }
+    }
+
+    /**
+     * Adds a listener that is notified of every calculation and rejection
+     *
+     * @param listener Listener to add
+     */
+    public synchronized void addListener(PricingListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        PricingListener[] current = listeners;
+        PricingListener[] updated = new PricingListener[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener}
+     *
+     * @param listener Listener to remove
+     * @return true if the listener was registered
+     */
+    public synchronized boolean removeListener(PricingListener listener) {
+        PricingListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                PricingListener[] updated = new PricingListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Direct accessors for embedding code
+    public long getCalculationCount(PricingMode mode) { return calculations[mode.ordinal()].sum(); }
+    public long getLineItemCount(PricingMode mode) {
+        int index = mode.ordinal();
+        return calculations[index].sum() + extraLineItems[index].sum();
+    }
+    public long getRejectionCount(ValidationError reason) { return rejections[reason.ordinal()].sum(); }
+
+    /**
+     * @param mode Calculation mode
+     * @return Copy of the sampled latency histogram for the mode, in nanoseconds
+     */
+    public LatencyHistogram getLatency(PricingMode mode) {
+        return latencies[mode.ordinal()].copy();
+    }
+
+    // MXBean attributes
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED && recording;
+    }
+
+    /**
+     * Pauses or resumes recording; counters keep their values while paused
+     *
+     * Has no effect when the JVM was started with
+     * {@code -Dcostcalc.metrics.disabled=true}.
+     *
+     * @param enabled false to stop recording calculations and rejections
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        recording = enabled;
+    }
+
+    @Override
+    public Map<String, Long> getCalculationCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (PricingMode mode : MODES) {
+            counts.put(mode.name(), getCalculationCount(mode));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getLineItemCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (PricingMode mode : MODES) {
+            counts.put(mode.name(), getLineItemCount(mode));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ValidationError reason : REASONS) {
+            counts.put(reason.name(), getRejectionCount(reason));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMedianNanos() {
+        return latencyPercentiles(50);
+    }
+
+    @Override
+    public Map<String, Long> getLatency99thPercentileNanos() {
+        return latencyPercentiles(99);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMaxNanos() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (PricingMode mode : MODES) {
+            values.put(mode.name(), latencies[mode.ordinal()].getMax());
+        }
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < MODES.length; i++) {
+            calculations[i].reset();
+            extraLineItems[i].reset();
+            latencies[i].reset();
+        }
+        for (LongAdder rejection : rejections) {
+            rejection.reset();
+        }
+    }
+
+    private Map<String, Long> latencyPercentiles(double percentile) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (PricingMode mode : MODES) {
+            values.put(mode.name(), latencies[mode.ordinal()].getValueAtPercentile(percentile));
+        }
+        return values;
+    }
+
+    private static int sampleMask(int interval) {
+        if (interval < 1 || Integer.bitCount(interval) != 1) {
+            throw new IllegalArgumentException("Latency sample interval must be a power of two");
+        }
+        return interval - 1;
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,31 @@
+package Professional_Cost_Calculator;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link PricingMetrics}
+ *
+ * Maps are keyed by {@link PricingMode} or {@link ValidationError} name.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public interface PricingMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getCalculationCounts();
+
+    Map<String, Long> getLineItemCounts();
+
+    Map<String, Long> getRejectionCounts();
+
+    Map<String, Long> getLatencyMedianNanos();
+
+    Map<String, Long> getLatency99thPercentileNanos();
+
+    Map<String, Long> getLatencyMaxNanos();
+
+    void reset();
+}
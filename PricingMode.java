@@ -0,0 +1,59 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Calculation modes tracked by {@link PricingMetrics} and recorded in the audit journal
+ *
+ * Each mode has a stable code that is written to journal records. Codes of
+ * existing modes must never change; a new mode takes the next unused code.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public enum PricingMode {
+    /** calculateCost: items and delivery, no tax or discount */
+    BASIC(0),
+    /** calculateAdvancedCost: items, delivery, tax and discount */
+    ADVANCED(1),
+    /** calculateCostWithRules: tax and discount from PricingRules */
+    RULES(2),
+    /** Stateless CostCalculationEngine.quote */
+    QUOTE(3),
+    /** CostCalculationEngine.calculateBatch */
+    BATCH(4),
+    /** CostCalculationEngine.calculateBatchParallel */
+    PARALLEL_BATCH(5),
+    /** FixedPointCostCalculator.quote */
+    FIXED_POINT(6),
+    /** FixedPointCostCalculator.calculateBatch */
+    FIXED_POINT_BATCH(7),
+    /** MappedLineItemFile.priceInPlace */
+    BINARY_FILE(8),
+    /** SensitivitySweep.run and stream; line items are grid points */
+    SWEEP(9);
+
+    private static final PricingMode[] BY_CODE = new PricingMode[10];
+
+    static {
+        for (PricingMode mode : values()) {
+            BY_CODE[mode.code] = mode;
+        }
+    }
+
+    private final int code;
+
+    PricingMode(int code) {
+        this.code = code;
+    }
+
+    public int getCode() { return code; }
+
+    /**
+     * Looks up a mode by code
+     *
+     * @param code Code written by {@link #getCode()}
+     * @return The mode, or null if no mode has that code
+     */
+    public static PricingMode fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,372 @@
+package Professional_Cost_Calculator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Tax and discount rules compiled into flat lookup tables
+ *
+ * Features:
+ * - Per-category and per-region tax rates, with a default rate
+ * - Quantity-break discounts (e.g. 5% from 10 items) and tiered discounts
+ *   on the subtotal (e.g. 10% from Rs10,000)
+ * - Loaded from a properties file and compiled once: tiers become sorted
+ *   arrays searched with binary search, categories and regions become
+ *   perfect-hash tables, so evaluating the rules is a handful of array
+ *   reads and allocates nothing
+ * - Immutable and safe to share between threads
+ *
+ * Configuration keys:
+ * <pre>
+ * tax.default = 0.08
+ * tax.category.books = 0.0
+ * tax.region.PK-PB = 0.16
+ * discount.quantity.10 = 0.05      # 5% when quantity &gt;= 10
+ * discount.subtotal.10000 = 0.10   # 10% when subtotal &gt;= 10,000
+ * discount.max = 0.25
+ * </pre>
+ *
+ * A category rate takes precedence over a region rate, which takes
+ * precedence over the default. When both discount kinds apply, the larger
+ * one is used, capped at {@code discount.max}. Names are matched exactly.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class PricingRules {
+    private static final String TAX_DEFAULT = "tax.default";
+    private static final String TAX_CATEGORY = "tax.category.";
+    private static final String TAX_REGION = "tax.region.";
+    private static final String DISCOUNT_QUANTITY = "discount.quantity.";
+    private static final String DISCOUNT_SUBTOTAL = "discount.subtotal.";
+    private static final String DISCOUNT_MAX = "discount.max";
+
+    private static final PricingRules DEFAULTS = new PricingRules(
+        RateConfiguration.DEFAULT_TAX_RATE, RateTable.EMPTY, RateTable.EMPTY,
+        new int[0], new double[0], new double[0], new double[0], RateConfiguration.DEFAULT_MAX_DISCOUNT_RATE);
+
+    private final double defaultTaxRate;
+    private final RateTable categoryTax;
+    private final RateTable regionTax;
+    private final int[] quantityThresholds;
+    private final double[] quantityDiscounts;
+    private final double[] subtotalThresholds;
+    private final double[] subtotalDiscounts;
+    private final double maxDiscountRate;
+
+    private PricingRules(double defaultTaxRate, RateTable categoryTax, RateTable regionTax,
+                         int[] quantityThresholds, double[] quantityDiscounts,
+                         double[] subtotalThresholds, double[] subtotalDiscounts, double maxDiscountRate) {
+        this.defaultTaxRate = defaultTaxRate;
+        this.categoryTax = categoryTax;
+        this.regionTax = regionTax;
+        this.quantityThresholds = quantityThresholds;
+        this.quantityDiscounts = quantityDiscounts;
+        this.subtotalThresholds = subtotalThresholds;
+        this.subtotalDiscounts = subtotalDiscounts;
+        this.maxDiscountRate = maxDiscountRate;
+    }
+
+    /**
+     * @return Rules with the default 8% tax and no discounts
+     */
+    public static PricingRules defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Loads and compiles rules from a properties file (UTF-8)
+     *
+     * @param file Rules file
+     * @return Compiled rules
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a rule is malformed or out of range
+     */
+    public static PricingRules load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return compile(properties);
+    }
+
+    /**
+     * Compiles rules from properties
+     *
+     * Discounts may not exceed the current configuration's maximum discount rate.
+     *
+     * @param properties Rule definitions (see the class description)
+     * @return Compiled rules
+     * @throws IllegalArgumentException if a rule is malformed or out of range
+     */
+    public static PricingRules compile(Properties properties) {
+        return compile(properties, RateConfiguration.current().getMaxDiscountRate());
+    }
+
+    /**
+     * Compiles rules whose discounts may not exceed the given ceiling
+     */
+    static PricingRules compile(Properties properties, double discountCeiling) {
+        double defaultTax = RateConfiguration.DEFAULT_TAX_RATE;
+        double maxDiscount = discountCeiling;
+        List<String> categories = new ArrayList<>();
+        List<Double> categoryRates = new ArrayList<>();
+        List<String> regions = new ArrayList<>();
+        List<Double> regionRates = new ArrayList<>();
+        TreeMap<Integer, Double> quantityTiers = new TreeMap<>();
+        TreeMap<Double, Double> subtotalTiers = new TreeMap<>();
+
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.equals(TAX_DEFAULT)) {
+                defaultTax = taxRate(key, value);
+            } else if (key.equals(DISCOUNT_MAX)) {
+                maxDiscount = discountRate(key, value, discountCeiling);
+            } else if (key.startsWith(TAX_CATEGORY)) {
+                categories.add(name(key, TAX_CATEGORY));
+                categoryRates.add(taxRate(key, value));
+            } else if (key.startsWith(TAX_REGION)) {
+                regions.add(name(key, TAX_REGION));
+                regionRates.add(taxRate(key, value));
+            } else if (key.startsWith(DISCOUNT_QUANTITY)) {
+                quantityTiers.put(quantityThreshold(key), discountRate(key, value, discountCeiling));
+            } else if (key.startsWith(DISCOUNT_SUBTOTAL)) {
+                double threshold = number(key, key.substring(DISCOUNT_SUBTOTAL.length()));
+                if (threshold < 0) {
+                    throw new IllegalArgumentException("Subtotal tier cannot be negative: " + key);
+                }
+                subtotalTiers.put(threshold, discountRate(key, value, discountCeiling));
+            } else {
+                throw new IllegalArgumentException("Unknown pricing rule: " + key);
+            }
+        }
+
+        int[] quantityThresholds = new int[quantityTiers.size()];
+        double[] quantityDiscounts = new double[quantityTiers.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Double> tier : quantityTiers.entrySet()) {
+            quantityThresholds[i] = tier.getKey();
+            quantityDiscounts[i++] = tier.getValue();
+        }
+        double[] subtotalThresholds = new double[subtotalTiers.size()];
+        double[] subtotalDiscounts = new double[subtotalTiers.size()];
+        i = 0;
+        for (Map.Entry<Double, Double> tier : subtotalTiers.entrySet()) {
+            subtotalThresholds[i] = tier.getKey();
+            subtotalDiscounts[i++] = tier.getValue();
+        }
+        return new PricingRules(defaultTax, RateTable.compile(categories, categoryRates),
+                                RateTable.compile(regions, regionRates), quantityThresholds, quantityDiscounts,
+                                subtotalThresholds, subtotalDiscounts, maxDiscount);
+    }
+
+    /**
+     * Tax rate for a line item
+     *
+     * @param category Item category, or null
+     * @param region Region code, or null
+     * @return Category rate, else region rate, else the default rate
+     */
+    public double taxRateFor(String category, String region) {
+        int index = categoryTax.indexOf(category);
+        if (index >= 0) {
+            return categoryTax.rates[index];
+        }
+        index = regionTax.indexOf(region);
+        return index >= 0 ? regionTax.rates[index] : defaultTaxRate;
+    }
+
+    /**
+     * Discount rate for a line item
+     *
+     * @param quantity Number of items
+     * @param subtotal Items plus delivery, before discount
+     * @return Larger of the quantity-break and subtotal-tier discounts, capped at the maximum
+     */
+    public double discountRateFor(int quantity, double subtotal) {
+        double rate = 0.0;
+        int tier = floorIndex(quantityThresholds, quantity);
+        if (tier >= 0) {
+            rate = quantityDiscounts[tier];
+        }
+        tier = floorIndex(subtotalThresholds, subtotal);
+        if (tier >= 0 && subtotalDiscounts[tier] > rate) {
+            rate = subtotalDiscounts[tier];
+        }
+        return Math.min(rate, maxDiscountRate);
+    }
+
+    // Getters for the scalar settings
+    public double getDefaultTaxRate() { return defaultTaxRate; }
+    public double getMaxDiscountRate() { return maxDiscountRate; }
+    public boolean hasCategoryRates() { return categoryTax.size > 0; }
+    public boolean hasRegionRates() { return regionTax.size > 0; }
+
+    @Override
+    public String toString() {
+        return "PricingRules[defaultTaxRate=" + defaultTaxRate
+            + ", categories=" + categoryTax.size
+            + ", regions=" + regionTax.size
+            + ", quantityTiers=" + Arrays.toString(quantityThresholds)
+            + ", subtotalTiers=" + Arrays.toString(subtotalThresholds)
+            + ", maxDiscountRate=" + maxDiscountRate + "]";
+    }
+
+    // Index of the largest threshold <= value, or -1
+    private static int floorIndex(int[] thresholds, int value) {
+        int index = Arrays.binarySearch(thresholds, value);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static int floorIndex(double[] thresholds, double value) {
+        int index = Arrays.binarySearch(thresholds, value);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static String name(String key, String prefix) {
+        String name = key.substring(prefix.length());
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Missing name in pricing rule: " + key);
+        }
+        return name;
+    }
+
+    private static int quantityThreshold(String key) {
+        int threshold;
+        try {
+            threshold = Integer.parseInt(key.substring(DISCOUNT_QUANTITY.length()).trim());
+        } catch (NumberFormatException e) {
+            threshold = 0;
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Quantity tier must be a whole number of at least 1: " + key);
+        }
+        return threshold;
+    }
+
+    private static double number(String key, String text) {
+        try {
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in pricing rule " + key + ": '" + text + "'");
+        }
+    }
+
+    private static double taxRate(String key, String value) {
+        double rate = number(key, value);
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException(key + ": Tax rate must be between 0 and 1 (0% to 100%)");
+        }
+        return rate;
+    }
+
+    private static double discountRate(String key, String value, double ceiling) {
+        double rate = number(key, value);
+        if (!(rate >= 0 && rate <= ceiling)) {
+            throw new IllegalArgumentException(
+                String.format("%s: Discount rate must be between 0 and %.0f%%", key, ceiling * 100));
+        }
+        return rate;
+    }
+
+    /**
+     * Name-to-rate table built around a perfect hash of the configured names
+     *
+     * A multiplier is searched at load time so that every name lands in its
+     * own slot; a lookup is then one multiply, one shift and one equals.
+     * Names whose String hash codes collide fall back to linear probing.
+     */
+    private static final class RateTable {
+        static final RateTable EMPTY = new RateTable(new String[1], new double[1], 0, 0, 31, true);
+
+        private static final int MAX_SEED_ATTEMPTS = 256;
+
+        final String[] keys;
+        final double[] rates;
+        final int size;
+        private final int shift;
+        private final int multiplier;
+        private final boolean perfect;
+
+        private RateTable(String[] keys, double[] rates, int size, int multiplier, int shift, boolean perfect) {
+            this.keys = keys;
+            this.rates = rates;
+            this.size = size;
+            this.multiplier = multiplier;
+            this.shift = shift;
+            this.perfect = perfect;
+        }
+
+        static RateTable compile(List<String> names, List<Double> values) {
+            if (names.isEmpty()) {
+                return EMPTY;
+            }
+            int bits = 32 - Integer.numberOfLeadingZeros(names.size() - 1) + 1; // At least 2x the names
+            for (; bits <= 30; bits++) {
+                int slots = 1 << bits;
+                int shift = 32 - bits;
+                Random random = new Random(names.size());
+                for (int attempt = 0; attempt < MAX_SEED_ATTEMPTS; attempt++) {
+                    int multiplier = random.nextInt() | 1;
+                    String[] keys = new String[slots];
+                    double[] rates = new double[slots];
+                    if (place(names, values, keys, rates, multiplier, shift, false)) {
+                        return new RateTable(keys, rates, names.size(), multiplier, shift, true);
+                    }
+                }
+                if (slots >= 8 * names.size()) {
+                    break;
+                }
+            }
+            // Colliding hash codes: open addressing at 2x the names
+            int probingBits = 32 - Integer.numberOfLeadingZeros(names.size() - 1) + 1;
+            String[] keys = new String[1 << probingBits];
+            double[] rates = new double[1 << probingBits];
+            place(names, values, keys, rates, 0x9E3779B9, 32 - probingBits, true);
+            return new RateTable(keys, rates, names.size(), 0x9E3779B9, 32 - probingBits, false);
+        }
+
+        private static boolean place(List<String> names, List<Double> values, String[] keys, double[] rates,
+                                     int multiplier, int shift, boolean probe) {
+            for (int i = 0; i < names.size(); i++) {
+                int slot = (names.get(i).hashCode() * multiplier) >>> shift;
+                while (keys[slot] != null) {
+                    if (!probe) {
+                        return false;
+                    }
+                    slot = (slot + 1) & (keys.length - 1);
+                }
+                keys[slot] = names.get(i);
+                rates[slot] = values.get(i);
+            }
+            return true;
+        }
+
+        int indexOf(String name) {
+            if (name == null || size == 0) {
+                return -1;
+            }
+            int slot = (name.hashCode() * multiplier) >>> shift;
+            if (perfect) {
+                return name.equals(keys[slot]) ? slot : -1;
+            }
+            while (keys[slot] != null) {
+                if (keys[slot].equals(name)) {
+                    return slot;
+                }
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package Professional_Cost_Calculator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lightweight HTTP/JSON pricing service built on the JDK's HTTP server
+ *
+ * Features:
+ * - {@code POST /quote}: one line item in, one quote out
+ * - {@code POST /quote/batch}: an array of line items in, one quote or
+ *   error per item out, priced with
+ *   {@link CostCalculationEngine#calculateBatchLenient(LineItemBatch)}
+ * - One virtual thread per request when the JVM provides them (Java 21+),
+ *   otherwise a cached pool of platform threads
+ * - Prices through the stateless engine API, so requests never share
+ *   mutable state or take a lock
+ *
+ * A line item is a JSON object with {@code costPerItem} and {@code quantity},
+ * and optionally {@code itemName}, {@code deliveryCost} (default 0),
+ * {@code taxRate} (default: the configured default tax) and
+ * {@code discountRate} (default 0). Invalid input gets status 400 and
+ * {@code {"error": "..."}}.
+ *
+ * The JDK server sends headers and body in separate writes, so small
+ * responses can wait for a delayed ACK. For low latency, start the JVM with
+ * {@code -Dsun.net.httpserver.nodelay=true}; the server does not set this
+ * process-wide property itself.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class PricingServer implements Closeable {
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int MAX_BODY_BYTES = 8 << 20;
+    private static final int MAX_BATCH_ITEMS = 100_000;
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    private PricingServer(HttpServer server, ExecutorService executor, boolean virtualThreads) {
+        this.server = server;
+        this.executor = executor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Starts the service
+     *
+     * @param address Address and port to listen on (port 0 picks a free port)
+     * @return Running server; close it to stop
+     * @throws IOException if the address cannot be bound
+     */
+    public static PricingServer start(InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        ExecutorService executor = virtual != null ? virtual : Executors.newCachedThreadPool(daemonThreads());
+        PricingServer pricingServer = new PricingServer(server, executor, virtual != null);
+        server.createContext("/quote", pricingServer::handleQuote);
+        server.createContext("/quote/batch", pricingServer::handleBatch);
+        server.setExecutor(executor);
+        server.start();
+        return pricingServer;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() exists from Java 21; this code targets 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static java.util.concurrent.ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "pricing-http-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void handleQuote(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals("/quote")) {
+                send(exchange, 404, errorBody("Not found"));
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, errorBody("Use POST"));
+                return;
+            }
+            String body = readBody(exchange);
+            if (body == null) {
+                send(exchange, 413, errorBody("Request body exceeds " + MAX_BODY_BYTES + " bytes"));
+                return;
+            }
+            CostQuote quote;
+            try {
+                Map<String, Object> item = PricingJson.parseObject(body);
+                quote = CostCalculationEngine.quote(text(item, "itemName"), number(item, "costPerItem", Double.NaN),
+                                                    quantity(item), number(item, "deliveryCost", 0.0),
+                                                    number(item, "taxRate", defaultTaxRate()),
+                                                    number(item, "discountRate", 0.0));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, errorBody(e.getMessage()));
+                return;
+            }
+            send(exchange, 200, PricingJson.appendQuote(new StringBuilder(320), quote).toString());
+        }
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals("/quote/batch")) {
+                send(exchange, 404, errorBody("Not found"));
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, errorBody("Use POST"));
+                return;
+            }
+            String body = readBody(exchange);
+            if (body == null) {
+                send(exchange, 413, errorBody("Request body exceeds " + MAX_BODY_BYTES + " bytes"));
+                return;
+            }
+            List<Map<String, Object>> items;
+            try {
+                items = PricingJson.parseObjectArray(body);
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, errorBody(e.getMessage()));
+                return;
+            }
+            if (items.size() > MAX_BATCH_ITEMS) {
+                send(exchange, 413, errorBody("Batch exceeds " + MAX_BATCH_ITEMS + " items"));
+                return;
+            }
+            send(exchange, 200, priceBatch(items, RateConfiguration.current()));
+        }
+    }
+
+    // Items whose fields cannot be read become per-item errors and stay out of
+    // the batch; only the well-formed items are validated and priced. The default
+    // tax, the limits and the messages all come from the one configuration
+    static String priceBatch(List<Map<String, Object>> items, RateConfiguration config) {
+        int count = items.size();
+        LineItemBatch batch = new LineItemBatch(count);
+        int[] batchRows = new int[count];
+        String[] itemNames = new String[count];
+        String[] readErrors = new String[count];
+        int malformed = 0;
+        double defaultTax = config.getDefaultTaxRate();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> item = items.get(i);
+            try {
+                String itemName = CostCalculationEngine.normalizeItemName(text(item, "itemName"));
+                double costPerItem = number(item, "costPerItem", Double.NaN);
+                int quantity = quantity(item);
+                double deliveryCost = number(item, "deliveryCost", 0.0);
+                double taxRate = number(item, "taxRate", defaultTax);
+                double discountRate = number(item, "discountRate", 0.0);
+                itemNames[i] = itemName;
+                batchRows[i] = batch.add(costPerItem, quantity, deliveryCost, taxRate, discountRate);
+            } catch (IllegalArgumentException e) {
+                readErrors[i] = e.getMessage();
+                batchRows[i] = -1;
+                malformed++;
+            }
+        }
+        int rejected = malformed + CostCalculationEngine.calculateBatchLenient(batch, config);
+
+        StringBuilder out = new StringBuilder(64 + count * 320);
+        out.append("{\"quotes\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            int row = batchRows[i];
+            if (row < 0) {
+                PricingJson.appendError(out, readErrors[i], ValidationError.MALFORMED_INPUT.getCode());
+            } else if (!batch.isValid(row)) {
+                ValidationError error = batch.getError(row);
+                PricingJson.appendError(out, CostCalculationEngine.messageFor(error, config), error.getCode());
+            } else {
+                PricingJson.appendQuote(out, new CostQuote(itemNames[i], batch.getCostPerItem()[row],
+                                                           batch.getQuantity()[row], batch.getDeliveryCost()[row],
+                                                           batch.getTaxRate()[row], batch.getDiscountRate()[row],
+                                                           batch.getSubtotal()[row], batch.getDiscountAmount()[row],
+                                                           batch.getTaxAmount()[row], batch.getTotalCost()[row]));
+            }
+        }
+        return out.append("],\"rejected\":").append(rejected).append('}').toString();
+    }
+
+    private static double defaultTaxRate() {
+        return RateConfiguration.current().getDefaultTaxRate();
+    }
+
+    private static String text(Map<String, Object> item, String name) {
+        Object value = item.get(name);
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        throw new IllegalArgumentException(name + " must be a string");
+    }
+
+    private static double number(Map<String, Object> item, String name, double defaultValue) {
+        Object value = item.get(name);
+        if (value == null) {
+            if (Double.isNaN(defaultValue)) {
+                throw new IllegalArgumentException(name + " is required");
+            }
+            return defaultValue;
+        }
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        throw new IllegalArgumentException(name + " must be a number");
+    }
+
+    private static int quantity(Map<String, Object> item) {
+        double value = number(item, "quantity", Double.NaN);
+        if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("quantity must be a whole number");
+        }
+        return (int) value;
+    }
+
+    // Returns null if the body is larger than allowed
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            return body.length > MAX_BODY_BYTES ? null : new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String errorBody(String message) {
+        return PricingJson.appendError(new StringBuilder(96), message).toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @return Port the server is listening on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return true if each request runs on its own virtual thread
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting requests and shuts the request threads down
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,447 @@
+package Professional_Cost_Calculator;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe memoizing cache in front of CostCalculationEngine
+ *
+ * Features:
+ * - Keyed on the raw bits of (costPerItem, quantity, deliveryCost, taxRate,
+ *   discountRate); lookups never box or allocate a key
+ * - Caches the computed quote and, optionally, its rendered detailed report
+ *   for the most recent item name and locale
+ * - Fixed number of entries in a 4-way set-associative table; reads are
+ *   lock-free, writes lock only one stripe of sets
+ * - CLOCK replacement inside each set, guarded by a TinyLFU-style admission
+ *   filter: a new key only evicts an entry it has been requested more often
+ *   than, so one-off requests cannot flush the popular tuples
+ * - Hit, miss, eviction and admission-rejection counts
+ *
+ * Invalid inputs are never cached; they throw IllegalArgumentException
+ * exactly as CostCalculationEngine.quote does. Entries remember the
+ * {@link RateConfiguration} they were validated under and are recomputed
+ * once another configuration is installed, so tightened limits apply to
+ * cached inputs too. Each entry costs about 150
+ * bytes plus the cached report (roughly 1 KB when one is stored).
+ *
+ * A miss is priced (and journaled) under the caller's item name, and the
+ * entry keeps that quote. Hits under the same name return it as is; a hit
+ * under another name returns a renamed copy, one CostQuote allocation.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class QuoteCache {
+    private static final int WAYS = 4;
+    private static final int LOCK_STRIPES = 64;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final byte[] referenced; // CLOCK bits; racy updates only affect eviction order
+    private final byte[] hands;      // Next CLOCK position per set
+    private final int sets;
+    private final Object[] locks;
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reportHits = new LongAdder();
+    private final LongAdder reportMisses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Creates an empty cache
+     *
+     * @param maximumEntries Upper bound on cached entries; the capacity used
+     *                       is rounded down to a multiple of 4 (at least 4)
+     * @throws IllegalArgumentException if maximumEntries is less than 1
+     */
+    public QuoteCache(int maximumEntries) {
+        if (maximumEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        int sets = Math.max(1, maximumEntries / WAYS);
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.referenced = new byte[sets * WAYS];
+        this.hands = new byte[sets];
+        this.sets = sets;
+        this.locks = new Object[Math.min(LOCK_STRIPES, sets)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        this.sketch = new FrequencySketch(sets * WAYS);
+    }
+
+    /**
+     * Returns the quote for a line item, computing it on a miss
+     *
+     * @param itemName Name of the item (blank names become "Item")
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal, e.g., 0.08 for 8%)
+     * @param discountRate Discount rate (as decimal, e.g., 0.1 for 10%)
+     * @return Immutable quote, identical to CostCalculationEngine.quote
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public CostQuote quote(String itemName, double costPerItem, int quantity, double deliveryCost,
+                           double taxRate, double discountRate) {
+        String name = CostCalculationEngine.normalizeItemName(itemName);
+        CostQuote quote = lookup(RateConfiguration.current(), name, costPerItem, quantity, deliveryCost,
+                                 taxRate, discountRate).quote;
+        return withItemName(quote, name);
+    }
+
+    /**
+     * Returns the quote for an unnamed line item, computing it on a miss
+     *
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal, e.g., 0.08 for 8%)
+     * @param discountRate Discount rate (as decimal, e.g., 0.1 for 10%)
+     * @return Immutable quote, identical to CostCalculationEngine.quote
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public CostQuote quote(double costPerItem, int quantity, double deliveryCost,
+                           double taxRate, double discountRate) {
+        CostQuote quote = lookup(RateConfiguration.current(), "", costPerItem, quantity, deliveryCost,
+                                 taxRate, discountRate).quote;
+        return withItemName(quote, "");
+    }
+
+    /**
+     * Returns the detailed report for a line item in the default locale
+     *
+     * @param itemName Name of the item (blank names become "Item")
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal)
+     * @param discountRate Discount rate (as decimal)
+     * @return Report text, identical to CostReportRenderer's output
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public String detailedReport(String itemName, double costPerItem, int quantity, double deliveryCost,
+                                 double taxRate, double discountRate) {
+        return detailedReport(itemName, costPerItem, quantity, deliveryCost, taxRate, discountRate, null);
+    }
+
+    /**
+     * Returns the detailed report for a line item in a market's locale
+     *
+     * @param itemName Name of the item (blank names become "Item")
+     * @param costPerItem Cost per individual item
+     * @param quantity Number of items
+     * @param deliveryCost Delivery charges
+     * @param taxRate Tax rate (as decimal)
+     * @param discountRate Discount rate (as decimal)
+     * @param locale Locale for currency amounts and numbers, or null for the default
+     * @return Report text, identical to CostReportRenderer's output
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public String detailedReport(String itemName, double costPerItem, int quantity, double deliveryCost,
+                                 double taxRate, double discountRate, Locale locale) {
+        String name = CostCalculationEngine.normalizeItemName(itemName);
+        RateConfiguration config = RateConfiguration.current();
+        Entry entry = lookup(config, name, costPerItem, quantity, deliveryCost, taxRate, discountRate);
+        if (entry.report != null && entry.reportName.equals(name) && sameLocale(entry.reportLocale, locale)) {
+            reportHits.increment();
+            return entry.report;
+        }
+        reportMisses.increment();
+        CostQuote quote = withItemName(entry.quote, name);
+        StringBuilder out = new StringBuilder(512);
+        String report = (locale == null
+                         ? CostReportRenderer.appendDetailedReport(out, quote)
+                         : CostReportRenderer.appendDetailedReport(out, quote, locale)).toString();
+        int slot = find(entry);
+        if (slot >= 0) {
+            // Losing this race (or the entry not being admitted) only means the report is rendered again
+            slots.compareAndSet(slot, entry, entry.withReport(name, locale, report));
+        }
+        return report;
+    }
+
+    // Finds or computes the entry for a key under a configuration; never returns null.
+    // itemName is already normalized, or "" for an unnamed request, and only names a miss
+    private Entry lookup(RateConfiguration config, String itemName, double costPerItem, int quantity, double deliveryCost,
+                         double taxRate, double discountRate) {
+        long hash = hash(costPerItem, quantity, deliveryCost, taxRate, discountRate);
+        sketch.increment(hash);
+        int base = setOf(hash) * WAYS;
+        for (int way = 0; way < WAYS; way++) {
+            Entry entry = slots.get(base + way);
+            if (entry != null && entry.hash == hash && entry.config == config
+                && entry.matches(costPerItem, quantity, deliveryCost, taxRate, discountRate)) {
+                if (referenced[base + way] == 0) {
+                    referenced[base + way] = 1;
+                }
+                hits.increment();
+                return entry;
+            }
+        }
+        return load(hash, base, config, itemName, costPerItem, quantity, deliveryCost, taxRate, discountRate);
+    }
+
+    // Miss path, kept out of lookup so the hit path stays small enough to inline
+    private Entry load(long hash, int base, RateConfiguration config, String itemName, double costPerItem,
+                       int quantity, double deliveryCost, double taxRate, double discountRate) {
+        misses.increment();
+        // Validated against the configuration current now; if that is newer than config, the entry only misses again
+        CostQuote quote = itemName.isEmpty()
+                          ? CostCalculationEngine.quote(costPerItem, quantity, deliveryCost, taxRate, discountRate)
+                          : CostCalculationEngine.quote(itemName, costPerItem, quantity, deliveryCost,
+                                                        taxRate, discountRate);
+        Entry entry = new Entry(hash, config, quote, null, null, null);
+        insert(base, entry);
+        return entry;
+    }
+
+    // Slot currently holding an entry, or -1
+    private int find(Entry entry) {
+        int base = setOf(entry.hash) * WAYS;
+        for (int way = 0; way < WAYS; way++) {
+            if (slots.get(base + way) == entry) {
+                return base + way;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int base, Entry candidate) {
+        int set = base / WAYS;
+        synchronized (locks[set % locks.length]) {
+            for (int way = 0; way < WAYS; way++) {
+                Entry existing = slots.get(base + way);
+                if (existing == null) {
+                    slots.set(base + way, candidate);
+                    return;
+                }
+                if (existing.hash == candidate.hash && existing.matches(candidate.quote)) {
+                    if (existing.config != candidate.config) {
+                        slots.set(base + way, candidate); // Priced under an older configuration
+                    }
+                    return; // Otherwise inserted by another thread meanwhile
+                }
+            }
+            int victim = clockVictim(set, base);
+            Entry evicted = slots.get(victim);
+            if (sketch.frequency(candidate.hash) < sketch.frequency(evicted.hash)) {
+                rejections.increment();
+                return;
+            }
+            slots.set(victim, candidate);
+            referenced[victim] = 0;
+            evictions.increment();
+        }
+    }
+
+    // Second-chance scan over the set's ways; caller holds the set's lock
+    private int clockVictim(int set, int base) {
+        int hand = hands[set];
+        while (true) {
+            int slot = base + hand;
+            hand = (hand + 1) & (WAYS - 1);
+            if (referenced[slot] == 0) {
+                hands[set] = (byte) hand;
+                return slot;
+            }
+            referenced[slot] = 0;
+        }
+    }
+
+    /**
+     * Removes every entry; statistics are kept
+     */
+    public void clear() {
+        for (Object lock : locks) {
+            synchronized (lock) {
+                for (int set = 0; set < sets; set++) {
+                    if (locks[set % locks.length] == lock) {
+                        for (int way = 0; way < WAYS; way++) {
+                            slots.set(set * WAYS + way, null);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Number of entries currently cached
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int capacity() { return slots.length(); }
+
+    // Statistics
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getReportHitCount() { return reportHits.sum(); }
+    public long getReportMissCount() { return reportMisses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public long getAdmissionRejectionCount() { return rejections.sum(); }
+
+    /**
+     * @return Fraction of quote lookups served from the cache, or 0 before the first lookup
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QuoteCache[size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, reportHits=%d]",
+                             size(), capacity(), getHitCount(), getMissCount(), getHitRate() * 100,
+                             getEvictionCount(), getReportHitCount());
+    }
+
+    // Maps the high hash bits onto [0, sets) without a division
+    private int setOf(long hash) {
+        return (int) (((hash >>> 32) * sets) >>> 32);
+    }
+
+    private static CostQuote withItemName(CostQuote quote, String itemName) {
+        if (quote.getItemName().equals(itemName)) {
+            return quote;
+        }
+        return new CostQuote(itemName, quote.getCostPerItem(), quote.getQuantity(), quote.getDeliveryCost(),
+                             quote.getTaxRate(), quote.getDiscountRate(), quote.getSubtotal(),
+                             quote.getDiscountAmount(), quote.getTaxAmount(), quote.getTotalCost());
+    }
+
+    private static boolean sameLocale(Locale cached, Locale requested) {
+        return cached == null ? requested == null : cached.equals(requested);
+    }
+
+    static long hash(double costPerItem, int quantity, double deliveryCost, double taxRate, double discountRate) {
+        long h = Double.doubleToRawLongBits(costPerItem);
+        h = h * 0x9E3779B97F4A7C15L + quantity;
+        h = h * 0x9E3779B97F4A7C15L + Double.doubleToRawLongBits(deliveryCost);
+        h = h * 0x9E3779B97F4A7C15L + Double.doubleToRawLongBits(taxRate);
+        h = h * 0x9E3779B97F4A7C15L + Double.doubleToRawLongBits(discountRate);
+        // Final avalanche (MurmurHash3 fmix64)
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Immutable cache entry; a rendered report is added by replacing the entry
+     */
+    private static final class Entry {
+        final long hash;
+        final RateConfiguration config;
+        final CostQuote quote;
+        final String reportName;
+        final Locale reportLocale;
+        final String report;
+
+        Entry(long hash, RateConfiguration config, CostQuote quote, String reportName, Locale reportLocale,
+              String report) {
+            this.hash = hash;
+            this.config = config;
+            this.quote = quote;
+            this.reportName = reportName;
+            this.reportLocale = reportLocale;
+            this.report = report;
+        }
+
+        Entry withReport(String name, Locale locale, String text) {
+            return new Entry(hash, config, quote, name, locale, text);
+        }
+
+        boolean matches(double costPerItem, int quantity, double deliveryCost, double taxRate, double discountRate) {
+            return quote.getQuantity() == quantity
+                   && Double.doubleToRawLongBits(quote.getCostPerItem()) == Double.doubleToRawLongBits(costPerItem)
+                   && Double.doubleToRawLongBits(quote.getDeliveryCost()) == Double.doubleToRawLongBits(deliveryCost)
+                   && Double.doubleToRawLongBits(quote.getTaxRate()) == Double.doubleToRawLongBits(taxRate)
+                   && Double.doubleToRawLongBits(quote.getDiscountRate()) == Double.doubleToRawLongBits(discountRate);
+        }
+
+        boolean matches(CostQuote other) {
+            return matches(other.getCostPerItem(), other.getQuantity(), other.getDeliveryCost(),
+                           other.getTaxRate(), other.getDiscountRate());
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters estimating how often each key was requested
+     *
+     * Counters are halved after every 10 × capacity increments, so the
+     * estimate follows recent popularity. Increments are not atomic; a lost
+     * update only makes an estimate slightly low.
+     */
+    private static final class FrequencySketch {
+        private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+        private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+        };
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int length = Math.max(8, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * Math.max(capacity, 16);
+        }
+
+        void increment(long hash) {
+            boolean added = false;
+            for (long seed : SEEDS) {
+                long h = rehash(hash, seed);
+                int index = (int) h & tableMask;
+                int shift = (int) (h >>> 60) << 2;
+                long value = table[index];
+                if (((value >>> shift) & 0xF) < 15) {
+                    table[index] = value + (1L << shift);
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                age();
+            }
+        }
+
+        int frequency(long hash) {
+            int frequency = 15;
+            for (long seed : SEEDS) {
+                long h = rehash(hash, seed);
+                int count = (int) ((table[(int) h & tableMask] >>> ((int) (h >>> 60) << 2)) & 0xF);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        private void age() {
+            additions = 0;
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+        }
+
+        private static long rehash(long hash, long seed) {
+            long h = (hash ^ seed) * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 29);
+        }
+    }
+}
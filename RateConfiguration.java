@@ -0,0 +1,207 @@
+package Professional_Cost_Calculator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable snapshot of the validation limits and pricing rules
+ *
+ * Features:
+ * - One process-wide current snapshot, replaced atomically with
+ *   {@link #install}; pricing code reads it once per call, so a
+ *   calculation never mixes limits from two configurations and never locks
+ * - Loaded from the same properties file as {@link PricingRules}, plus:
+ *   <pre>
+ *   limit.minCost = 0.01
+ *   limit.minQuantity = 1
+ *   limit.maxDiscountRate = 0.5
+ *   </pre>
+ * - Fully parsed and validated before it can be installed; see
+ *   {@link RateConfigurationWatcher} for reloading a file while running
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class RateConfiguration {
+    // Built-in values, used until another configuration is installed
+    public static final double DEFAULT_TAX_RATE = 0.08; // 8% default tax
+    public static final double DEFAULT_MIN_COST = 0.01;
+    public static final int DEFAULT_MIN_QUANTITY = 1;
+    public static final double DEFAULT_MAX_DISCOUNT_RATE = 0.5; // Maximum 50% discount
+
+    private static final String LIMIT_PREFIX = "limit.";
+    private static final String MIN_COST = "limit.minCost";
+    private static final String MIN_QUANTITY = "limit.minQuantity";
+    private static final String MAX_DISCOUNT_RATE = "limit.maxDiscountRate";
+
+    private static final RateConfiguration DEFAULTS = new RateConfiguration(
+        DEFAULT_MIN_COST, DEFAULT_MIN_QUANTITY, DEFAULT_MAX_DISCOUNT_RATE, PricingRules.defaults(), null);
+
+    private static final AtomicReference<RateConfiguration> CURRENT = new AtomicReference<>(DEFAULTS);
+
+    private final double minCost;
+    private final int minQuantity;
+    private final double maxDiscountRate;
+    private final PricingRules pricingRules;
+    private final Path source;
+
+    /**
+     * Creates a configuration from explicit values
+     *
+     * @param minCost Smallest accepted cost per item
+     * @param minQuantity Smallest accepted quantity
+     * @param maxDiscountRate Largest accepted discount rate (as decimal)
+     * @param pricingRules Tax and discount rules, including the default tax rate
+     * @throws IllegalArgumentException if any value is out of range
+     */
+    public RateConfiguration(double minCost, int minQuantity, double maxDiscountRate, PricingRules pricingRules) {
+        this(minCost, minQuantity, maxDiscountRate, pricingRules, null);
+    }
+
+    private RateConfiguration(double minCost, int minQuantity, double maxDiscountRate,
+                              PricingRules pricingRules, Path source) {
+        if (!(minCost > 0) || Double.isInfinite(minCost)) {
+            throw new IllegalArgumentException("Minimum cost must be a positive amount");
+        }
+        if (minQuantity < 1) {
+            throw new IllegalArgumentException("Minimum quantity must be at least 1");
+        }
+        if (!(maxDiscountRate >= 0 && maxDiscountRate < 1)) {
+            throw new IllegalArgumentException("Maximum discount rate must be at least 0 and below 1 (100%)");
+        }
+        if (pricingRules == null) {
+            throw new IllegalArgumentException("Pricing rules cannot be null");
+        }
+        if (pricingRules.getMaxDiscountRate() > maxDiscountRate) {
+            throw new IllegalArgumentException(
+                String.format("Pricing rules allow a %.1f%% discount, above the %.1f%% limit",
+                              pricingRules.getMaxDiscountRate() * 100, maxDiscountRate * 100));
+        }
+        this.minCost = minCost;
+        this.minQuantity = minQuantity;
+        this.maxDiscountRate = maxDiscountRate;
+        this.pricingRules = pricingRules;
+        this.source = source;
+    }
+
+    /**
+     * @return The configuration pricing code currently uses
+     */
+    public static RateConfiguration current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return The built-in configuration
+     */
+    public static RateConfiguration defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Makes a configuration current for all subsequent calculations
+     *
+     * Calculations already running finish with the snapshot they started with.
+     *
+     * @param configuration Validated configuration
+     * @return The configuration that was replaced
+     * @throws IllegalArgumentException if configuration is null
+     */
+    public static RateConfiguration install(RateConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("Configuration cannot be null");
+        }
+        return CURRENT.getAndSet(configuration);
+    }
+
+    /**
+     * Loads and validates a configuration file (UTF-8 properties)
+     *
+     * @param file Configuration file
+     * @return Configuration ready to install
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if any setting or rule is invalid
+     */
+    public static RateConfiguration load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return compile(properties, file);
+    }
+
+    /**
+     * Validates a configuration given as properties
+     *
+     * @param properties Limits and pricing rules
+     * @return Configuration ready to install
+     * @throws IllegalArgumentException if any setting or rule is invalid
+     */
+    public static RateConfiguration compile(Properties properties) {
+        return compile(properties, null);
+    }
+
+    private static RateConfiguration compile(Properties properties, Path source) {
+        double minCost = DEFAULT_MIN_COST;
+        int minQuantity = DEFAULT_MIN_QUANTITY;
+        double maxDiscountRate = DEFAULT_MAX_DISCOUNT_RATE;
+        Properties rules = new Properties();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.equals(MIN_COST)) {
+                minCost = number(key, value);
+            } else if (key.equals(MIN_QUANTITY)) {
+                try {
+                    minQuantity = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid whole number in " + key + ": '" + value + "'");
+                }
+            } else if (key.equals(MAX_DISCOUNT_RATE)) {
+                maxDiscountRate = number(key, value);
+            } else if (key.startsWith(LIMIT_PREFIX)) {
+                throw new IllegalArgumentException("Unknown limit: " + key);
+            } else {
+                rules.setProperty(key, value);
+            }
+        }
+        if (!(maxDiscountRate >= 0 && maxDiscountRate < 1)) {
+            throw new IllegalArgumentException("Maximum discount rate must be at least 0 and below 1 (100%)");
+        }
+        return new RateConfiguration(minCost, minQuantity, maxDiscountRate,
+                                     PricingRules.compile(rules, maxDiscountRate), source);
+    }
+
+    private static double number(String key, String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + key + ": '" + value + "'");
+        }
+    }
+
+    // Getter methods for the limits
+    public double getDefaultTaxRate() { return pricingRules.getDefaultTaxRate(); }
+    public double getMinCost() { return minCost; }
+    public int getMinQuantity() { return minQuantity; }
+    public double getMaxDiscountRate() { return maxDiscountRate; }
+    public PricingRules getPricingRules() { return pricingRules; }
+
+    /**
+     * @return File the configuration was loaded from, or null
+     */
+    public Path getSource() { return source; }
+
+    @Override
+    public String toString() {
+        return "RateConfiguration[minCost=" + minCost
+            + ", minQuantity=" + minQuantity
+            + ", maxDiscountRate=" + maxDiscountRate
+            + ", defaultTaxRate=" + getDefaultTaxRate()
+            + ", source=" + source + "]";
+    }
+}
@@ -0,0 +1,141 @@
+package Professional_Cost_Calculator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads a rate configuration file whenever it changes
+ *
+ * Features:
+ * - Watches the file's directory on a daemon thread, so editors that
+ *   replace the file instead of rewriting it are noticed too
+ * - Waits briefly after a change so a file still being written is read
+ *   once, complete
+ * - The new file is parsed and validated off the pricing path and then
+ *   installed with a single reference swap; a file that fails to load is
+ *   reported and the previous configuration stays in force
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class RateConfigurationWatcher implements Closeable {
+    private static final long SETTLE_MILLIS = 100; // Quiet period before reading a changed file
+
+    private final Path file;
+    private final PrintStream errors;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile String lastError;
+    private volatile boolean closed;
+
+    private RateConfigurationWatcher(Path file, PrintStream errors) throws IOException {
+        this.file = file;
+        this.errors = errors;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Path directory = file.getParent();
+        try {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                               StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+        this.thread = new Thread(this::watch, "rate-configuration-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Loads and installs a configuration file, then keeps it current
+     *
+     * @param file Configuration file
+     * @param errors Stream that receives one message per rejected reload, or null
+     * @return Running watcher; close it to stop watching
+     * @throws IOException if the file cannot be read or watched
+     * @throws IllegalArgumentException if the file's initial contents are invalid
+     */
+    public static RateConfigurationWatcher start(Path file, PrintStream errors) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        RateConfiguration.install(RateConfiguration.load(absolute));
+        RateConfigurationWatcher watcher = new RateConfigurationWatcher(absolute, errors);
+        watcher.thread.start();
+        return watcher;
+    }
+
+    /**
+     * Loads the file now and installs it if it is valid
+     *
+     * @return true if the file was installed, false if it was rejected
+     */
+    public boolean reload() {
+        try {
+            RateConfiguration.install(RateConfiguration.load(file));
+            reloads.incrementAndGet();
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            failures.incrementAndGet();
+            lastError = e.getMessage() != null ? e.getMessage() : e.toString();
+            if (errors != null) {
+                errors.println("❌ Rate configuration " + file + " not reloaded: " + lastError);
+            }
+            return false;
+        }
+    }
+
+    private void watch() {
+        Path name = file.getFileName();
+        try {
+            while (!closed) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key, name);
+                if (!changed) {
+                    continue;
+                }
+                // Let the writer finish, folding any further events into this reload
+                Thread.sleep(SETTLE_MILLIS);
+                for (WatchKey more = watchService.poll(); more != null; more = watchService.poll()) {
+                    drain(more, name);
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private static boolean drain(WatchKey key, Path name) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context());
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Stops watching; the current configuration stays installed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+        thread.interrupt();
+    }
+
+    // Reload statistics
+    public Path getFile() { return file; }
+    public long getReloadCount() { return reloads.get(); }
+    public long getFailureCount() { return failures.get(); }
+    public String getLastError() { return lastError; }
+}
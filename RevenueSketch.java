@@ -0,0 +1,134 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Mergeable, fixed-memory sketch of a distribution of currency amounts
+ *
+ * Features:
+ * - Logarithmic buckets with 1% relative accuracy: every percentile is
+ *   reported within 1% of a value that was actually recorded
+ * - Covers amounts from Rs0.01 to Rs10 trillion in about 1,730 counters,
+ *   allocated once; recording never allocates
+ * - Sketches built on different threads or from different parts of a file
+ *   are combined with {@link #add(RevenueSketch)}; the result is the same as
+ *   if every amount had been recorded into one sketch
+ *
+ * Not thread-safe: give each thread its own sketch and merge them at the end.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class RevenueSketch {
+    public static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_AMOUNT = 0.01;
+    private static final double MAX_AMOUNT = 1e13;
+    private static final int OFFSET = bucketIndex(MIN_AMOUNT);
+    private static final int BUCKET_COUNT = bucketIndex(MAX_AMOUNT) - OFFSET + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long zeroCount; // Amounts below Rs0.01
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Records one amount
+     *
+     * @param amount Amount to record; NaN is ignored, negative amounts are
+     *               counted with the smallest bucket
+     */
+    public void record(double amount) {
+        if (Double.isNaN(amount)) {
+            return;
+        }
+        if (amount < MIN_AMOUNT) {
+            zeroCount++;
+        } else {
+            counts[Math.min(bucketIndex(amount), OFFSET + BUCKET_COUNT - 1) - OFFSET]++;
+        }
+        count++;
+        sum += amount;
+        min = Math.min(min, amount);
+        max = Math.max(max, amount);
+    }
+
+    /**
+     * Adds every amount recorded by another sketch to this one
+     *
+     * @param other Sketch to merge in
+     */
+    public void add(RevenueSketch other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() { return count; }
+    public double getSum() { return sum; }
+
+    /**
+     * @return Mean of the recorded amounts, or 0 if empty
+     */
+    public double getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * @return Smallest amount recorded, exactly, or 0 if empty
+     */
+    public double getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * @return Largest amount recorded, exactly, or 0 if empty
+     */
+    public double getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Returns the amount at a percentile
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Estimate within 1% of the amount at that rank, or 0 if empty
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public double getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        if (rank == count) {
+            return max;
+        }
+        long seen = zeroCount;
+        if (seen >= rank) {
+            return min;
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Midpoint of the bucket in relative terms, kept inside the recorded range
+                double estimate = 2 * Math.pow(GAMMA, i + OFFSET) / (GAMMA + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    // Bucket i holds amounts in (GAMMA^(i-1), GAMMA^i]
+    private static int bucketIndex(double amount) {
+        return (int) Math.ceil(Math.log(amount) / LOG_GAMMA);
+    }
+}
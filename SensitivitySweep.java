@@ -0,0 +1,299 @@
+package Professional_Cost_Calculator;
+
+import java.util.Arrays;
+
+/**
+ * What-if pricing of one item over grids of quantities, discounts and taxes
+ *
+ * Features:
+ * - Work shared by many grid points is done once per axis value: the
+ *   subtotal once per quantity, the discounted amount once per quantity
+ *   and discount rate
+ * - The innermost loop runs over the tax axis with the JDK Vector API,
+ *   several tax rates per instruction, in the same way as
+ *   {@link VectorPricingKernel}; leftover rates, and JVMs without
+ *   {@code jdk.incubator.vector}, use the scalar loop
+ * - {@link #run()} returns a dense result matrix; {@link #stream} hands out
+ *   one row at a time for grids too large to hold in memory
+ * - Every total is bit-for-bit the value calculateAdvancedCost would give
+ *   for the same inputs
+ *
+ * Usage:
+ * <pre>
+ * SensitivitySweep sweep = new SensitivitySweep(25.00, 150.00,
+ *         SensitivitySweep.range(1, 100, 1),
+ *         SensitivitySweep.range(0.05, 0.17, 0.01),
+ *         SensitivitySweep.range(0.0, 0.5, 0.05));
+ * SensitivitySweep.Result result = sweep.run();
+ * </pre>
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class SensitivitySweep {
+    // Largest grid run() will allocate; bigger sweeps must be streamed
+    private static final long MAX_MATRIX_SIZE = Integer.MAX_VALUE - 8;
+    private static final String SIMD_CLASS = "Professional_Cost_Calculator.SensitivitySweepSimd";
+    private static final RowKernel SIMD = VectorPricingKernel.loadSimd(SIMD_CLASS, RowKernel.class);
+
+    private final double costPerItem;
+    private final double deliveryCost;
+    private final int[] quantities;
+    private final double[] taxRates;
+    private final double[] discountRates;
+
+    /**
+     * Creates a sweep; every axis value is validated up front
+     *
+     * @param costPerItem Cost per individual item
+     * @param deliveryCost Delivery charges
+     * @param quantities Quantity axis
+     * @param taxRates Tax rate axis (as decimals)
+     * @param discountRates Discount rate axis (as decimals)
+     * @throws IllegalArgumentException if an axis is empty or any value is invalid
+     */
+    public SensitivitySweep(double costPerItem, double deliveryCost,
+                            int[] quantities, double[] taxRates, double[] discountRates) {
+        RateConfiguration config = RateConfiguration.current();
+        CostCalculationEngine.checkCostPerItem(costPerItem, config);
+        CostCalculationEngine.checkDeliveryCost(deliveryCost);
+        checkAxis(quantities == null ? 0 : quantities.length, "Quantity");
+        checkAxis(taxRates == null ? 0 : taxRates.length, "Tax rate");
+        checkAxis(discountRates == null ? 0 : discountRates.length, "Discount rate");
+        for (int quantity : quantities) {
+            CostCalculationEngine.checkQuantity(quantity, config);
+        }
+        for (double taxRate : taxRates) {
+            CostCalculationEngine.checkTaxRate(taxRate);
+        }
+        for (double discountRate : discountRates) {
+            CostCalculationEngine.checkDiscountRate(discountRate, config);
+        }
+        this.costPerItem = costPerItem;
+        this.deliveryCost = deliveryCost;
+        this.quantities = quantities.clone();
+        this.taxRates = taxRates.clone();
+        this.discountRates = discountRates.clone();
+    }
+
+    private static void checkAxis(int length, String name) {
+        if (length == 0) {
+            throw new IllegalArgumentException(name + " axis cannot be empty");
+        }
+    }
+
+    /**
+     * Evenly spaced rates from {@code from} to {@code to} inclusive
+     *
+     * Values are computed as {@code from + i * step}, so they do not drift,
+     * and the last one is exactly {@code to} when it lies on the grid.
+     *
+     * @param from First value
+     * @param to Last value (included when it lies on the grid)
+     * @param step Spacing, greater than 0
+     * @return Axis values
+     * @throws IllegalArgumentException if step is not positive or to is below from
+     */
+    public static double[] range(double from, double to, double step) {
+        if (!(step > 0) || !(to >= from)) {
+            throw new IllegalArgumentException("Range needs a positive step and to >= from");
+        }
+        // Tolerate rounding in (to - from) / step, e.g. 0.17 - 0.05 over 0.01
+        long steps = (long) Math.floor((to - from) / step + 1e-9);
+        if (steps >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Range has too many values");
+        }
+        double[] values = new double[(int) steps + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        int last = values.length - 1;
+        if (Math.abs(values[last] - to) <= 1e-9 * step) {
+            values[last] = to;
+        }
+        return values;
+    }
+
+    /**
+     * Evenly spaced quantities from {@code from} to {@code to} inclusive
+     *
+     * @param from First quantity
+     * @param to Last quantity (included when it lies on the grid)
+     * @param step Spacing, at least 1
+     * @return Axis values
+     * @throws IllegalArgumentException if step is less than 1 or to is below from
+     */
+    public static int[] range(int from, int to, int step) {
+        if (step < 1 || to < from) {
+            throw new IllegalArgumentException("Range needs a step of at least 1 and to >= from");
+        }
+        int[] values = new int[(int) (((long) to - from) / step) + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+
+    /**
+     * @return Number of grid points
+     */
+    public long size() {
+        return (long) quantities.length * discountRates.length * taxRates.length;
+    }
+
+    /**
+     * Prices every grid point into a dense matrix
+     *
+     * @return Totals indexed by quantity, discount rate and tax rate
+     * @throws IllegalStateException if the grid is too large for one array; use {@link #stream}
+     */
+    public Result run() {
+        if (size() > MAX_MATRIX_SIZE) {
+            throw new IllegalStateException("Sweep of " + size() + " points is too large for a matrix; stream it");
+        }
+        long start = PricingMetrics.startTimer();
+        int rows = quantities.length * discountRates.length;
+        int columns = taxRates.length;
+        double[] afterDiscount = new double[rows];
+        double[] totals = new double[rows * columns];
+        int row = 0;
+        for (int q = 0; q < quantities.length; q++) {
+            double subtotal = CostCalculationEngine.subtotalOf(costPerItem, quantities[q], deliveryCost);
+            for (int d = 0; d < discountRates.length; d++, row++) {
+                afterDiscount[row] = subtotal - CostCalculationEngine.discountOf(subtotal, discountRates[d]);
+                priceRow(afterDiscount[row], taxRates, totals, row * columns);
+            }
+        }
+        PricingMetrics.recordCalculation(PricingMode.SWEEP, totals.length, start);
+        return new Result(this, afterDiscount, totals);
+    }
+
+    /**
+     * Prices every grid point, handing each row to a consumer instead of keeping it
+     *
+     * Memory use is one row regardless of grid size.
+     *
+     * @param consumer Receives one row per quantity and discount rate
+     */
+    public void stream(SweepRowConsumer consumer) {
+        long start = PricingMetrics.startTimer();
+        double[] totals = new double[taxRates.length];
+        double[] axis = taxRates.clone(); // Consumers cannot disturb later rows
+        for (int quantity : quantities) {
+            double subtotal = CostCalculationEngine.subtotalOf(costPerItem, quantity, deliveryCost);
+            for (double discountRate : discountRates) {
+                double afterDiscount = subtotal - CostCalculationEngine.discountOf(subtotal, discountRate);
+                priceRow(afterDiscount, taxRates, totals, 0);
+                consumer.accept(quantity, discountRate, axis, totals);
+            }
+        }
+        PricingMetrics.recordCalculation(PricingMode.SWEEP, size(), start);
+    }
+
+    /**
+     * Prices one row along the tax axis, implemented with the Vector API
+     */
+    interface RowKernel extends VectorPricingKernel.Simd {
+        void priceRow(double afterDiscount, double[] taxRates, double[] totals, int offset);
+    }
+
+    private static void priceRow(double afterDiscount, double[] taxRates, double[] totals, int offset) {
+        priceRow(SIMD, afterDiscount, taxRates, totals, offset);
+    }
+
+    /**
+     * Prices one row with the given SIMD kernel, or with the scalar loop if it is null
+     */
+    static void priceRow(RowKernel simd, double afterDiscount, double[] taxRates, double[] totals, int offset) {
+        if (simd != null && taxRates.length >= simd.laneCount()) {
+            simd.priceRow(afterDiscount, taxRates, totals, offset);
+        } else {
+            priceRowScalar(afterDiscount, taxRates, totals, offset, 0, taxRates.length);
+        }
+    }
+
+    // Same operations, in the same order, as the engine: afterDiscount + afterDiscount * taxRate
+    static void priceRowScalar(double afterDiscount, double[] taxRates, double[] totals, int offset,
+                               int from, int to) {
+        for (int t = from; t < to; t++) {
+            totals[offset + t] = afterDiscount + afterDiscount * taxRates[t];
+        }
+    }
+
+    // Axis accessors (copies)
+    public double getCostPerItem() { return costPerItem; }
+    public double getDeliveryCost() { return deliveryCost; }
+    public int[] getQuantities() { return quantities.clone(); }
+    public double[] getTaxRates() { return taxRates.clone(); }
+    public double[] getDiscountRates() { return discountRates.clone(); }
+
+    /**
+     * Dense result of {@link SensitivitySweep#run()}
+     *
+     * Totals are stored row-major: quantity, then discount rate, then tax
+     * rate. The other amounts are derived on request from the per-row
+     * discounted subtotal, exactly as the engine computes them.
+     */
+    public static final class Result {
+        private final SensitivitySweep sweep;
+        private final double[] afterDiscount;
+        private final double[] totals;
+
+        private Result(SensitivitySweep sweep, double[] afterDiscount, double[] totals) {
+            this.sweep = sweep;
+            this.afterDiscount = afterDiscount;
+            this.totals = totals;
+        }
+
+        public SensitivitySweep getSweep() { return sweep; }
+
+        /**
+         * @return Total cost at the given axis indexes
+         */
+        public double getTotalCost(int quantityIndex, int discountIndex, int taxIndex) {
+            return totals[index(quantityIndex, discountIndex, taxIndex)];
+        }
+
+        public double getSubtotal(int quantityIndex) {
+            return CostCalculationEngine.subtotalOf(sweep.costPerItem, sweep.quantities[quantityIndex],
+                                                    sweep.deliveryCost);
+        }
+
+        public double getDiscountAmount(int quantityIndex, int discountIndex) {
+            return CostCalculationEngine.discountOf(getSubtotal(quantityIndex), sweep.discountRates[discountIndex]);
+        }
+
+        public double getTaxAmount(int quantityIndex, int discountIndex, int taxIndex) {
+            index(quantityIndex, discountIndex, taxIndex);
+            return CostCalculationEngine.taxOf(afterDiscount[quantityIndex * sweep.discountRates.length + discountIndex],
+                                               sweep.taxRates[taxIndex]);
+        }
+
+        /**
+         * @return Copy of the totals along the tax axis for one quantity and discount rate
+         */
+        public double[] getTotalCosts(int quantityIndex, int discountIndex) {
+            int from = index(quantityIndex, discountIndex, 0);
+            return Arrays.copyOfRange(totals, from, from + sweep.taxRates.length);
+        }
+
+        /**
+         * @return The whole matrix, row-major (shared, not copied)
+         */
+        public double[] getTotalCostMatrix() {
+            return totals;
+        }
+
+        private int index(int quantityIndex, int discountIndex, int taxIndex) {
+            if (quantityIndex < 0 || quantityIndex >= sweep.quantities.length
+                || discountIndex < 0 || discountIndex >= sweep.discountRates.length
+                || taxIndex < 0 || taxIndex >= sweep.taxRates.length) {
+                throw new IndexOutOfBoundsException(
+                    String.format("Grid point (%d, %d, %d) out of bounds for %d x %d x %d",
+                                  quantityIndex, discountIndex, taxIndex, sweep.quantities.length,
+                                  sweep.discountRates.length, sweep.taxRates.length));
+            }
+            return (quantityIndex * sweep.discountRates.length + discountIndex) * sweep.taxRates.length + taxIndex;
+        }
+    }
+}
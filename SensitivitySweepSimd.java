@@ -0,0 +1,36 @@
+package Professional_Cost_Calculator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of the {@link SensitivitySweep} tax axis loop
+ *
+ * Loaded reflectively, and only when {@code jdk.incubator.vector} is in the
+ * boot layer, so that JVMs without the module never link this class.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+final class SensitivitySweepSimd implements SensitivitySweep.RowKernel {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void priceRow(double afterDiscount, double[] taxRates, double[] totals, int offset) {
+        DoubleVector amount = DoubleVector.broadcast(DOUBLES, afterDiscount);
+        int lanes = DOUBLES.length();
+        int upper = DOUBLES.loopBound(taxRates.length);
+        int t = 0;
+        for (; t < upper; t += lanes) {
+            // Separate multiply and add, never fused, to match the scalar results exactly
+            DoubleVector tax = amount.mul(DoubleVector.fromArray(DOUBLES, taxRates, t));
+            amount.add(tax).intoArray(totals, offset + t);
+        }
+        SensitivitySweep.priceRowScalar(afterDiscount, taxRates, totals, offset, t, taxRates.length);
+    }
+
+    @Override
+    public int laneCount() {
+        return DOUBLES.length();
+    }
+}
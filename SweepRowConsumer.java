@@ -0,0 +1,22 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Receives the results of a {@link SensitivitySweep} one row at a time
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+@FunctionalInterface
+public interface SweepRowConsumer {
+    /**
+     * Called once per quantity and discount rate, in axis order
+     *
+     * The arrays are reused for the next row; copy them to keep the values.
+     *
+     * @param quantity Quantity of this row
+     * @param discountRate Discount rate of this row
+     * @param taxRates Tax rate axis, shared by every row
+     * @param totalCosts Total cost for each tax rate
+     */
+    void accept(int quantity, double discountRate, double[] taxRates, double[] totalCosts);
+}
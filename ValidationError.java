@@ -0,0 +1,59 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Reasons a line item can be rejected by validation
+ *
+ * Each reason has a stable primitive code, so bulk validation can report
+ * failures through int return values and per-row status arrays instead of
+ * exceptions. Messages are only rendered when {@link #getMessage()} is called.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public enum ValidationError {
+    COST_BELOW_MINIMUM(1),
+    QUANTITY_BELOW_MINIMUM(2),
+    NEGATIVE_DELIVERY_COST(3),
+    TAX_RATE_OUT_OF_RANGE(4),
+    DISCOUNT_RATE_OUT_OF_RANGE(5),
+    /** An amount or rate is NaN or infinite, or could not be read as a decimal number */
+    MALFORMED_INPUT(6);
+
+    /** Code returned for a line item that passed every check */
+    public static final int VALID = 0;
+
+    private static final ValidationError[] BY_CODE = {
+        null, COST_BELOW_MINIMUM, QUANTITY_BELOW_MINIMUM, NEGATIVE_DELIVERY_COST,
+        TAX_RATE_OUT_OF_RANGE, DISCOUNT_RATE_OUT_OF_RANGE, MALFORMED_INPUT
+    };
+
+    private final int code;
+
+    ValidationError(int code) {
+        this.code = code;
+    }
+
+    public int getCode() { return code; }
+
+    /**
+     * @return The message CostCalculationEngine puts in its exceptions for this
+     *         reason, quoting the limits of the current rate configuration
+     */
+    public String getMessage() {
+        return CostCalculationEngine.messageFor(this, RateConfiguration.current());
+    }
+
+    /**
+     * Looks up a reason by code
+     *
+     * @param code Code returned by validation
+     * @return The reason, or null for {@link #VALID}
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static ValidationError fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown validation code: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,138 @@
+package Professional_Cost_Calculator;
+
+/**
+ * Array pricing kernel that uses SIMD instructions when the JVM offers them
+ *
+ * Features:
+ * - Prices a range of line items held in primitive arrays, several lines per
+ *   instruction, through the JDK Vector API ({@code jdk.incubator.vector})
+ * - Uses the platform's preferred vector size (e.g. 4 lines with AVX2,
+ *   8 with AVX-512); leftover rows are priced by the scalar loop
+ * - Falls back to the scalar loop entirely when the JVM was started without
+ *   {@code --add-modules jdk.incubator.vector}, or with
+ *   {@code -Dcostcalc.vector.disabled=true}
+ * - Results are bit-for-bit identical to the scalar pricing in
+ *   CostCalculationEngine: the same operations run in the same order, with
+ *   no fused multiply-add
+ *
+ * No validation is done here; callers validate the rows first.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+public final class VectorPricingKernel {
+    private static final String SIMD_CLASS = "Professional_Cost_Calculator.VectorPricingKernelSimd";
+    private static final Kernel SIMD = loadSimd(SIMD_CLASS);
+
+    private VectorPricingKernel() {
+    }
+
+    /**
+     * A loop implemented with the Vector API, loaded by {@link #loadSimd(String, Class)}
+     */
+    interface Simd {
+        int laneCount();
+    }
+
+    /**
+     * Row pricing over arrays, implemented with and without the Vector API
+     */
+    interface Kernel extends Simd {
+        void price(double[] costPerItem, int[] quantity, double[] deliveryCost,
+                   double[] taxRate, double[] discountRate,
+                   double[] subtotal, double[] discountAmount,
+                   double[] taxAmount, double[] totalCost, int from, int to);
+    }
+
+    static Kernel loadSimd(String className) {
+        return loadSimd(className, Kernel.class);
+    }
+
+    // The SIMD class is only linked if the incubator module is present; null means scalar only
+    static <K extends Simd> K loadSimd(String className, Class<K> type) {
+        if (Boolean.getBoolean("costcalc.vector.disabled")
+            || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            K kernel = type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+            return kernel.laneCount() > 1 ? kernel : null;
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Prices rows {@code [from, to)} of the input arrays into the output arrays
+     *
+     * @param costPerItem Cost per individual item, per row
+     * @param quantity Number of items, per row
+     * @param deliveryCost Delivery charges, per row
+     * @param taxRate Tax rate (as decimal), per row
+     * @param discountRate Discount rate (as decimal), per row
+     * @param subtotal Output: items + delivery, per row
+     * @param discountAmount Output: discount amount, per row
+     * @param taxAmount Output: tax amount, per row
+     * @param totalCost Output: final total, per row
+     * @param from First row
+     * @param to End of the range (exclusive)
+     * @throws IndexOutOfBoundsException if the range exceeds any array
+     */
+    public static void price(double[] costPerItem, int[] quantity, double[] deliveryCost,
+                             double[] taxRate, double[] discountRate,
+                             double[] subtotal, double[] discountAmount,
+                             double[] taxAmount, double[] totalCost, int from, int to) {
+        price(SIMD, costPerItem, quantity, deliveryCost, taxRate, discountRate,
+              subtotal, discountAmount, taxAmount, totalCost, from, to);
+    }
+
+    /**
+     * Prices rows with the given SIMD kernel, or with the scalar loop if it is null
+     */
+    static void price(Kernel simd, double[] costPerItem, int[] quantity, double[] deliveryCost,
+                      double[] taxRate, double[] discountRate,
+                      double[] subtotal, double[] discountAmount,
+                      double[] taxAmount, double[] totalCost, int from, int to) {
+        if (simd != null && to - from >= simd.laneCount()) {
+            simd.price(costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                       subtotal, discountAmount, taxAmount, totalCost, from, to);
+        } else {
+            priceScalar(costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                        subtotal, discountAmount, taxAmount, totalCost, from, to);
+        }
+    }
+
+    /**
+     * The reference scalar loop, also used for tails and without the Vector API
+     */
+    static void priceScalar(double[] costPerItem, int[] quantity, double[] deliveryCost,
+                            double[] taxRate, double[] discountRate,
+                            double[] subtotal, double[] discountAmount,
+                            double[] taxAmount, double[] totalCost, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double rowSubtotal = CostCalculationEngine.subtotalOf(costPerItem[i], quantity[i], deliveryCost[i]);
+            double rowDiscount = CostCalculationEngine.discountOf(rowSubtotal, discountRate[i]);
+            double afterDiscount = rowSubtotal - rowDiscount;
+            double rowTax = CostCalculationEngine.taxOf(afterDiscount, taxRate[i]);
+
+            subtotal[i] = rowSubtotal;
+            discountAmount[i] = rowDiscount;
+            taxAmount[i] = rowTax;
+            totalCost[i] = afterDiscount + rowTax;
+        }
+    }
+
+    /**
+     * @return true if pricing uses the Vector API
+     */
+    public static boolean isVectorized() {
+        return SIMD != null;
+    }
+
+    /**
+     * @return Line items priced per vector instruction; 1 for the scalar loop
+     */
+    public static int getLaneCount() {
+        return SIMD != null ? SIMD.laneCount() : 1;
+    }
+}
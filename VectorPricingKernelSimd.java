@@ -0,0 +1,55 @@
+package Professional_Cost_Calculator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of {@link VectorPricingKernel}
+ *
+ * Loaded reflectively, and only when {@code jdk.incubator.vector} is in the
+ * boot layer, so that JVMs without the module never link this class.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+final class VectorPricingKernelSimd implements VectorPricingKernel.Kernel {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // Same lane count as DOUBLES, so quantities widen lane for lane
+    private static final VectorSpecies<Integer> INTS =
+        VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    @Override
+    public void price(double[] costPerItem, int[] quantity, double[] deliveryCost,
+                      double[] taxRate, double[] discountRate,
+                      double[] subtotal, double[] discountAmount,
+                      double[] taxAmount, double[] totalCost, int from, int to) {
+        int lanes = DOUBLES.length();
+        int upper = from + DOUBLES.loopBound(to - from);
+        int i = from;
+        for (; i < upper; i += lanes) {
+            DoubleVector items = (DoubleVector) IntVector.fromArray(INTS, quantity, i)
+                                                         .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            // Separate multiply and add, never fused, to match the scalar results exactly
+            DoubleVector rowSubtotal = DoubleVector.fromArray(DOUBLES, costPerItem, i).mul(items)
+                                                   .add(DoubleVector.fromArray(DOUBLES, deliveryCost, i));
+            DoubleVector rowDiscount = rowSubtotal.mul(DoubleVector.fromArray(DOUBLES, discountRate, i));
+            DoubleVector afterDiscount = rowSubtotal.sub(rowDiscount);
+            DoubleVector rowTax = afterDiscount.mul(DoubleVector.fromArray(DOUBLES, taxRate, i));
+
+            rowSubtotal.intoArray(subtotal, i);
+            rowDiscount.intoArray(discountAmount, i);
+            rowTax.intoArray(taxAmount, i);
+            afterDiscount.add(rowTax).intoArray(totalCost, i);
+        }
+        VectorPricingKernel.priceScalar(costPerItem, quantity, deliveryCost, taxRate, discountRate,
+                                        subtotal, discountAmount, taxAmount, totalCost, i, to);
+    }
+
+    @Override
+    public int laneCount() {
+        return DOUBLES.length();
+    }
+}
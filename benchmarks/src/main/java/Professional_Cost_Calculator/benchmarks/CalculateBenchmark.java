@@ -0,0 +1,106 @@
+package Professional_Cost_Calculator.benchmarks;
+
+import Professional_Cost_Calculator.CostCalculationEngine;
+import Professional_Cost_Calculator.PricingMetrics;
+import Professional_Cost_Calculator.VectorPricingKernel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Single-item pricing through calculateAdvancedCost, compared with the
+ * stateless quote and the columnar batch API
+ *
+ * Each invocation prices a whole batch; scores are per batch. The
+ * {@code metrics} parameter pauses PricingMetrics recording, to show what
+ * the instrumentation costs per call.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CalculateBenchmark {
+    @Param({"1000", "100000"})
+    int batchSize;
+
+    @Param({"true", "false"})
+    boolean metrics;
+
+    private LineItemData data;
+    private CostCalculationEngine engine;
+    private double[] subtotal;
+    private double[] discountAmount;
+    private double[] taxAmount;
+    private double[] totalCost;
+
+    @Setup
+    public void setUp() {
+        PricingMetrics.getInstance().setEnabled(metrics);
+        data = new LineItemData(batchSize, 42L);
+        engine = new CostCalculationEngine();
+        subtotal = new double[batchSize];
+        discountAmount = new double[batchSize];
+        taxAmount = new double[batchSize];
+        totalCost = new double[batchSize];
+    }
+
+    /** One engine reused for every line, reading results through the getters */
+    @Benchmark
+    public void calculateAdvancedCostReusedEngine(Blackhole blackhole) {
+        for (int i = 0; i < batchSize; i++) {
+            engine.calculateAdvancedCost(data.costPerItem[i], data.quantity[i], data.deliveryCost[i],
+                                         data.taxRate[i], data.discountRate[i]);
+            blackhole.consume(engine.getTotalCost());
+        }
+    }
+
+    /** A new engine per line, as CostCalculatorApplication does */
+    @Benchmark
+    public void calculateAdvancedCostEnginePerItem(Blackhole blackhole) {
+        for (int i = 0; i < batchSize; i++) {
+            CostCalculationEngine perItem = new CostCalculationEngine();
+            perItem.calculateAdvancedCost(data.costPerItem[i], data.quantity[i], data.deliveryCost[i],
+                                          data.taxRate[i], data.discountRate[i]);
+            blackhole.consume(perItem.getTotalCost());
+        }
+    }
+
+    @Benchmark
+    public void quote(Blackhole blackhole) {
+        for (int i = 0; i < batchSize; i++) {
+            blackhole.consume(CostCalculationEngine.quote(data.costPerItem[i], data.quantity[i], data.deliveryCost[i],
+                                                          data.taxRate[i], data.discountRate[i]));
+        }
+    }
+
+    @Benchmark
+    public double[] calculateBatch() {
+        CostCalculationEngine.calculateBatch(data.costPerItem, data.quantity, data.deliveryCost,
+                                             data.taxRate, data.discountRate,
+                                             subtotal, discountAmount, taxAmount, totalCost, 0, batchSize);
+        return totalCost;
+    }
+
+    /** calculateBatch's pricing loop alone, without the validation pass, metrics and journal check */
+    @Benchmark
+    public double[] pricingLoopOnly() {
+        VectorPricingKernel.price(data.costPerItem, data.quantity, data.deliveryCost, data.taxRate, data.discountRate,
+                                  subtotal, discountAmount, taxAmount, totalCost, 0, batchSize);
+        return totalCost;
+    }
+}
@@ -0,0 +1,42 @@
+package Professional_Cost_Calculator.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Deterministic line-item inputs shared by the benchmarks
+ *
+ * Values follow the shapes seen in order exports: prices with two decimal
+ * places, mostly small quantities, optional delivery and common rates.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+final class LineItemData {
+    private static final double[] TAX_RATES = {0.0, 0.05, 0.08, 0.13, 0.17};
+    private static final double[] DISCOUNT_RATES = {0.0, 0.0, 0.05, 0.1, 0.25};
+
+    final String[] itemNames;
+    final double[] costPerItem;
+    final int[] quantity;
+    final double[] deliveryCost;
+    final double[] taxRate;
+    final double[] discountRate;
+
+    LineItemData(int size, long seed) {
+        Random random = new Random(seed);
+        itemNames = new String[size];
+        costPerItem = new double[size];
+        quantity = new int[size];
+        deliveryCost = new double[size];
+        taxRate = new double[size];
+        discountRate = new double[size];
+        for (int i = 0; i < size; i++) {
+            itemNames[i] = "SKU-" + random.nextInt(5_000);
+            costPerItem[i] = Math.round((0.01 + random.nextDouble() * 5_000) * 100) / 100.0;
+            quantity[i] = random.nextInt(10) == 0 ? 1 + random.nextInt(10_000) : 1 + random.nextInt(12);
+            deliveryCost[i] = random.nextBoolean() ? 0.0 : Math.round(random.nextDouble() * 50_000) / 100.0;
+            taxRate[i] = TAX_RATES[random.nextInt(TAX_RATES.length)];
+            discountRate[i] = DISCOUNT_RATES[random.nextInt(DISCOUNT_RATES.length)];
+        }
+    }
+}
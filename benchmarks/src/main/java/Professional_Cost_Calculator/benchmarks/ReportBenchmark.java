@@ -0,0 +1,74 @@
+package Professional_Cost_Calculator.benchmarks;
+
+import Professional_Cost_Calculator.CostCalculationEngine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Receipt rendering through generateDetailedReport and generateSummary,
+ * compared with appending into a reused StringBuilder
+ *
+ * Each invocation renders one receipt per priced engine; scores are per batch.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReportBenchmark {
+    @Param({"1000"})
+    int batchSize;
+
+    private CostCalculationEngine[] engines;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        LineItemData data = new LineItemData(batchSize, 11L);
+        engines = new CostCalculationEngine[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            engines[i] = new CostCalculationEngine(data.itemNames[i], data.costPerItem[i],
+                                                   data.quantity[i], data.deliveryCost[i]);
+            engines[i].calculateAdvancedCost(data.costPerItem[i], data.quantity[i], data.deliveryCost[i],
+                                             data.taxRate[i], data.discountRate[i]);
+        }
+        buffer = new StringBuilder(1024);
+    }
+
+    @Benchmark
+    public void generateDetailedReport(Blackhole blackhole) {
+        for (CostCalculationEngine engine : engines) {
+            blackhole.consume(engine.generateDetailedReport());
+        }
+    }
+
+    @Benchmark
+    public void generateSummary(Blackhole blackhole) {
+        for (CostCalculationEngine engine : engines) {
+            blackhole.consume(engine.generateSummary());
+        }
+    }
+
+    @Benchmark
+    public void appendDetailedReportReusedBuffer(Blackhole blackhole) {
+        for (CostCalculationEngine engine : engines) {
+            buffer.setLength(0);
+            blackhole.consume(engine.appendDetailedReport(buffer).length());
+        }
+    }
+}
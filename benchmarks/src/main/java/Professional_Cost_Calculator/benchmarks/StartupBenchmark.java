@@ -0,0 +1,112 @@
+package Professional_Cost_Calculator.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to first result of a one-off {@code --quote} run, in a fresh JVM
+ *
+ * Every invocation starts {@code java -jar Professional_Cost_Calculator.jar
+ * --quote ...} and stops the clock when the first line of output arrives;
+ * waiting for the JVM to exit is not measured.
+ * The jar is taken from {@code -Dcostcalc.jar} (default
+ * {@code ../target/Professional_Cost_Calculator.jar}). For the AppCDS
+ * variants, setup records the archive next to the jar if it is missing.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+public class StartupBenchmark {
+    private static final String[] QUOTE = {"--quote", "25", "10", "100", "0.08", "0.1"};
+
+    @Param({"default", "appcds", "appcds-c1"})
+    String profile;
+
+    private List<String> command;
+    private Process process;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        Path jar = Paths.get(System.getProperty("costcalc.jar", "../target/Professional_Cost_Calculator.jar"));
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Build the calculator first: " + jar.toAbsolutePath() + " not found");
+        }
+        Path archive = jar.resolveSibling("Professional_Cost_Calculator.jsa");
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+
+        command = new ArrayList<>();
+        command.add(java.toString());
+        switch (profile) {
+            case "default":
+                break;
+            case "appcds-c1":
+                command.add("-XX:TieredStopAtLevel=1");
+                // Fall through: same archive
+            case "appcds":
+                if (!Files.isRegularFile(archive)) {
+                    List<String> record = new ArrayList<>(List.of(java.toString(), "-XX:ArchiveClassesAtExit=" + archive,
+                                                                  "-jar", jar.toString()));
+                    record.addAll(Arrays.asList(QUOTE));
+                    run(record);
+                }
+                command.add("-XX:SharedArchiveFile=" + archive);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown profile " + profile);
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(Arrays.asList(QUOTE));
+        run(command); // Fail early if the command does not work
+    }
+
+    @Benchmark
+    public String timeToFirstResult() throws IOException {
+        process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        return out.readLine();
+    }
+
+    @TearDown(Level.Invocation)
+    public void awaitExit() throws IOException, InterruptedException {
+        process.getInputStream().transferTo(OutputStream.nullOutputStream());
+        process.waitFor();
+    }
+
+    private static void run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Command failed: " + String.join(" ", command));
+        }
+    }
+}
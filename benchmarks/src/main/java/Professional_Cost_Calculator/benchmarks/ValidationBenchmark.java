@@ -0,0 +1,81 @@
+package Professional_Cost_Calculator.benchmarks;
+
+import Professional_Cost_Calculator.CostCalculationEngine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The validateAndSet* chain behind setItemDetails and calculateAdvancedCost,
+ * with a share of rows that fail validation and throw
+ *
+ * Each invocation validates a whole batch; scores are per batch.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidationBenchmark {
+    @Param({"10000"})
+    int batchSize;
+
+    /** Percentage of rows with an invalid cost, quantity, delivery or rate */
+    @Param({"0", "5", "10"})
+    int invalidPercent;
+
+    private LineItemData data;
+    private CostCalculationEngine engine;
+
+    @Setup
+    public void setUp() {
+        data = new LineItemData(batchSize, 7L);
+        engine = new CostCalculationEngine();
+        int invalidRows = batchSize * invalidPercent / 100;
+        for (int n = 0; n < invalidRows; n++) {
+            int i = (int) ((long) n * batchSize / Math.max(1, invalidRows));
+            switch (n % 4) {
+                case 0:
+                    data.costPerItem[i] = 0.0;
+                    break;
+                case 1:
+                    data.quantity[i] = 0;
+                    break;
+                case 2:
+                    data.deliveryCost[i] = -1.0;
+                    break;
+                default:
+                    data.discountRate[i] = 0.75;
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public void setItemDetailsAndCalculate(Blackhole blackhole) {
+        for (int i = 0; i < batchSize; i++) {
+            try {
+                engine.setItemDetails(data.itemNames[i], data.costPerItem[i], data.quantity[i], data.deliveryCost[i]);
+                engine.calculateAdvancedCost(data.costPerItem[i], data.quantity[i], data.deliveryCost[i],
+                                             data.taxRate[i], data.discountRate[i]);
+                blackhole.consume(engine.getTotalCost());
+            } catch (IllegalArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+}
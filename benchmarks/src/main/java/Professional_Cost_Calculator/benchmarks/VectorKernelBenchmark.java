@@ -0,0 +1,98 @@
+package Professional_Cost_Calculator.benchmarks;
+
+import Professional_Cost_Calculator.CostCalculationEngine;
+import Professional_Cost_Calculator.CostQuote;
+import Professional_Cost_Calculator.VectorPricingKernel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * VectorPricingKernel compared with the equivalent scalar loop
+ *
+ * The fork enables jdk.incubator.vector. Setup first checks that every
+ * kernel result is bit-for-bit equal to CostCalculationEngine.quote and
+ * fails the run if not.
+ *
+ * @author Muhammad Yamman Hammad
+ * @version 2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VectorKernelBenchmark {
+    @Param({"1000", "100000"})
+    int batchSize;
+
+    private LineItemData data;
+    private double[] subtotal;
+    private double[] discountAmount;
+    private double[] taxAmount;
+    private double[] totalCost;
+
+    @Setup
+    public void setUp() {
+        data = new LineItemData(batchSize, 42L);
+        subtotal = new double[batchSize];
+        discountAmount = new double[batchSize];
+        taxAmount = new double[batchSize];
+        totalCost = new double[batchSize];
+        if (!VectorPricingKernel.isVectorized()) {
+            System.err.println("Vector API unavailable; measuring the scalar fallback");
+        }
+        verify();
+    }
+
+    private void verify() {
+        vectorKernel();
+        for (int i = 0; i < batchSize; i++) {
+            CostQuote quote = CostCalculationEngine.quote(data.costPerItem[i], data.quantity[i], data.deliveryCost[i],
+                                                          data.taxRate[i], data.discountRate[i]);
+            if (!sameBits(quote.getSubtotal(), subtotal[i])
+                || !sameBits(quote.getDiscountAmount(), discountAmount[i])
+                || !sameBits(quote.getTaxAmount(), taxAmount[i])
+                || !sameBits(quote.getTotalCost(), totalCost[i])) {
+                throw new IllegalStateException("Kernel differs from the engine at row " + i);
+            }
+        }
+    }
+
+    private static boolean sameBits(double expected, double actual) {
+        return Double.doubleToRawLongBits(expected) == Double.doubleToRawLongBits(actual);
+    }
+
+    @Benchmark
+    public double[] vectorKernel() {
+        VectorPricingKernel.price(data.costPerItem, data.quantity, data.deliveryCost, data.taxRate, data.discountRate,
+                                  subtotal, discountAmount, taxAmount, totalCost, 0, batchSize);
+        return totalCost;
+    }
+
+    /** The engine's scalar row loop, for comparison */
+    @Benchmark
+    public double[] scalarLoop() {
+        for (int i = 0; i < batchSize; i++) {
+            double rowSubtotal = (data.costPerItem[i] * data.quantity[i]) + data.deliveryCost[i];
+            double rowDiscount = rowSubtotal * data.discountRate[i];
+            double afterDiscount = rowSubtotal - rowDiscount;
+            double rowTax = afterDiscount * data.taxRate[i];
+            subtotal[i] = rowSubtotal;
+            discountAmount[i] = rowDiscount;
+            taxAmount[i] = rowTax;
+            totalCost[i] = afterDiscount + rowTax;
+        }
+        return totalCost;
+    }
+}
@@ -0,0 +1,23 @@
+#!/bin/sh
+# Records an AppCDS archive for short-lived command-line runs.
+#
+# The JVM loads, verifies and links every class a --quote run needs, then
+# dumps them into the archive at exit. Later runs map the archive instead of
+# repeating that work. Recreate the archive after every rebuild of the jar
+# or change of JDK; a stale archive is ignored with a warning.
+#
+# Usage: scripts/create-cds-archive.sh [jar] [archive]
+set -e
+
+JAR=${1:-target/Professional_Cost_Calculator.jar}
+ARCHIVE=${2:-${JAR%.jar}.jsa}
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ $JAR not found; run mvn package first" >&2
+    exit 1
+fi
+
+rm -f "$ARCHIVE"
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -jar "$JAR" --quote 25 10 100 0.08 0.1 > /dev/null
+echo "✅ Wrote $ARCHIVE"
+echo "   java -XX:SharedArchiveFile=$ARCHIVE -jar $JAR --quote <costPerItem> <quantity> ..."
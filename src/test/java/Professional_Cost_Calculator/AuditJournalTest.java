@@ -0,0 +1,224 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void detachJournal() {
+        CostCalculationEngine.setAuditJournal(null);
+        RateConfiguration.install(RateConfiguration.defaults());
+    }
+
+    @Test
+    void recordsRoundTripBitForBit() throws IOException {
+        CostQuote quote = CostCalculationEngine.quote("Pen ✓", 25.0, 10, 100.0, 0.08, 0.1);
+        double[] cost = {0.01, 1e9, 3.3};
+        int[] quantity = {1, Integer.MAX_VALUE, 7};
+        double[] delivery = {0.0, 5.5, -0.0};
+        double[] tax = {0.0, 1.0, 0.175};
+        double[] discount = {0.5, 0.0, 0.125};
+        double[] subtotal = new double[3];
+        double[] discountAmount = new double[3];
+        double[] taxAmount = new double[3];
+        double[] total = new double[3];
+        CostCalculationEngine.calculateBatch(cost, quantity, delivery, tax, discount,
+                                             subtotal, discountAmount, taxAmount, total, 0, 3);
+
+        try (AuditJournal journal = AuditJournal.open(directory)) {
+            assertEquals(1, journal.append(PricingMode.QUOTE, quote));
+            assertEquals(4, journal.appendRows(PricingMode.BATCH, cost, quantity, delivery, tax, discount,
+                                               subtotal, discountAmount, taxAmount, total, null, 0, 3));
+            journal.sync();
+            assertEquals(4, journal.getDurableSequence());
+        }
+
+        try (AuditJournalReader reader = onlySegment()) {
+            assertTrue(reader.next());
+            assertEquals(1, reader.getSequence());
+            assertEquals(PricingMode.QUOTE, reader.getMode());
+            assertEquals("Pen ✓", reader.getItemName());
+            assertBits(quote.getTotalCost(), reader.getTotalCost());
+            assertBits(quote.getTaxAmount(), reader.getTaxAmount());
+            for (int i = 0; i < 3; i++) {
+                assertTrue(reader.next());
+                assertEquals(2 + i, reader.getSequence());
+                assertEquals(PricingMode.BATCH, reader.getMode());
+                assertEquals("", reader.getItemName());
+                assertEquals(quantity[i], reader.getQuantity());
+                assertBits(cost[i], reader.getCostPerItem());
+                assertBits(delivery[i], reader.getDeliveryCost());
+                assertBits(tax[i], reader.getTaxRate());
+                assertBits(discount[i], reader.getDiscountRate());
+                assertBits(subtotal[i], reader.getSubtotal());
+                assertBits(discountAmount[i], reader.getDiscountAmount());
+                assertBits(taxAmount[i], reader.getTaxAmount());
+                assertBits(total[i], reader.getTotalCost());
+            }
+            assertFalse(reader.next());
+            assertFalse(reader.isTruncated());
+        }
+    }
+
+    @Test
+    void tornTailIsCutOffAndNumberingResumes() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory)) {
+            for (int i = 0; i < 3; i++) {
+                journal.append(PricingMode.QUOTE, CostCalculationEngine.quote("Item " + i, 10.0, 1 + i, 0, 0.08, 0));
+            }
+        }
+        Path segment = AuditJournalReader.listSegments(directory).get(0);
+        long intactLength = Files.size(segment);
+        // Half of a fourth record, as left by a crash mid-write
+        Files.write(segment, new byte[AuditJournalFormat.FIXED_RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        try (AuditJournalReader reader = AuditJournalReader.open(segment)) {
+            int records = 0;
+            while (reader.next()) {
+                records++;
+            }
+            assertEquals(3, records);
+            assertTrue(reader.isTruncated());
+            assertEquals(intactLength, reader.getValidLength());
+        }
+
+        try (AuditJournal journal = AuditJournal.open(directory)) {
+            assertEquals(intactLength, Files.size(segment));
+            assertEquals(4, journal.append(PricingMode.QUOTE, CostCalculationEngine.quote(10.0, 9, 0, 0.08, 0)));
+        }
+        try (AuditJournalReader reader = onlySegment()) {
+            long last = 0;
+            while (reader.next()) {
+                last = reader.getSequence();
+            }
+            assertEquals(4, last);
+            assertFalse(reader.isTruncated());
+        }
+    }
+
+    @Test
+    void nameLengthDisagreeingWithBodyEndsSegmentWithoutThrowing() throws IOException {
+        writeOneQuote("Pen");
+        rewriteFirstRecord(record -> record.putShort(AuditJournalFormat.NAME_LENGTH, (short) 4000));
+
+        try (AuditJournalReader reader = onlySegment()) {
+            assertFalse(reader.next());
+            assertTrue(reader.isTruncated());
+        }
+    }
+
+    @Test
+    void unknownModeCodeIsAnError() throws IOException {
+        writeOneQuote("Pen");
+        rewriteFirstRecord(record -> record.put(AuditJournalFormat.MODE, (byte) 99));
+
+        try (AuditJournalReader reader = onlySegment()) {
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+
+    @Test
+    void modeCodesAreStable() {
+        for (PricingMode mode : PricingMode.values()) {
+            assertEquals(mode, PricingMode.fromCode(mode.getCode()));
+        }
+        assertEquals(3, PricingMode.QUOTE.getCode());
+        assertEquals(8, PricingMode.BINARY_FILE.getCode());
+    }
+
+    @Test
+    void engineJournalsRecordStorePricing() throws IOException {
+        LineItemStore store = new LineItemStore(new ItemNameDictionary(), 4);
+        store.add("Pen", 25.0, 10, 100.0, 0.08, 0.1);
+        store.add("Ink", 3.5, 2, 0.0, 0.17, 0.0);
+        try (AuditJournal journal = AuditJournal.open(directory)) {
+            CostCalculationEngine.setAuditJournal(journal);
+            store.price();
+            CostCalculationEngine.setAuditJournal(null);
+        }
+
+        try (AuditJournalReader reader = onlySegment()) {
+            for (int row = 0; row < 2; row++) {
+                assertTrue(reader.next());
+                assertEquals(PricingMode.BATCH, reader.getMode());
+                assertBits(store.getTotalCost(row), reader.getTotalCost());
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void replayDoesNotCountRejectionsInMetrics() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory)) {
+            journal.append(PricingMode.QUOTE, CostCalculationEngine.quote("Pen", 5.0, 2, 0, 0.08, 0.4));
+        }
+        Properties limits = new Properties();
+        limits.setProperty("limit.maxDiscountRate", "0.3");
+        limits.setProperty("discount.max", "0.3");
+        RateConfiguration.install(RateConfiguration.compile(limits));
+        long rejectionsBefore = PricingMetrics.getInstance()
+            .getRejectionCount(ValidationError.DISCOUNT_RATE_OUT_OF_RANGE);
+
+        AuditReplay replay = new AuditReplay(new PrintStream(new ByteArrayOutputStream(), true,
+                                                             StandardCharsets.UTF_8));
+        replay.replay(directory);
+
+        assertEquals(1, replay.getNowInvalidCount());
+        assertFalse(replay.isClean());
+        assertEquals(rejectionsBefore, PricingMetrics.getInstance()
+            .getRejectionCount(ValidationError.DISCOUNT_RATE_OUT_OF_RANGE));
+    }
+
+    private void writeOneQuote(String itemName) throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory)) {
+            journal.append(PricingMode.QUOTE, CostCalculationEngine.quote(itemName, 25.0, 10, 0, 0.08, 0));
+        }
+    }
+
+    // Edits the first record and recomputes its checksum, so only the edited field is wrong
+    private void rewriteFirstRecord(Consumer<ByteBuffer> edit) throws IOException {
+        Path segment = AuditJournalReader.listSegments(directory).get(0);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment)).order(AuditJournalFormat.BYTE_ORDER);
+        ByteBuffer record = bytes.slice(AuditJournalFormat.HEADER_SIZE, bytes.capacity() - AuditJournalFormat.HEADER_SIZE)
+            .order(AuditJournalFormat.BYTE_ORDER);
+        edit.accept(record);
+        int bodyLength = record.getInt(AuditJournalFormat.LENGTH);
+        CRC32C crc = new CRC32C();
+        crc.update(record.slice(AuditJournalFormat.BODY, bodyLength));
+        record.putInt(AuditJournalFormat.CHECKSUM, (int) crc.getValue());
+        Files.write(segment, bytes.array());
+    }
+
+    private AuditJournalReader onlySegment() throws IOException {
+        List<Path> segments = AuditJournalReader.listSegments(directory);
+        assertEquals(1, segments.size());
+        return AuditJournalReader.open(segments.get(0));
+    }
+
+    private static void assertBits(double expected, double actual) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+    }
+}
@@ -0,0 +1,82 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class CostCalculationEngineTest {
+
+    @Test
+    void everyBatchEntryPointMatchesQuoteBitForBit() {
+        LineItemBatch reference = randomBatch(5_003, 11L);
+        LineItemBatch sequential = randomBatch(5_003, 11L);
+        LineItemBatch lenient = randomBatch(5_003, 11L);
+        LineItemBatch parallel = randomBatch(5_003, 11L);
+        LineItemBatch inline = randomBatch(5_003, 11L);
+
+        CostCalculationEngine.calculateBatch(sequential);
+        assertEquals(0, CostCalculationEngine.calculateBatchLenient(lenient));
+        CostCalculationEngine.calculateBatchParallel(parallel, ForkJoinPool.commonPool(), 64);
+        CostCalculationEngine.calculateBatchParallel(inline, ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+
+        for (int i = 0; i < reference.size(); i++) {
+            CostQuote quote = CostCalculationEngine.quote(reference.getCostPerItem()[i], reference.getQuantity()[i],
+                                                          reference.getDeliveryCost()[i], reference.getTaxRate()[i],
+                                                          reference.getDiscountRate()[i]);
+            for (LineItemBatch batch : new LineItemBatch[] {sequential, lenient, parallel, inline}) {
+                assertBits(quote.getSubtotal(), batch.getSubtotal()[i], i);
+                assertBits(quote.getDiscountAmount(), batch.getDiscountAmount()[i], i);
+                assertBits(quote.getTaxAmount(), batch.getTaxAmount()[i], i);
+                assertBits(quote.getTotalCost(), batch.getTotalCost()[i], i);
+            }
+        }
+    }
+
+    @Test
+    void smallParallelBatchIsRecordedAsParallel() {
+        PricingMetrics metrics = PricingMetrics.getInstance();
+        long parallelItems = metrics.getLineItemCount(PricingMode.PARALLEL_BATCH);
+        long batchItems = metrics.getLineItemCount(PricingMode.BATCH);
+
+        CostCalculationEngine.calculateBatchParallel(randomBatch(10, 3L));
+
+        assertEquals(parallelItems + 10, metrics.getLineItemCount(PricingMode.PARALLEL_BATCH));
+        assertEquals(batchItems, metrics.getLineItemCount(PricingMode.BATCH));
+    }
+
+    @Test
+    void invalidRowLeavesParallelOutputsUntouched() {
+        for (int threshold : new int[] {1, 1_000}) {
+            LineItemBatch batch = randomBatch(100, 5L);
+            batch.getQuantity()[57] = 0;
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> CostCalculationEngine.calculateBatchParallel(batch, ForkJoinPool.commonPool(), threshold));
+            assertTrue(e.getMessage().startsWith("Row 57: "), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                assertEquals(0.0, batch.getTotalCost()[i]);
+            }
+        }
+    }
+
+    private static LineItemBatch randomBatch(int size, long seed) {
+        Random random = new Random(seed);
+        LineItemBatch batch = new LineItemBatch(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(0.01 + random.nextDouble() * 10_000, 1 + random.nextInt(100_000),
+                      random.nextInt(4) == 0 ? 0.0 : random.nextDouble() * 500,
+                      random.nextInt(4) == 0 ? 0.0 : random.nextDouble(),
+                      random.nextDouble() * RateConfiguration.DEFAULT_MAX_DISCOUNT_RATE);
+        }
+        return batch;
+    }
+
+    private static void assertBits(double expected, double actual, int row) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                     () -> "row " + row + ": expected " + expected + ", got " + actual);
+    }
+}
@@ -0,0 +1,133 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+class CostReportRendererTest {
+    private static final List<Locale> LOCALES = List.of(
+        CurrencyFormatter.DEFAULT_LOCALE, Locale.US, Locale.GERMANY, Locale.FRANCE,
+        Locale.forLanguageTag("hi-IN"), Locale.forLanguageTag("ar-EG"), Locale.forLanguageTag("th-TH-u-nu-thai"));
+
+    @Test
+    void defaultLocaleReportsMatchStringFormat() {
+        Locale numberLocale = Locale.getDefault(Locale.Category.FORMAT);
+        NumberFormat currency = NumberFormat.getCurrencyInstance(CurrencyFormatter.DEFAULT_LOCALE);
+        for (CostQuote quote : quotes()) {
+            String report = detailedReport(quote, currency, numberLocale);
+            assertEquals(report, CostReportRenderer.appendDetailedReport(new StringBuilder(), quote).toString());
+            assertBytes(report, buffer -> CostReportRenderer.writeDetailedReport(buffer, quote));
+
+            String summary = summary(quote, currency, numberLocale);
+            assertEquals(summary, CostReportRenderer.appendSummary(new StringBuilder(), quote).toString());
+            assertBytes(summary, buffer -> CostReportRenderer.writeSummary(buffer, quote));
+        }
+    }
+
+    @Test
+    void everyLocaleMatchesStringFormat() {
+        for (Locale locale : LOCALES) {
+            NumberFormat currency = NumberFormat.getCurrencyInstance(locale);
+            for (CostQuote quote : quotes()) {
+                String report = detailedReport(quote, currency, locale);
+                assertEquals(report, CostReportRenderer.appendDetailedReport(new StringBuilder(), quote, locale)
+                    .toString(), () -> locale + " " + quote);
+                assertBytes(report, buffer -> CostReportRenderer.writeDetailedReport(buffer, quote, locale));
+                assertEquals(summary(quote, currency, locale),
+                             CostReportRenderer.appendSummary(new StringBuilder(), quote, locale).toString(),
+                             () -> locale + " " + quote);
+            }
+        }
+    }
+
+    @Test
+    void reportThatDoesNotFitLeavesTheBufferUntouched() {
+        CostQuote quote = CostCalculationEngine.quote("Çay ✓ 🍵", 1.125, 3, 0.015, 0.175, 0.125);
+        byte[] report = CostReportRenderer.appendDetailedReport(new StringBuilder(), quote).toString()
+            .getBytes(StandardCharsets.UTF_8);
+        for (int room : new int[] {0, 1, report.length / 2, report.length - 1}) {
+            ByteBuffer buffer = ByteBuffer.allocate(8 + room);
+            buffer.putLong(-1L);
+            assertThrows(BufferOverflowException.class, () -> CostReportRenderer.writeDetailedReport(buffer, quote));
+            assertEquals(8, buffer.position(), "room " + room);
+            assertArrayEquals(new byte[room], Arrays.copyOfRange(buffer.array(), 8, 8 + room), "room " + room);
+        }
+        ByteBuffer exact = ByteBuffer.allocate(report.length);
+        CostReportRenderer.writeDetailedReport(exact, quote);
+        assertArrayEquals(report, exact.array());
+    }
+
+    private static void assertBytes(String expected, Consumer<ByteBuffer> writer) {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        writer.accept(buffer);
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+
+    // Rounding ties, rates that are not exact in binary, amounts past the fast path, empty and non-ASCII names
+    private static List<CostQuote> quotes() {
+        List<CostQuote> quotes = new ArrayList<>();
+        quotes.add(CostCalculationEngine.quote("Pen", 25.0, 10, 100.0, 0.08, 0.1));
+        quotes.add(CostCalculationEngine.quote("", 0.015, 1, 0.0, 0.0, 0.0));
+        quotes.add(CostCalculationEngine.quote("Çay ✓ 🍵", 1.125, 3, 0.015, 0.175, 0.125));
+        quotes.add(CostCalculationEngine.quote("Bulk", 9_999_999.995, 1_000_000, 1e12, 1.0, 0.5));
+        quotes.add(CostCalculationEngine.quote("Rates", 2.675, 7, 0.0, 0.0005, 0.0025));
+        quotes.add(CostCalculationEngine.quote("Big", 1e15, Integer.MAX_VALUE, 0.0, 0.05, 0.0));
+        Random random = new Random(17L);
+        for (int i = 0; i < 200; i++) {
+            quotes.add(CostCalculationEngine.quote("Item " + i, 0.01 + Math.round(random.nextDouble() * 1e6) / 1000.0,
+                                                   1 + random.nextInt(5_000), random.nextInt(3) * 12.345,
+                                                   random.nextInt(1_001) / 1000.0, random.nextInt(501) / 1000.0));
+        }
+        return quotes;
+    }
+
+    // The reports as the engine produced them with String.format before CostReportRenderer
+    private static String detailedReport(CostQuote quote, NumberFormat currency, Locale locale) {
+        StringBuilder report = new StringBuilder();
+        report.append("\n").append("=".repeat(50)).append("\n");
+        report.append("               DETAILED COST BREAKDOWN\n");
+        report.append("=".repeat(50)).append("\n");
+        if (!quote.getItemName().isEmpty()) {
+            report.append(String.format(locale, "Item Name           : %s%n", quote.getItemName()));
+        }
+        report.append(String.format(locale, "Cost Per Item       : %s%n", currency.format(quote.getCostPerItem())));
+        report.append(String.format(locale, "Quantity            : %d items%n", quote.getQuantity()));
+        report.append(String.format(locale, "Items Subtotal      : %s%n",
+                                    currency.format(quote.getCostPerItem() * quote.getQuantity())));
+        if (quote.getDeliveryCost() > 0) {
+            report.append(String.format(locale, "Delivery Charges    : %s%n", currency.format(quote.getDeliveryCost())));
+        }
+        report.append(String.format(locale, "Subtotal            : %s%n", currency.format(quote.getSubtotal())));
+        if (quote.getDiscountRate() > 0) {
+            report.append(String.format(locale, "Discount (%.1f%%)     : -%s%n",
+                                        quote.getDiscountRate() * 100, currency.format(quote.getDiscountAmount())));
+        }
+        if (quote.getTaxRate() > 0) {
+            report.append(String.format(locale, "Tax (%.1f%%)          : %s%n",
+                                        quote.getTaxRate() * 100, currency.format(quote.getTaxAmount())));
+        }
+        report.append("-".repeat(50)).append("\n");
+        report.append(String.format(locale, "TOTAL COST          : %s%n", currency.format(quote.getTotalCost())));
+        report.append("=".repeat(50)).append("\n");
+        return report.toString();
+    }
+
+    private static String summary(CostQuote quote, NumberFormat currency, Locale locale) {
+        return String.format(locale, "Total Cost: %s (Items: %d × %s + Delivery: %s)",
+                             currency.format(quote.getTotalCost()), quote.getQuantity(),
+                             currency.format(quote.getCostPerItem()), currency.format(quote.getDeliveryCost()));
+    }
+}
@@ -0,0 +1,129 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvBatchProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void restoreDefaults() {
+        CostCalculationEngine.setAuditJournal(null);
+        RateConfiguration.install(RateConfiguration.defaults());
+    }
+
+    @Test
+    void pricedRowsMatchQuotesAcrossChunks() throws IOException {
+        Random random = new Random(23L);
+        StringBuilder input = new StringBuilder("itemName,costPerItem,quantity,deliveryCost,taxRate,discountRate\n");
+        double[][] rows = new double[103][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new double[] {0.01 + random.nextInt(1_000_000) / 100.0, 1 + random.nextInt(5_000),
+                                    random.nextInt(3) * 12.345, random.nextInt(1_001) / 1000.0,
+                                    random.nextInt(501) / 1000.0};
+            input.append("Item ").append(i).append(',').append(rows[i][0]).append(',').append((int) rows[i][1])
+                 .append(',').append(rows[i][2]).append(',').append(rows[i][3]).append(',').append(rows[i][4])
+                 .append('\n');
+        }
+        CsvBatchProcessor processor = new CsvBatchProcessor(',', null, 10);
+        String[] lines = process(processor, input.toString());
+
+        assertEquals(rows.length, processor.getRowsPriced());
+        assertEquals(rows.length + 1, lines.length);
+        for (int i = 0; i < rows.length; i++) {
+            CostQuote quote = CostCalculationEngine.quote(rows[i][0], (int) rows[i][1], rows[i][2],
+                                                          rows[i][3], rows[i][4]);
+            String[] columns = lines[i + 1].split(",");
+            assertEquals("Item " + i, columns[0]);
+            assertBits(quote.getSubtotal(), Double.parseDouble(columns[6]), i);
+            assertBits(quote.getDiscountAmount(), Double.parseDouble(columns[7]), i);
+            assertBits(quote.getTaxAmount(), Double.parseDouble(columns[8]), i);
+            assertBits(quote.getTotalCost(), Double.parseDouble(columns[9]), i);
+        }
+    }
+
+    @Test
+    void namesAreNormalizedLikeTheEngine() throws IOException {
+        String[] lines = process(new CsvBatchProcessor(',', null),
+                                 "  Pen ,1,1,0,0.08,0\n"
+                                 + ",1,1,0,0.08,0\n"
+                                 + "\"  \",1,1,0,0.08,0\n"
+                                 + "\" Ink, blue \",1,1,0,0.08,0\n");
+        assertTrue(lines[1].startsWith("Pen,"), lines[1]);
+        assertTrue(lines[2].startsWith("Item,"), lines[2]);
+        assertTrue(lines[3].startsWith("Item,"), lines[3]);
+        assertTrue(lines[4].startsWith("\"Ink, blue\","), lines[4]);
+    }
+
+    @Test
+    void rowsAreValidatedOnceAndPricedRowsAreRecorded() throws IOException {
+        PricingMetrics metrics = PricingMetrics.getInstance();
+        long items = metrics.getLineItemCount(PricingMode.BATCH);
+        long quantityRejections = metrics.getRejectionCount(ValidationError.QUANTITY_BELOW_MINIMUM);
+
+        CsvBatchProcessor processor = new CsvBatchProcessor(',', null, 2);
+        try (AuditJournal journal = AuditJournal.open(directory)) {
+            CostCalculationEngine.setAuditJournal(journal);
+            process(processor, "Pen,1,1,0,0.08,0\nInk,1,0,0,0.08,0\nCap,2,3,0,0.08,0\nNib,3,1,0,0.08,0\n");
+            CostCalculationEngine.setAuditJournal(null);
+            journal.sync();
+        }
+
+        assertEquals(3, processor.getRowsPriced());
+        assertEquals(1, processor.getRowsRejected());
+        assertEquals(items + 3, metrics.getLineItemCount(PricingMode.BATCH));
+        assertEquals(quantityRejections + 1, metrics.getRejectionCount(ValidationError.QUANTITY_BELOW_MINIMUM));
+
+        List<Path> segments = AuditJournalReader.listSegments(directory);
+        assertEquals(1, segments.size());
+        try (AuditJournalReader reader = AuditJournalReader.open(segments.get(0))) {
+            for (int quantity : new int[] {1, 3, 1}) {
+                assertTrue(reader.next());
+                assertEquals(PricingMode.BATCH, reader.getMode());
+                assertEquals(quantity, reader.getQuantity());
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void wholeInputUsesTheConfigurationCurrentAtTheStart() throws IOException {
+        Properties limits = new Properties();
+        limits.setProperty("limit.minCost", "2");
+        RateConfiguration.install(RateConfiguration.compile(limits));
+
+        CsvBatchProcessor processor = new CsvBatchProcessor(',', null);
+        String[] lines = process(processor, "Pen,1,1,0,0.08,0\nInk,2,1,0,0.08,0\n");
+
+        assertEquals(1, processor.getRowsPriced());
+        assertEquals(1, processor.getRowsRejected());
+        assertTrue(lines[1].startsWith("Ink,"), lines[1]);
+    }
+
+    private static String[] process(CsvBatchProcessor processor, String input) throws IOException {
+        StringWriter out = new StringWriter();
+        processor.process(new BufferedReader(new StringReader(input)), out);
+        return out.toString().split("\n");
+    }
+
+    private static void assertBits(double expected, double actual, int row) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                     () -> "row " + row + ": expected " + expected + ", got " + actual);
+    }
+}
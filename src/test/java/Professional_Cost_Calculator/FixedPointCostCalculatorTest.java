@@ -0,0 +1,128 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class FixedPointCostCalculatorTest {
+
+    @Test
+    void quotesExactAmounts() {
+        // Rs25.00 x 10 + Rs100.00, 10% discount, 8% tax
+        FixedPointQuote quote = new FixedPointCostCalculator().quote(2_500, 10, 10_000, 800, 1_000);
+
+        assertEquals(35_000, quote.getSubtotalMinor());
+        assertEquals(3_500, quote.getDiscountAmountMinor());
+        assertEquals(2_520, quote.getTaxAmountMinor());
+        assertEquals(34_020, quote.getTotalCostMinor());
+        assertEquals(new BigDecimal("340.20"), quote.getTotalCost());
+    }
+
+    // Half of one paisa (1 x 50%) and one and a half paisa (3 x 50%) discounted
+    @ParameterizedTest
+    @CsvSource({
+        "HALF_EVEN, 1, 0", "HALF_EVEN, 3, 2",
+        "HALF_UP,   1, 1", "HALF_UP,   3, 2",
+        "HALF_DOWN, 1, 0", "HALF_DOWN, 3, 1",
+        "UP,        1, 1", "DOWN,      3, 1",
+        "CEILING,   1, 1", "FLOOR,     3, 1",
+    })
+    void discountIsRoundedWithTheChosenMode(RoundingMode mode, long costPerItemMinor, long expectedDiscount) {
+        FixedPointQuote quote = new FixedPointCostCalculator(mode).quote(costPerItemMinor, 1, 0, 0, 5_000);
+        assertEquals(expectedDiscount, quote.getDiscountAmountMinor());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void divideRoundedMatchesBigDecimal(RoundingMode mode) {
+        Random random = new Random(mode.ordinal());
+        for (int i = 0; i < 10_000; i++) {
+            long dividend = i < 100 ? i * 50L : random.nextLong() & Long.MAX_VALUE;
+            long expected = BigDecimal.valueOf(dividend)
+                .divide(BigDecimal.valueOf(FixedPointCostCalculator.BASIS_POINTS_PER_UNIT), 0, mode)
+                .longValueExact();
+            assertEquals(expected, FixedPointCostCalculator.divideRounded(
+                dividend, FixedPointCostCalculator.BASIS_POINTS_PER_UNIT, mode), "dividend " + dividend);
+        }
+    }
+
+    @Test
+    void batchMatchesQuotes() {
+        FixedPointCostCalculator calculator = new FixedPointCostCalculator();
+        Random random = new Random(9L);
+        int rows = 1_000;
+        long[] cost = new long[rows];
+        int[] quantity = new int[rows];
+        long[] delivery = new long[rows];
+        int[] tax = new int[rows];
+        int[] discount = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            cost[i] = 1 + random.nextInt(1_000_000);
+            quantity[i] = 1 + random.nextInt(10_000);
+            delivery[i] = random.nextInt(50_000);
+            tax[i] = random.nextInt(10_001);
+            discount[i] = random.nextInt(5_001);
+        }
+        long[] subtotal = new long[rows];
+        long[] discountAmount = new long[rows];
+        long[] taxAmount = new long[rows];
+        long[] total = new long[rows];
+        calculator.calculateBatch(cost, quantity, delivery, tax, discount,
+                                  subtotal, discountAmount, taxAmount, total, 0, rows);
+
+        for (int i = 0; i < rows; i++) {
+            FixedPointQuote quote = calculator.quote(cost[i], quantity[i], delivery[i], tax[i], discount[i]);
+            assertEquals(quote.getSubtotalMinor(), subtotal[i]);
+            assertEquals(quote.getDiscountAmountMinor(), discountAmount[i]);
+            assertEquals(quote.getTaxAmountMinor(), taxAmount[i]);
+            assertEquals(quote.getTotalCostMinor(), total[i]);
+        }
+    }
+
+    @Test
+    void overflowingRowLeavesBatchOutputsUntouched() {
+        long[] cost = {100, 200, Long.MAX_VALUE / 2};
+        int[] quantity = {1, 1, 3};
+        long[] zero = new long[3];
+        int[] rates = {800, 800, 800};
+        long[] subtotal = new long[3];
+        long[] total = new long[3];
+
+        ArithmeticException e = assertThrows(ArithmeticException.class,
+            () -> new FixedPointCostCalculator().calculateBatch(cost, quantity, zero, rates, new int[3],
+                                                                subtotal, new long[3], new long[3], total, 0, 3));
+        assertTrue(e.getMessage().startsWith("Row 2: "), e.getMessage());
+        assertArrayEquals(new long[3], subtotal);
+        assertArrayEquals(new long[3], total);
+
+        // Fits in a long, but its tax does not
+        cost[2] = Long.MAX_VALUE / 1_000;
+        quantity[2] = 1;
+        rates[2] = 10_000;
+        assertThrows(ArithmeticException.class,
+            () -> new FixedPointCostCalculator().calculateBatch(cost, quantity, zero, rates, new int[3],
+                                                                subtotal, new long[3], new long[3], total, 0, 3));
+        assertArrayEquals(new long[3], total);
+    }
+
+    @Test
+    void unnecessaryRoundingFailsBeforeAnyOutputIsWritten() {
+        long[] total = new long[2];
+        ArithmeticException e = assertThrows(ArithmeticException.class,
+            () -> new FixedPointCostCalculator(RoundingMode.UNNECESSARY)
+                .calculateBatch(new long[] {10_000, 1}, new int[] {1, 1}, new long[2], new int[] {800, 800},
+                                new int[2], new long[2], new long[2], new long[2], total, 0, 2));
+        assertTrue(e.getMessage().startsWith("Row 1: "), e.getMessage());
+        assertArrayEquals(new long[2], total);
+    }
+}
@@ -0,0 +1,128 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ItemNameDictionaryTest {
+    private static final int THREADS = 8;
+    private static final int NAMES = 2_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentInternsAgreeOnEveryId() throws Exception {
+        ItemNameDictionary dictionary = new ItemNameDictionary();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int[] ids = new int[NAMES];
+                    // Each thread walks the names from a different starting point, half of them padded
+                    for (int k = 0; k < NAMES; k++) {
+                        int n = (k + thread * 251) % NAMES;
+                        ids[n] = dictionary.intern(thread % 2 == 0 ? "Item " + n : "  Item " + n + " ");
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+            int[] first = results.get(0).get();
+            for (Future<int[]> result : results) {
+                int[] ids = result.get();
+                for (int n = 0; n < NAMES; n++) {
+                    assertEquals(first[n], ids[n], "Item " + n);
+                }
+            }
+            assertEquals(NAMES, dictionary.size());
+            for (int n = 0; n < NAMES; n++) {
+                assertEquals("Item " + n, dictionary.nameOf(first[n]));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentAssignmentNeverExceedsCapacity() throws Exception {
+        ItemNameDictionary dictionary = new ItemNameDictionary(100);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    for (int n = 0; n < 50; n++) {
+                        String name = "T" + thread + "-" + n;
+                        // Past capacity the name is still returned, just not shared
+                        assertEquals(name, dictionary.sharedName(name));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(100, dictionary.size());
+        assertThrows(IllegalStateException.class, () -> dictionary.idOf("one more"));
+    }
+
+    @Test
+    void persistedIdsSurviveRoundTrip() throws IOException {
+        ItemNameDictionary dictionary = new ItemNameDictionary();
+        dictionary.intern(" Pen ");
+        dictionary.intern("");
+        dictionary.idOf("Ink ✓");
+        Path file = directory.resolve("items.names");
+        dictionary.writeTo(file);
+
+        ItemNameDictionary read = ItemNameDictionary.readFrom(file);
+        assertEquals(3, read.size());
+        assertEquals("Pen", read.nameOf(0));
+        assertEquals("Item", read.nameOf(1));
+        assertEquals("Ink ✓", read.nameOf(2));
+        assertThrows(IllegalArgumentException.class, () -> read.idOf("two\nlines"));
+    }
+
+    @Test
+    void csvReaderSharesRepeatedNamesExactlyAsWritten() throws IOException {
+        ItemNameDictionary dictionary = new ItemNameDictionary();
+        String text = "Pen ,1,1,0,0.08,0\nPen ,2,1,0,0.08,0\n";
+        try (LineItemCsvReader reader = new LineItemCsvReader(new BufferedReader(new StringReader(text)), ',',
+                                                              dictionary)) {
+            reader.next();
+            String first = reader.getItemName();
+            reader.next();
+            assertSame(first, reader.getItemName());
+            assertEquals("Pen ", first);
+        }
+    }
+
+    @Test
+    void engineKeepsItsOwnTrimmedName() {
+        CostCalculationEngine engine = new CostCalculationEngine();
+        engine.setItemDetails("  Stapler ", 5.0, 2, 0.0);
+        assertEquals("Stapler", engine.getItemName());
+    }
+}
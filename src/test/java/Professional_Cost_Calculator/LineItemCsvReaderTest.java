@@ -0,0 +1,144 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LineItemCsvReaderTest {
+
+    @Test
+    void readsQuotedNamesAndSkipsHeaderAndBlankLines() throws IOException {
+        LineItemCsvReader reader = reader("itemName,costPerItem,quantity,deliveryCost,taxRate,discountRate\n"
+                                          + "\n"
+                                          + "\"Pen, \"\"blue\"\"\",25.5,10,100,0.08,0.1\n"
+                                          + "Ink,.5,2,0,1e-1,0\n");
+        assertTrue(reader.next());
+        assertEquals("Pen, \"blue\"", reader.getItemName());
+        assertEquals(25.5, reader.getCostPerItem());
+        assertEquals(10, reader.getQuantity());
+        assertEquals(100.0, reader.getDeliveryCost());
+        assertEquals(3, reader.getLineNumber());
+        assertTrue(reader.next());
+        assertEquals(0.5, reader.getCostPerItem());
+        assertEquals(0.1, reader.getTaxRate());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void wrongColumnCountIsMalformedAndConsumed() throws IOException {
+        LineItemCsvReader reader = reader("Pen,1,2,3,4\nInk,1,2,0,0,0,extra\nCap,1,2,0,0,0\n");
+        assertMalformed(reader, 1);
+        assertMalformed(reader, 2);
+        assertTrue(reader.next());
+        assertEquals(ValidationError.VALID, reader.getStatus());
+        assertEquals("Cap", reader.getItemName());
+    }
+
+    @Test
+    void mixedGoodAndBadRowsAreFlaggedByLine() throws IOException {
+        LineItemCsvReader reader = reader("Pen,25,10,100,0.08,0.1\n"
+                                          + "\"Ink,1,2,0,0,0\n"            // Unterminated quote
+                                          + "\"Cap\"x,1,2,0,0,0\n"         // Text after the closing quote
+                                          + "Pad,1,2.5,0,0,0\n"            // Quantity is not an int
+                                          + "Pad,1,99999999999,0,0,0\n"    // Quantity overflows an int
+                                          + "\n"
+                                          + "Nib,0.5,-3,0,0.17,0\n"        // Readable, invalid only to the engine
+                                          + "Box,1,2,0,NaN,0\n"
+                                          + "\"Lid, \"\"red\"\"\",4,1,0,0,0\n");
+        assertTrue(reader.next());
+        assertEquals(ValidationError.VALID, reader.getStatus());
+        assertEquals(10, reader.getQuantity());
+        assertMalformed(reader, 2);
+        assertMalformed(reader, 3);
+        assertMalformed(reader, 4);
+        assertMalformed(reader, 5);
+        assertTrue(reader.next());
+        assertEquals(ValidationError.VALID, reader.getStatus());
+        assertEquals(7, reader.getLineNumber());
+        assertEquals(-3, reader.getQuantity());
+        assertMalformed(reader, 8);
+        assertTrue(reader.next());
+        assertEquals(ValidationError.VALID, reader.getStatus());
+        assertEquals("Lid, \"red\"", reader.getItemName());
+        assertFalse(reader.next());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NaN", "-NaN", "Infinity", "-Infinity", "1e400", "-1e400", "0x1p3", "0x10",
+                            "1d", "2.5f", "1_000", "", "-", ".", "1e", "1e+", "e5", "1.2.3", "١٢"})
+    void rejectsNonFiniteAndJavaOnlyNumbers(String number) throws IOException {
+        assertMalformed(reader("Pen," + number + ",1,0,0.08,0\n"), 1);
+        assertThrows(NumberFormatException.class, () -> LineItemCsvReader.parseDecimal(number));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "12", "-0.5", "+3", ".25", "25.", "1.5e3", "1E-2", "1e+2", "00.10"})
+    void acceptsPlainDecimals(String number) {
+        assertEquals(Double.parseDouble(number), LineItemCsvReader.parseDecimal(number));
+    }
+
+    @Test
+    void batchProcessorRejectsNonFiniteAndMalformedRows() throws IOException {
+        StringWriter out = new StringWriter();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        CsvBatchProcessor processor = new CsvBatchProcessor(',', new PrintStream(errors, true, StandardCharsets.UTF_8));
+        long malformed = PricingMetrics.getInstance().getRejectionCount(ValidationError.MALFORMED_INPUT);
+        processor.process(new BufferedReader(new StringReader("Pen,NaN,1,0,0.08,0\n"
+                                                              + "Ink,Infinity,1,0,0.08,0\n"
+                                                              + "Cap,2,1,0,0.08,0\n"
+                                                              + "\"Lid,2,1,0,0.08,0\n"
+                                                              + "Nib,2,1,0\n")), out);
+
+        assertEquals(1, processor.getRowsPriced());
+        assertEquals(4, processor.getRowsRejected());
+        assertEquals(malformed + 4, PricingMetrics.getInstance().getRejectionCount(ValidationError.MALFORMED_INPUT));
+        String report = errors.toString(StandardCharsets.UTF_8);
+        for (int line : new int[] {1, 2, 4, 5}) {
+            assertTrue(report.contains("Line " + line + ": "), report);
+        }
+        assertFalse(out.toString().contains("NaN"));
+        assertFalse(out.toString().contains("Infinity"));
+    }
+
+    @Test
+    void engineReportsNonFiniteValuesAsMalformed() {
+        int malformed = ValidationError.MALFORMED_INPUT.getCode();
+        assertEquals(malformed, CostCalculationEngine.validate(Double.NaN, 1, 0, 0.08, 0));
+        assertEquals(malformed, CostCalculationEngine.validate(Double.POSITIVE_INFINITY, 1, 0, 0.08, 0));
+        assertEquals(malformed, CostCalculationEngine.validate(1, 1, Double.POSITIVE_INFINITY, 0.08, 0));
+        assertEquals(malformed, CostCalculationEngine.validate(1, 1, 0, Double.NaN, 0));
+        assertEquals(malformed, CostCalculationEngine.validate(1, 1, 0, 0.08, Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                     () -> CostCalculationEngine.quote(Double.NaN, 1, 0, 0.08, 0));
+
+        LineItemBatch batch = new LineItemBatch(2);
+        batch.add(Double.NaN, 1, 0, 0.08, 0);
+        batch.add(2.0, 1, 0, 0.08, 0);
+        assertEquals(1, CostCalculationEngine.calculateBatchLenient(batch));
+        assertEquals(ValidationError.MALFORMED_INPUT, batch.getError(0));
+        assertEquals(null, batch.getError(1));
+    }
+
+    private static void assertMalformed(LineItemCsvReader reader, long lineNumber) throws IOException {
+        assertTrue(reader.next());
+        assertEquals(ValidationError.MALFORMED_INPUT.getCode(), reader.getStatus());
+        assertEquals(lineNumber, reader.getLineNumber());
+    }
+
+    private static LineItemCsvReader reader(String text) {
+        return new LineItemCsvReader(new BufferedReader(new StringReader(text)), ',');
+    }
+}
@@ -0,0 +1,53 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedLineItemFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void pricingSetsThePricedFlag() throws IOException {
+        Path file = writeRecords(25.0);
+        try (MappedLineItemFile records = MappedLineItemFile.open(file, false)) {
+            assertFalse(records.isPriced());
+        }
+        try (MappedLineItemFile records = MappedLineItemFile.open(file, true)) {
+            assertEquals(2, records.priceInPlace());
+            assertTrue(records.isPriced());
+        }
+        try (MappedLineItemFile records = MappedLineItemFile.open(file, false)) {
+            assertTrue(records.isPriced());
+            CostQuote quote = CostCalculationEngine.price("", 25.0, 10, 100.0, 0.08, 0.1);
+            assertEquals(quote.getTotalCost(), records.getTotalCost(0));
+        }
+    }
+
+    @Test
+    void rejectedFileStaysUnpriced() throws IOException {
+        Path file = writeRecords(-1.0);
+        try (MappedLineItemFile records = MappedLineItemFile.open(file, true)) {
+            assertThrows(IllegalArgumentException.class, records::priceInPlace);
+            assertFalse(records.isPriced());
+        }
+    }
+
+    private Path writeRecords(double secondCost) throws IOException {
+        Path file = directory.resolve("items.bin");
+        try (LineItemRecordWriter writer = new LineItemRecordWriter(file)) {
+            writer.write(0, 25.0, 10, 100.0, 0.08, 0.1);
+            writer.write(0, secondCost, 3, 0.0, 0.17, 0.0);
+        }
+        return file;
+    }
+}
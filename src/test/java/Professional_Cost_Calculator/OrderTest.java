@@ -0,0 +1,100 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OrderTest {
+
+    @Test
+    void editsMatchAnExactReferenceSum() {
+        Order order = new Order(12.5, 0.08, 0.1);
+        Map<Integer, BigDecimal> reference = new HashMap<>();
+        List<Integer> lines = new ArrayList<>();
+        Random random = new Random(13L);
+        for (int step = 0; step < 20_000; step++) {
+            int action = lines.isEmpty() ? 0 : random.nextInt(3);
+            // Mixed magnitudes, so plain summation would drift
+            double cost = random.nextBoolean() ? 0.01 + random.nextInt(10_000) / 100.0 : random.nextDouble() * 1e7;
+            int quantity = 1 + random.nextInt(1_000);
+            if (action == 0) {
+                int line = order.addLine("Item " + step, cost, quantity);
+                lines.add(line);
+                reference.put(line, new BigDecimal(cost * quantity));
+            } else if (action == 1) {
+                int line = lines.get(random.nextInt(lines.size()));
+                order.updateLine(line, cost, quantity);
+                reference.put(line, new BigDecimal(cost * quantity));
+            } else {
+                int line = lines.remove(random.nextInt(lines.size()));
+                order.removeLine(line);
+                reference.remove(line);
+            }
+            BigDecimal expected = reference.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            OrderSnapshot snapshot = order.snapshot();
+            assertEquals(expected.doubleValue(), snapshot.getItemsSubtotal(), "step " + step);
+            assertEquals(lines.size(), snapshot.getLineCount());
+        }
+    }
+
+    @Test
+    void snapshotsAreConsistentAndImmutable() {
+        Order order = new Order(100.0, 0.08, 0.1);
+        int pen = order.addLine(" Pen ", 25.0, 10);
+        OrderSnapshot before = order.snapshot();
+        order.addLine("Ink", 3.5, 4);
+        order.updateQuantity(pen, 12);
+        OrderSnapshot after = order.snapshot();
+
+        assertEquals(250.0, before.getItemsSubtotal());
+        assertEquals(1, before.getLineCount());
+        assertEquals(before.getVersion() + 2, after.getVersion());
+        assertEquals(16, after.getTotalQuantity());
+        assertEquals("Pen", order.getLine(pen).getItemName());
+
+        CostQuote quote = CostCalculationEngine.price("", after.getItemsSubtotal(), 1, 100.0, 0.08, 0.1);
+        assertEquals(quote.getSubtotal(), after.getSubtotal());
+        assertEquals(quote.getDiscountAmount(), after.getDiscountAmount());
+        assertEquals(quote.getTaxAmount(), after.getTaxAmount());
+        assertEquals(quote.getTotalCost(), after.getTotalCost());
+        assertSame(after, order.snapshot());
+
+        order.removeLine(pen);
+        order.clear();
+        assertEquals(0.0, order.snapshot().getItemsSubtotal());
+        assertEquals(0, order.getLineCount());
+        assertThrows(IllegalArgumentException.class, () -> order.removeLine(pen));
+    }
+
+    @Test
+    void overflowingEditsAreRejectedWithoutPoisoningTheTotals() {
+        Order order = new Order();
+        int big = order.addLine("Big", 1e308, 1);
+        int small = order.addLine("Small", 2.5, 2);
+        OrderSnapshot before = order.snapshot();
+
+        // The line total overflows, then the items subtotal would
+        assertThrows(IllegalArgumentException.class, () -> order.addLine("Huge", 1e300, 1_000_000_000));
+        assertThrows(IllegalArgumentException.class, () -> order.addLine("Big", 1e308, 1));
+        assertThrows(IllegalArgumentException.class, () -> order.updateLine(small, 1e308, 2));
+        assertThrows(IllegalArgumentException.class, () -> order.updateLine(big, Double.MAX_VALUE, 2));
+        assertSame(before, order.snapshot());
+
+        order.updateLine(big, 1e308, 1);
+        order.removeLine(big);
+        OrderSnapshot after = order.snapshot();
+        assertEquals(5.0, after.getItemsSubtotal());
+        assertTrue(Double.isFinite(after.getTotalCost()));
+        assertEquals(1, after.getLineCount());
+    }
+}
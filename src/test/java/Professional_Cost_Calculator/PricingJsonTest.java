@@ -0,0 +1,86 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PricingJsonTest {
+
+    @Test
+    void parsesFlatObjectWithEveryValueKind() {
+        Map<String, Object> object = PricingJson.parseObject(
+            " {\"itemName\":\"Pen \\\"A\\\" \\u00e9\\n\", \"costPerItem\":25.5, \"quantity\":10,"
+            + " \"taxRate\":1.5E-1, \"gift\":true, \"note\":null} ");
+
+        assertEquals("Pen \"A\" é\n", object.get("itemName"));
+        assertEquals(25.5, object.get("costPerItem"));
+        assertEquals(10.0, object.get("quantity"));
+        assertEquals(0.15, object.get("taxRate"));
+        assertEquals(Boolean.TRUE, object.get("gift"));
+        assertTrue(object.containsKey("note"));
+        assertNull(object.get("note"));
+    }
+
+    @Test
+    void parsesArrays() {
+        List<Map<String, Object>> objects = PricingJson.parseObjectArray("[{\"a\":-0.5},{},{\"b\":0}]");
+        assertEquals(3, objects.size());
+        assertEquals(-0.5, objects.get(0).get("a"));
+        assertTrue(objects.get(1).isEmpty());
+        assertEquals(List.of(), PricingJson.parseObjectArray(" [ ] "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1e400", "-1e400", "NaN", "Infinity", "01", "+1", "1.", ".5", "1e", "1e+", "-",
+                            "0x10", "1d", "2f", "1.2.3", "--1"})
+    void rejectsNumbersOutsideJsonGrammarOrRange(String number) {
+        assertThrows(IllegalArgumentException.class, () -> PricingJson.parseObject("{\"costPerItem\":" + number + "}"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-0", "12", "0.25", "-3.5e2", "1E+2", "1e-2"})
+    void acceptsJsonNumbers(String number) {
+        assertEquals(Double.valueOf(number), PricingJson.parseObject("{\"n\":" + number + "}").get("n"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "{", "{\"a\"}", "{\"a\":1,}", "{\"a\":1} x", "{\"a\":\"\\x\"}", "{\"a\":\"open}",
+                            "{\"a\":[1]}", "{a:1}"})
+    void rejectsMalformedObjects(String text) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                                                      () -> PricingJson.parseObject(text));
+        assertTrue(error.getMessage().startsWith("Invalid JSON at offset"), error.getMessage());
+    }
+
+    @Test
+    void writesQuotesWithEscapesAndNullForNonFinite() {
+        CostQuote quote = new CostQuote("A\"\\\u0001", 1.0, 2, 0.0, 0.0, 0.0, 2.0, 0.0, Double.NaN, 2.0);
+        String json = PricingJson.appendQuote(new StringBuilder(), quote).toString();
+
+        assertTrue(json.startsWith("{\"itemName\":\"A\\\"\\\\\\u0001\""), json);
+        assertTrue(json.contains("\"taxAmount\":null"), json);
+        assertEquals("A\"\\\u0001", PricingJson.parseObject(json).get("itemName"));
+    }
+
+    @Test
+    void escapesEveryControlCharacterAsLowercaseHex() {
+        StringBuilder name = new StringBuilder();
+        StringBuilder expected = new StringBuilder("\"");
+        for (char c = 0; c < 0x20; c++) {
+            name.append(c);
+            expected.append(String.format("\\u%04x", (int) c));
+        }
+        String json = PricingJson.appendString(new StringBuilder(), name.toString()).toString();
+
+        assertEquals(expected.append('"').toString(), json);
+        assertEquals(name.toString(), PricingJson.parseObject("{\"a\":" + json + "}").get("a"));
+    }
+}
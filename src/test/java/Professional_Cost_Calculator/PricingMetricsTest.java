@@ -0,0 +1,125 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PricingMetricsTest {
+    private final PricingMetrics metrics = PricingMetrics.getInstance();
+    private final List<String> events = new ArrayList<>();
+    private final PricingListener listener = new PricingListener() {
+        @Override
+        public void onCalculation(PricingMode mode, long lineItems, long latencyNanos) {
+            events.add(mode + " " + lineItems + (latencyNanos >= -1 ? "" : " bad latency"));
+        }
+
+        @Override
+        public void onRejection(ValidationError reason) {
+            events.add(reason.name());
+        }
+    };
+
+    @AfterEach
+    void restore() {
+        metrics.setEnabled(true);
+        metrics.removeListener(listener);
+    }
+
+    @Test
+    void countsCallsAndLineItemsPerMode() {
+        long quotes = metrics.getCalculationCount(PricingMode.QUOTE);
+        long advanced = metrics.getCalculationCount(PricingMode.ADVANCED);
+        long batches = metrics.getCalculationCount(PricingMode.BATCH);
+        long batchItems = metrics.getLineItemCount(PricingMode.BATCH);
+
+        CostCalculationEngine.quote(25.0, 10, 100.0, 0.08, 0.1);
+        new CostCalculationEngine().calculateAdvancedCost(25.0, 10, 100.0, 0.08, 0.1);
+        LineItemBatch batch = new LineItemBatch(3);
+        for (int i = 0; i < 3; i++) {
+            batch.add(25.0, 1 + i, 0.0, 0.08, 0.0);
+        }
+        CostCalculationEngine.calculateBatch(batch);
+
+        assertEquals(quotes + 1, metrics.getCalculationCount(PricingMode.QUOTE));
+        assertEquals(advanced + 1, metrics.getCalculationCount(PricingMode.ADVANCED));
+        assertEquals(batches + 1, metrics.getCalculationCount(PricingMode.BATCH));
+        assertEquals(batchItems + 3, metrics.getLineItemCount(PricingMode.BATCH));
+        assertEquals(metrics.getCalculationCount(PricingMode.QUOTE),
+                     metrics.getCalculationCounts().get(PricingMode.QUOTE.name()));
+    }
+
+    @Test
+    void countsRejectionsByReason() {
+        long quantity = metrics.getRejectionCount(ValidationError.QUANTITY_BELOW_MINIMUM);
+        long tax = metrics.getRejectionCount(ValidationError.TAX_RATE_OUT_OF_RANGE);
+        long malformed = metrics.getRejectionCount(ValidationError.MALFORMED_INPUT);
+
+        assertThrows(IllegalArgumentException.class, () -> CostCalculationEngine.quote(25.0, 0, 0.0, 0.08, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> CostCalculationEngine.quote(25.0, 1, 0.0, 1.5, 0.0));
+        assertEquals(ValidationError.MALFORMED_INPUT.getCode(),
+                     CostCalculationEngine.validate(Double.NaN, 1, 0.0, 0.08, 0.0));
+        // Checks that are not calculations are not counted
+        CostCalculationEngine.validationError(RateConfiguration.current(), 25.0, 0, 0.0, 0.08, 0.0);
+
+        assertEquals(quantity + 1, metrics.getRejectionCount(ValidationError.QUANTITY_BELOW_MINIMUM));
+        assertEquals(tax + 1, metrics.getRejectionCount(ValidationError.TAX_RATE_OUT_OF_RANGE));
+        assertEquals(malformed + 1, metrics.getRejectionCount(ValidationError.MALFORMED_INPUT));
+    }
+
+    @Test
+    void pausedMetricsRecordNothing() {
+        long quotes = metrics.getCalculationCount(PricingMode.QUOTE);
+        long rejections = metrics.getRejectionCount(ValidationError.QUANTITY_BELOW_MINIMUM);
+        metrics.addListener(listener);
+        metrics.setEnabled(false);
+        assertFalse(metrics.isEnabled());
+
+        CostCalculationEngine.quote(25.0, 10, 100.0, 0.08, 0.1);
+        assertThrows(IllegalArgumentException.class, () -> CostCalculationEngine.quote(25.0, 0, 0.0, 0.08, 0.0));
+        assertEquals(0L, PricingMetrics.startTimer());
+
+        assertEquals(quotes, metrics.getCalculationCount(PricingMode.QUOTE));
+        assertEquals(rejections, metrics.getRejectionCount(ValidationError.QUANTITY_BELOW_MINIMUM));
+        assertEquals(List.of(), events);
+
+        metrics.setEnabled(true);
+        assertTrue(metrics.isEnabled());
+        CostCalculationEngine.quote(25.0, 10, 100.0, 0.08, 0.1);
+        assertEquals(quotes + 1, metrics.getCalculationCount(PricingMode.QUOTE));
+    }
+
+    @Test
+    void listenersReceiveEveryEventAndCannotBreakPricing() {
+        PricingListener faulty = new PricingListener() {
+            @Override
+            public void onCalculation(PricingMode mode, long lineItems, long latencyNanos) {
+                throw new IllegalStateException("listener failure");
+            }
+        };
+        metrics.addListener(faulty);
+        metrics.addListener(listener);
+        try {
+            CostCalculationEngine.quote(25.0, 10, 100.0, 0.08, 0.1);
+            LineItemBatch batch = new LineItemBatch(2);
+            batch.add(25.0, 1, 0.0, 0.08, 0.0);
+            batch.add(25.0, 2, 0.0, 0.08, 0.0);
+            CostCalculationEngine.calculateBatch(batch);
+            assertThrows(IllegalArgumentException.class, () -> CostCalculationEngine.quote(0.0, 1, 0.0, 0.08, 0.0));
+        } finally {
+            assertTrue(metrics.removeListener(faulty));
+        }
+        assertTrue(metrics.removeListener(listener));
+        assertFalse(metrics.removeListener(listener));
+        CostCalculationEngine.quote(25.0, 10, 100.0, 0.08, 0.1);
+
+        assertEquals(List.of("QUOTE 1", "BATCH 2", "COST_BELOW_MINIMUM"), events);
+        assertThrows(IllegalArgumentException.class, () -> metrics.addListener(null));
+    }
+}
@@ -0,0 +1,110 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class PricingRulesTest {
+
+    @AfterEach
+    void restoreDefaults() {
+        RateConfiguration.install(RateConfiguration.defaults());
+    }
+
+    @Test
+    void perfectHashFindsEveryNameAndNothingElse() {
+        Properties properties = new Properties();
+        for (int i = 0; i < 200; i++) {
+            properties.setProperty("tax.category.cat" + i, Double.toString(i / 1000.0));
+        }
+        // "Aa" and "BB" have the same String hash code
+        properties.setProperty("tax.region.Aa", "0.11");
+        properties.setProperty("tax.region.BB", "0.12");
+        properties.setProperty("tax.default", "0.17");
+        PricingRules rules = PricingRules.compile(properties);
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i / 1000.0, rules.taxRateFor("cat" + i, "Aa"), "cat" + i);
+        }
+        assertEquals(0.11, rules.taxRateFor(null, "Aa"));
+        assertEquals(0.12, rules.taxRateFor("cat200", "BB"));
+        assertEquals(0.17, rules.taxRateFor("Cat1", "bb"));
+        assertEquals(0.17, rules.taxRateFor("", ""));
+        assertEquals(0.17, rules.taxRateFor(null, null));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1,    0.0,      0.0",
+        "9,    0.0,      0.0",
+        "10,   0.0,      0.05",
+        "49,   0.0,      0.05",
+        "50,   0.0,      0.08",
+        "1,    9999.99,  0.0",
+        "1,    10000.0,  0.10",
+        "50,   10000.0,  0.10",
+        "500,  10000.0,  0.25",
+        "1000, 1e9,      0.25",
+    })
+    void tiersApplyFromTheirThresholdAndAreCapped(int quantity, double subtotal, double expected) {
+        Properties properties = new Properties();
+        properties.setProperty("discount.quantity.10", "0.05");
+        properties.setProperty("discount.quantity.50", "0.08");
+        properties.setProperty("discount.quantity.500", "0.30");
+        properties.setProperty("discount.subtotal.10000", "0.10");
+        properties.setProperty("discount.max", "0.25");
+        assertEquals(expected, PricingRules.compile(properties).discountRateFor(quantity, subtotal));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "tax.default            | 1.5",
+        "tax.default            | abc",
+        "tax.category.          | 0.1",
+        "tax.region.PK          | -0.1",
+        "discount.quantity.0    | 0.05",
+        "discount.quantity.ten  | 0.05",
+        "discount.subtotal.-5   | 0.05",
+        "discount.subtotal.x    | 0.05",
+        "discount.quantity.10   | 0.75",
+        "discount.max           | 0.6",
+        "discount.bulk          | 0.1",
+    })
+    void malformedRulesAreRejected(String key, String value) {
+        Properties properties = new Properties();
+        properties.setProperty(key, value);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                                                  () -> PricingRules.compile(properties));
+        assertTrue(e.getMessage().contains(key.trim()), e.getMessage());
+    }
+
+    @Test
+    void engineRulesAreCheckedAgainstTheCurrentLimits() {
+        Properties properties = new Properties();
+        properties.setProperty("discount.quantity.10", "0.40");
+        CostCalculationEngine engine = new CostCalculationEngine();
+        engine.setPricingRules(PricingRules.compile(properties));
+        engine.calculateCostWithRules(10.0, 10, 0.0, null, null);
+        assertEquals(0.40, engine.getDiscountRate());
+
+        Properties limits = new Properties();
+        limits.setProperty("limit.maxDiscountRate", "0.30");
+        RateConfiguration.install(RateConfiguration.compile(limits));
+        long rejected = PricingMetrics.getInstance().getRejectionCount(ValidationError.DISCOUNT_RATE_OUT_OF_RANGE);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> engine.calculateCostWithRules(10.0, 10, 0.0, null, null));
+        assertEquals(ValidationError.DISCOUNT_RATE_OUT_OF_RANGE.getMessage(), e.getMessage());
+        assertEquals(rejected + 1,
+                     PricingMetrics.getInstance().getRejectionCount(ValidationError.DISCOUNT_RATE_OUT_OF_RANGE));
+        // Below the tier the engine's rules still price normally
+        engine.calculateCostWithRules(10.0, 9, 0.0, null, null);
+        assertEquals(0.0, engine.getDiscountRate());
+    }
+}
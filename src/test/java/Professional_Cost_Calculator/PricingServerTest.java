@@ -0,0 +1,94 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class PricingServerTest {
+    private static PricingServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = PricingServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void malformedBatchItemIsReportedButNotPriced() throws Exception {
+        PricingMetrics metrics = PricingMetrics.getInstance();
+        long belowMinimum = metrics.getRejectionCount(ValidationError.COST_BELOW_MINIMUM);
+        long batchItems = metrics.getLineItemCount(PricingMode.BATCH);
+
+        HttpResponse<String> response = post("/quote/batch",
+            "[{\"costPerItem\":5,\"quantity\":2},{\"costPerItem\":\"five\",\"quantity\":2},"
+            + "{\"costPerItem\":5,\"quantity\":0}]");
+
+        assertEquals(200, response.statusCode());
+        String body = response.body();
+        assertTrue(body.contains("{\"error\":\"costPerItem must be a number\",\"code\":"
+                                 + ValidationError.MALFORMED_INPUT.getCode() + "}"), body);
+        assertTrue(body.contains(",\"code\":" + ValidationError.QUANTITY_BELOW_MINIMUM.getCode() + "}"), body);
+        assertTrue(body.endsWith("\"rejected\":2}"), body);
+        // The malformed item never reaches the engine, so it is not a cost rejection
+        assertEquals(batchItems + 1, metrics.getLineItemCount(PricingMode.BATCH));
+        assertEquals(belowMinimum, metrics.getRejectionCount(ValidationError.COST_BELOW_MINIMUM));
+    }
+
+    @Test
+    void batchIsPricedUnderTheConfigurationItWasGiven() {
+        Properties properties = new Properties();
+        properties.setProperty("limit.maxDiscountRate", "0.2");
+        properties.setProperty("tax.default", "0.1");
+        RateConfiguration config = RateConfiguration.compile(properties);
+
+        String body = PricingServer.priceBatch(
+            PricingJson.parseObjectArray("[{\"costPerItem\":5,\"quantity\":2},"
+                                         + "{\"costPerItem\":5,\"quantity\":2,\"discountRate\":0.3}]"), config);
+
+        assertTrue(body.contains("\"taxRate\":0.1,"), body);
+        assertTrue(body.contains("{\"error\":\"" + CostCalculationEngine.messageFor(
+            ValidationError.DISCOUNT_RATE_OUT_OF_RANGE, config) + "\""), body);
+        assertTrue(body.endsWith("\"rejected\":1}"), body);
+    }
+
+    @Test
+    void requestErrorsCarryNoCode() throws Exception {
+        HttpResponse<String> response = post("/quote", "{\"costPerItem\":");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().startsWith("{\"error\":"), response.body());
+        assertFalse(response.body().contains("\"code\""), response.body());
+    }
+
+    @Test
+    void serverLeavesNodelayPropertyAlone() {
+        assertNull(System.getProperty("sun.net.httpserver.nodelay"));
+    }
+
+    private static HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
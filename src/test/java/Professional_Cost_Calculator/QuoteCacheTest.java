@@ -0,0 +1,100 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class QuoteCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void restoreConfiguration() {
+        CostCalculationEngine.setAuditJournal(null);
+        RateConfiguration.install(RateConfiguration.defaults());
+    }
+
+    @Test
+    void hitReturnsSameQuoteAsEngine() {
+        QuoteCache cache = new QuoteCache(64);
+        CostQuote first = cache.quote(25.0, 10, 100.0, 0.08, 0.1);
+        CostQuote second = cache.quote(25.0, 10, 100.0, 0.08, 0.1);
+
+        assertSame(first, second);
+        assertEquals(CostCalculationEngine.quote(25.0, 10, 100.0, 0.08, 0.1), second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void tightenedLimitsRejectPreviouslyCachedInputs() {
+        QuoteCache cache = new QuoteCache(64);
+        cache.quote(5.0, 2, 0.0, 0.08, 0.4);
+
+        Properties limits = new Properties();
+        limits.setProperty("limit.minCost", "10");
+        limits.setProperty("limit.maxDiscountRate", "0.3");
+        RateConfiguration.install(RateConfiguration.compile(limits));
+
+        assertThrows(IllegalArgumentException.class, () -> CostCalculationEngine.quote(5.0, 2, 0.0, 0.08, 0.4));
+        assertThrows(IllegalArgumentException.class, () -> cache.quote(5.0, 2, 0.0, 0.08, 0.4));
+        assertThrows(IllegalArgumentException.class,
+                     () -> cache.detailedReport("Pen", 5.0, 2, 0.0, 0.08, 0.4));
+    }
+
+    @Test
+    void entryIsRepricedAfterConfigurationSwap() {
+        QuoteCache cache = new QuoteCache(64);
+        CostQuote before = cache.quote(25.0, 10, 0.0, 0.08, 0.0);
+
+        RateConfiguration.install(new RateConfiguration(0.01, 1, 0.5, PricingRules.defaults()));
+        CostQuote after = cache.quote(25.0, 10, 0.0, 0.08, 0.0);
+
+        assertEquals(before, after);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.size());
+        assertSame(after, cache.quote(25.0, 10, 0.0, 0.08, 0.0));
+    }
+
+    @Test
+    void missIsJournaledUnderTheCallersName() throws IOException {
+        QuoteCache cache = new QuoteCache(64);
+        try (AuditJournal journal = AuditJournal.open(directory)) {
+            CostCalculationEngine.setAuditJournal(journal);
+            CostQuote pen = cache.quote(" Pen ", 25.0, 10, 100.0, 0.08, 0.1);
+            assertSame(pen, cache.quote("Pen", 25.0, 10, 100.0, 0.08, 0.1));
+            CostQuote ink = cache.quote("Ink", 25.0, 10, 100.0, 0.08, 0.1);
+            cache.quote(3.0, 1, 0.0, 0.0, 0.0);
+            CostCalculationEngine.setAuditJournal(null);
+            journal.sync();
+
+            assertEquals("Pen", pen.getItemName());
+            assertEquals("Ink", ink.getItemName());
+            assertEquals(pen.getTotalCost(), ink.getTotalCost());
+            assertEquals("", cache.quote(25.0, 10, 100.0, 0.08, 0.1).getItemName());
+        }
+
+        List<Path> segments = AuditJournalReader.listSegments(directory);
+        assertEquals(1, segments.size());
+        try (AuditJournalReader reader = AuditJournalReader.open(segments.get(0))) {
+            // Hits are not journaled
+            assertTrue(reader.next());
+            assertEquals("Pen", reader.getItemName());
+            assertTrue(reader.next());
+            assertEquals("", reader.getItemName());
+            assertFalse(reader.next());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SensitivitySweepTest {
+    private static final int[] QUANTITIES = {1, 7, 150, 99_999};
+    // Not a multiple of any lane count, so every row has a scalar tail
+    private static final double[] TAX_RATES = SensitivitySweep.range(0.0, 0.17, 0.005);
+    private static final double[] DISCOUNT_RATES = SensitivitySweep.range(0.0, 0.5, 0.05);
+
+    @Test
+    void simdKernelIsLoadedWhenTheModuleIsPresent() {
+        // Surefire starts the test JVM with --add-modules jdk.incubator.vector
+        assertTrue(new SensitivitySweepSimd().laneCount() > 1);
+        assertNull(VectorPricingKernel.loadSimd("Professional_Cost_Calculator.VectorPricingKernelSimd",
+                                                SensitivitySweep.RowKernel.class));
+    }
+
+    @Test
+    void matrixMatchesQuotesBitForBit() {
+        SensitivitySweep sweep = new SensitivitySweep(25.17, 150.0, QUANTITIES, TAX_RATES, DISCOUNT_RATES);
+        SensitivitySweep.Result result = sweep.run();
+        for (int q = 0; q < QUANTITIES.length; q++) {
+            for (int d = 0; d < DISCOUNT_RATES.length; d++) {
+                for (int t = 0; t < TAX_RATES.length; t++) {
+                    assertBits(quote(sweep, q, d, t).getTotalCost(), result.getTotalCost(q, d, t), q, d, t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void streamMatchesQuotesBitForBit() {
+        SensitivitySweep sweep = new SensitivitySweep(0.015, 0.0, QUANTITIES, TAX_RATES, DISCOUNT_RATES);
+        AtomicInteger row = new AtomicInteger();
+        sweep.stream((quantity, discountRate, taxRates, totals) -> {
+            int q = row.get() / DISCOUNT_RATES.length;
+            int d = row.getAndIncrement() % DISCOUNT_RATES.length;
+            assertEquals(QUANTITIES[q], quantity);
+            assertEquals(DISCOUNT_RATES[d], discountRate);
+            for (int t = 0; t < taxRates.length; t++) {
+                assertBits(quote(sweep, q, d, t).getTotalCost(), totals[t], q, d, t);
+            }
+        });
+        assertEquals(QUANTITIES.length * DISCOUNT_RATES.length, row.get());
+    }
+
+    @Test
+    void simdRowMatchesScalarForEveryTailLength() {
+        SensitivitySweep.RowKernel simd = new SensitivitySweepSimd();
+        for (int length = 0; length <= 2 * simd.laneCount() + 1; length++) {
+            double[] taxRates = new double[length];
+            for (int t = 0; t < length; t++) {
+                taxRates[t] = t / 7.0;
+            }
+            double[] expected = new double[length + 3];
+            double[] actual = new double[length + 3];
+            SensitivitySweep.priceRow(null, 1234.567, taxRates, expected, 3);
+            SensitivitySweep.priceRow(simd, 1234.567, taxRates, actual, 3);
+            for (int t = 0; t < expected.length; t++) {
+                assertBits(expected[t], actual[t], length, 0, t);
+            }
+        }
+    }
+
+    @Test
+    void emptyAxesAreRejected() {
+        double[] none = new double[0];
+        assertThrows(IllegalArgumentException.class,
+            () -> new SensitivitySweep(25.0, 0.0, new int[0], TAX_RATES, DISCOUNT_RATES));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SensitivitySweep(25.0, 0.0, QUANTITIES, none, DISCOUNT_RATES));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SensitivitySweep(25.0, 0.0, QUANTITIES, TAX_RATES, null));
+    }
+
+    @Test
+    void invalidRangesAndAxisValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SensitivitySweep.range(0.1, 0.0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> SensitivitySweep.range(0.0, 0.1, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> SensitivitySweep.range(0.0, Double.NaN, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> SensitivitySweep.range(0.0, 1.0, 1e-12));
+        assertThrows(IllegalArgumentException.class, () -> SensitivitySweep.range(5, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> SensitivitySweep.range(1, 5, 0));
+        assertEquals(0.17, TAX_RATES[TAX_RATES.length - 1]);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new SensitivitySweep(25.0, 0.0, new int[] {0}, TAX_RATES, DISCOUNT_RATES));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SensitivitySweep(25.0, 0.0, QUANTITIES, new double[] {-0.01}, DISCOUNT_RATES));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SensitivitySweep(25.0, 0.0, QUANTITIES, TAX_RATES, new double[] {1.0}));
+    }
+
+    private static CostQuote quote(SensitivitySweep sweep, int q, int d, int t) {
+        return CostCalculationEngine.quote(sweep.getCostPerItem(), QUANTITIES[q], sweep.getDeliveryCost(),
+                                           TAX_RATES[t], DISCOUNT_RATES[d]);
+    }
+
+    private static void assertBits(double expected, double actual, int q, int d, int t) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                     () -> "(" + q + ", " + d + ", " + t + "): expected " + expected + ", got " + actual);
+    }
+}
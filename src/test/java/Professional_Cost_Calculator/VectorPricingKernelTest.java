@@ -0,0 +1,166 @@
+package Professional_Cost_Calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class VectorPricingKernelTest {
+    private static final double MAX_DISCOUNT = RateConfiguration.DEFAULT_MAX_DISCOUNT_RATE;
+
+    @Test
+    void kernelIsLoadedWhenTheModuleIsPresent() {
+        // Surefire starts the test JVM with --add-modules jdk.incubator.vector
+        assertTrue(VectorPricingKernel.isVectorized());
+        assertEquals(new VectorPricingKernelSimd().laneCount(), VectorPricingKernel.getLaneCount());
+    }
+
+    @Test
+    void simdMatchesScalarForEveryTailLength() {
+        VectorPricingKernel.Kernel simd = new VectorPricingKernelSimd();
+        int lanes = simd.laneCount();
+        for (int length = 0; length <= lanes + 1; length++) {
+            for (int from = 0; from <= 1; from++) {
+                Rows rows = edgeCaseRows(from + length + 1);
+                assertBitIdentical(rows, simd, from, from + length);
+            }
+        }
+    }
+
+    @Test
+    void simdMatchesScalarOnLongRandomBatches() {
+        VectorPricingKernel.Kernel simd = new VectorPricingKernelSimd();
+        Rows rows = randomRows(10_007, 42L);
+        assertBitIdentical(rows, simd, 0, rows.size());
+        assertBitIdentical(rows, simd, 3, rows.size() - 5);
+    }
+
+    @Test
+    void publicEntryPointMatchesEngineQuotes() {
+        Rows rows = edgeCaseRows(37);
+        Rows out = rows.copy();
+        VectorPricingKernel.price(out.costPerItem, out.quantity, out.deliveryCost, out.taxRate, out.discountRate,
+                                  out.subtotal, out.discountAmount, out.taxAmount, out.totalCost, 0, out.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CostQuote quote = CostCalculationEngine.price("", rows.costPerItem[i], rows.quantity[i],
+                                                          rows.deliveryCost[i], rows.taxRate[i], rows.discountRate[i]);
+            assertBits(quote.getSubtotal(), out.subtotal[i], i);
+            assertBits(quote.getDiscountAmount(), out.discountAmount[i], i);
+            assertBits(quote.getTaxAmount(), out.taxAmount[i], i);
+            assertBits(quote.getTotalCost(), out.totalCost[i], i);
+        }
+    }
+
+    @Test
+    void missingSimdClassFallsBackToScalar() {
+        assertNull(VectorPricingKernel.loadSimd("Professional_Cost_Calculator.NoSuchKernel"));
+        // A kernel that is not a Kernel at all is rejected too
+        assertNull(VectorPricingKernel.loadSimd("java.lang.Object"));
+
+        Rows rows = randomRows(101, 7L);
+        assertBitIdentical(rows, null, 0, rows.size());
+    }
+
+    // Prices [from, to) with the kernel and with the scalar reference and compares every output bit
+    private static void assertBitIdentical(Rows rows, VectorPricingKernel.Kernel simd, int from, int to) {
+        Rows expected = rows.copy();
+        VectorPricingKernel.priceScalar(expected.costPerItem, expected.quantity, expected.deliveryCost,
+                                        expected.taxRate, expected.discountRate, expected.subtotal,
+                                        expected.discountAmount, expected.taxAmount, expected.totalCost, from, to);
+        Rows actual = rows.copy();
+        VectorPricingKernel.price(simd, actual.costPerItem, actual.quantity, actual.deliveryCost,
+                                  actual.taxRate, actual.discountRate, actual.subtotal,
+                                  actual.discountAmount, actual.taxAmount, actual.totalCost, from, to);
+        for (int i = 0; i < rows.size(); i++) {
+            // Rows outside the range must be left untouched
+            assertBits(expected.subtotal[i], actual.subtotal[i], i);
+            assertBits(expected.discountAmount[i], actual.discountAmount[i], i);
+            assertBits(expected.taxAmount[i], actual.taxAmount[i], i);
+            assertBits(expected.totalCost[i], actual.totalCost[i], i);
+        }
+    }
+
+    private static void assertBits(double expected, double actual, int row) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                     () -> "row " + row + ": expected " + expected + ", got " + actual);
+    }
+
+    // Cycles through extreme quantities, zero rates and the maximum discount
+    private static Rows edgeCaseRows(int size) {
+        double[] costs = {0.01, 1.0, 19.99, 1e9, Double.MAX_VALUE / 4, 3.3};
+        int[] quantities = {1, Integer.MAX_VALUE, 7, 1_000_000, Integer.MAX_VALUE - 1};
+        double[] deliveries = {0.0, 150.0, 0.1, 1e12};
+        double[] taxes = {0.0, 0.08, 1.0, 0.175, 0.0};
+        double[] discounts = {MAX_DISCOUNT, 0.0, 0.1, MAX_DISCOUNT, 0.333};
+        Rows rows = new Rows(size);
+        for (int i = 0; i < size; i++) {
+            rows.costPerItem[i] = costs[i % costs.length];
+            rows.quantity[i] = quantities[i % quantities.length];
+            rows.deliveryCost[i] = deliveries[i % deliveries.length];
+            rows.taxRate[i] = taxes[i % taxes.length];
+            rows.discountRate[i] = discounts[i % discounts.length];
+            rows.subtotal[i] = -i; // Sentinels, to detect writes outside the range
+            rows.discountAmount[i] = -i;
+            rows.taxAmount[i] = -i;
+            rows.totalCost[i] = -i;
+        }
+        return rows;
+    }
+
+    private static Rows randomRows(int size, long seed) {
+        Random random = new Random(seed);
+        Rows rows = new Rows(size);
+        for (int i = 0; i < size; i++) {
+            rows.costPerItem[i] = 0.01 + random.nextDouble() * 10_000;
+            rows.quantity[i] = 1 + random.nextInt(Integer.MAX_VALUE);
+            rows.deliveryCost[i] = random.nextInt(4) == 0 ? 0.0 : random.nextDouble() * 500;
+            rows.taxRate[i] = random.nextInt(4) == 0 ? 0.0 : random.nextDouble();
+            rows.discountRate[i] = random.nextDouble() * MAX_DISCOUNT;
+        }
+        return rows;
+    }
+
+    private static final class Rows {
+        final double[] costPerItem;
+        final int[] quantity;
+        final double[] deliveryCost;
+        final double[] taxRate;
+        final double[] discountRate;
+        final double[] subtotal;
+        final double[] discountAmount;
+        final double[] taxAmount;
+        final double[] totalCost;
+
+        Rows(int size) {
+            this(new double[size], new int[size], new double[size], new double[size], new double[size],
+                 new double[size], new double[size], new double[size], new double[size]);
+        }
+
+        private Rows(double[] costPerItem, int[] quantity, double[] deliveryCost, double[] taxRate,
+                     double[] discountRate, double[] subtotal, double[] discountAmount, double[] taxAmount,
+                     double[] totalCost) {
+            this.costPerItem = costPerItem;
+            this.quantity = quantity;
+            this.deliveryCost = deliveryCost;
+            this.taxRate = taxRate;
+            this.discountRate = discountRate;
+            this.subtotal = subtotal;
+            this.discountAmount = discountAmount;
+            this.taxAmount = taxAmount;
+            this.totalCost = totalCost;
+        }
+
+        int size() {
+            return costPerItem.length;
+        }
+
+        Rows copy() {
+            return new Rows(costPerItem.clone(), quantity.clone(), deliveryCost.clone(), taxRate.clone(),
+                            discountRate.clone(), subtotal.clone(), discountAmount.clone(), taxAmount.clone(),
+                            totalCost.clone());
+        }
+    }
+}